@@ -11,6 +11,7 @@ import java.util.TreeMap;
 
 import org.cloudbus.cloudsim.AutonomicLoadManagementStrategies.SimulationResults;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SnapshotState;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimpleCM;
@@ -78,6 +79,31 @@ public class ModelConstruction {
     	// please change the workload file directory in requestAnalyserandconfigurationmanager web app class
   	  	simulation = new CloudSim();
     	simulation.terminateAt(2*24*60*60);
+    	// the GA drivers keep the population of the last dynamic placement in static fields
+    	centrlizedarchitecture.GADriverWA.resetWarmStart();
+    	centrlizedarchitecture.GADriverDaas.resetWarmStart();
+    	hierarchicalarchitecture.localcontrollerwebapp.GADriverWA.resetWarmStart();
+    	hierarchicalarchitecture.localcontrollerdaas.GADriverDaas.resetWarmStart();
+    	// the controllers, the GA drivers and evolution classes keep their state in static fields, which snapshots only include if registered
+    	simulation.addSnapshotState(SnapshotState.ofStaticFields(
+    		ModelConstruction.class, CreateDatacenter.class, CreateDatacenterCA.class,
+    		centralManager.class,
+    		centrlizedarchitecture.GADriverWA.class, centrlizedarchitecture.GADriverDaas.class,
+    		centrlizedarchitecture.DynamicPlacementGA.class,
+    		centrlizedarchitecture.EvolutionDAAS.class, centrlizedarchitecture.DynamicEvolutionWA.class,
+    		centrlizedarchitecture.DynamicEvolutionDAAS.class,
+    		centrlizedarchitecture.RequestAnalyserAndConfigurationManagerWebApplication.class,
+    		centrlizedarchitecture.RequestAnalyserAndConfigurationManagerDaaS.class,
+    		GlobalController.class, LocalControllerWA.class, LocalControllerDaas.class,
+    		hierarchicalarchitecture.localcontrollerbatchprocess.LocalControllerBatchProcessing.class,
+    		hierarchicalarchitecture.localcontrollerwebapp.GADriverWA.class,
+    		hierarchicalarchitecture.localcontrollerdaas.GADriverDaas.class,
+    		hierarchicalarchitecture.localcontrollerwebapp.DynamicPlacementGA.class,
+    		hierarchicalarchitecture.localcontrollerdaas.EvolutionDAAS.class,
+    		hierarchicalarchitecture.localcontrollerwebapp.DynamicEvolutionWA.class,
+    		hierarchicalarchitecture.localcontrollerdaas.DynamicEvolutionDAAS.class,
+    		hierarchicalarchitecture.globalcontroller.RequestAnalyserAndConfigurationManagerWebApplication.class,
+    		hierarchicalarchitecture.globalcontroller.RequestAnalyserAndConfigurationManagerDaaS.class));
     	double StartTime = System.nanoTime();
     	System.out.println("StartTime in nanoSec= "+ StartTime);
     	System.out.println("StartTime in millisec = "+ System.currentTimeMillis());
@@ -8,9 +8,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.SplittableRandom;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -36,22 +34,27 @@ public class ChromosomeWA {
 	public int VMS;
 	public int resource_Availability_Violation = 0;
 	public double datacenterActivePower = 0;
-	public Map<Integer, Integer> serverVmallocation;	
-	public Map<Integer, Integer> vmToServerMap = new HashMap<Integer, Integer>();
-	public Map<Integer, ArrayList<Integer>> serverwithVMList = new HashMap<Integer, ArrayList<Integer>>();
 
 	/*
-	 * for each server store server id as a key and it's utilization as a value.
+	 * VMs placed in each server, grouped by server index: the VMs of a server are stored in
+	 * serverVms from serverVmStart[server] (inclusive) to serverVmStart[server+1] (exclusive), ordered by VM index.
+	 * The arrays are reused every time the genes are mapped again.
 	 */
-	Map<Integer, Double> serverUtil = new HashMap<Integer, Double>();
+	int[] serverVmStart = new int[1];
+	int[] serverVms = new int[0];
+
 	/*
-	 * for each server store server id as a key and it's powerConsumption as a value.
+	 * buffers reused by each thread to collect the VMs and servers changed by an offspring,
+	 * see makeVMServerMapDuringCrossoverAndMutation(int[], ChromosomeWA).
 	 */
-	Map<Integer, Double> serverPower = new HashMap<Integer, Double>();	
-	double vmsCpuUtil = 0;
-	double vmsRAMUtil = 0;
-	double serverCPUUtil = 0;
-	int randomInt;
+	private static final ThreadLocal<long[]> MOVED_VMS = ThreadLocal.withInitial(() -> new long[0]);
+	private static final ThreadLocal<int[]> CHANGED_SERVERS = ThreadLocal.withInitial(() -> new int[0]);
+
+	/*
+	 * servers whose resources are not enough for the placed VMs, the first violatedServerCount entries are valid.
+	 */
+	int[] violatedServers = new int[0];
+	int violatedServerCount;
 	
 	/**
 	 * Initialize genes
@@ -61,20 +64,6 @@ public class ChromosomeWA {
 		genes = new int[numberofVms]; // genes------> array size should be same as number of hosts..		
 	}
 	
-	/**
-	 * generate a random int within the range of host list
-	 * @return
-	 */
-	public int randomNumberGenerator(){
-		/*
-		 * generates a random int inclusive inner bound and exclusive of upper bound
-		 * 
-		 */
-		 randomInt = ThreadLocalRandom.current().nextInt(1, genes.length+1);
-		
-		return randomInt;
-	}
-	
 	/**
 	 * Intialize a chromosome. each gene represent a host and each gene consists Vms.
 	 * Initially a gene is filled with random vms, each vm is associated with a random number(host id) 
@@ -86,6 +75,16 @@ public class ChromosomeWA {
 	private List<Host> hostsWithHighMips = new ArrayList<>();
 	private List<Vm> vm_List = new ArrayList<>();
 	public ChromosomeWA initializeChromosome(int numberOfHosts,List<Host> hostList, List<Vm> vmList) {
+		return initializeChromosome(numberOfHosts, hostList, vmList, new SplittableRandom());
+	}
+
+	/**
+	 * Intialize a chromosome using a given random number generator,
+	 * so that chromosomes can be initialized in parallel and reproduced from the generator seed.
+	 * @param random the random number generator used only by this chromosome
+	 * @return
+	 */
+	public ChromosomeWA initializeChromosome(int numberOfHosts,List<Host> hostList, List<Vm> vmList, SplittableRandom random) {
 		
 		this.host_List = hostList;
 		this.vm_List = vmList;
@@ -105,10 +104,10 @@ public class ChromosomeWA {
 		 */
 			Vm vm = vm_List.get(i);
 			if(vm.getMips() == 2500) {
-				Host host = hostsWithHighMips.get(ThreadLocalRandom.current().nextInt(0, hostsWithHighMips.size()));
+				Host host = hostsWithHighMips.get(random.nextInt(hostsWithHighMips.size()));
 				genes[i] = (int) host.getId();	
 			} else {
-				genes[i] = ThreadLocalRandom.current().nextInt(0, numberOfHosts);
+				genes[i] = random.nextInt(numberOfHosts);
 			}
 		}
 	//	System.out.println("\n Server->Vms"+serverVmallocation);
@@ -116,142 +115,286 @@ public class ChromosomeWA {
 		
 		makeVMServerMap(genes);//----------------> here you consider only one chromosome at a time with its genes.Here genes have hosts with random ids.
 							//------------------> for example gene[1]= some random number. This random number is assumed to be a host id.
-		calculateFitness();
+		getFitness();
 		return this;
 	}
 	/**
-	 * Method to make maps between VMs and Servers
-	 * 1.vmToServerMap -> key: vmId; value: serverId.
-	 * 2.serverVmAllocation -> key: server; value: numberOfVms
-	 * 3.serverwithVMList -> key: server; value: placed VM list
+	 * Method to group the VMs by the server they are placed in, according to the genes.
+	 * The placement is stored in primitive arrays (see serverVmStart and serverVms)
+	 * which are reused across evaluations, so that no map or list is created per chromosome.
+	 * The maps between VMs and Servers are just built on request, by
+	 * {@link #getVmToServerMap()} and {@link #getServersWithVmList()}.
 	 * @param genes
 	 */
-	List<Long> serveridSV = new ArrayList<Long>();
-	List<Integer> availabilityNotViolatedServers;
 	public void makeVMServerMap(int[] genes) {
+		groupVmsByServer(genes);
 		/*
-		 * Map to store vm as a key and placed in server as value
+		 * calculate server utilizations and powerconsumption
 		 */
-		//---------------------------------------> genes length is the number of vm's. in each gene value a rondom host id is given.
-		//---------------------------------------> Because the stream will go upto the number of vms, each vm (i.e here its key) a random host is mapped.
-		
-			vmToServerMap = IntStream.range(0, genes.length).boxed().collect(Collectors.toMap(key -> key, value -> genes[value]));//------------> vmToServerMap==vmIdServerIdMap
-			
-		//	System.out.println("---------------------------->vmToServerMap "+vmToServerMap);
+		serverUtilizationAndPower();
+	}
+	
+	public void makeVMServerMapDuringCrossoverAndMutation(int[] genes) {
+		groupVmsByServer(genes);
+		serverUtilizationAndPower();
+	}
+	
+	/**
+	 * Maps the genes to the servers incrementally, from the mapping of a parent chromosome
+	 * whose genes were copied and just partially changed (by mutation or crossover).
+	 * Only the servers that got or lost a VM have their VMs grouped again and their power and resource usage calculated,
+	 * the VMs of the other servers are copied from the parent. The datacenter power, the active servers and
+	 * the violated servers are patched from the parent's values, applying the changes in ascending server order.
+	 * If the parent was mapped to other servers or VMs, all servers are calculated.
+	 * @param genes
+	 * @param parent the chromosome the genes were taken from, which must not be mapped again meanwhile
+	 */
+	public void makeVMServerMapDuringCrossoverAndMutation(int[] genes, ChromosomeWA parent) {
+		int serverCount = this.host_List.size();
+		if(parent.host_List != this.host_List || parent.vm_List != this.vm_List || parent.genes.length != genes.length
+				|| parent.serverVmStart.length != serverCount + 1) {
+			makeVMServerMapDuringCrossoverAndMutation(genes);
+			return;
+		}
+
+		/*
+		 * a server changes when it gets or loses a VM. Each moved VM is stored with its new server in the high bits,
+		 * so that sorting them groups the VMs by the new server, in ascending VM order.
+		 */
+		long[] movedVms = MOVED_VMS.get();
+		if(movedVms.length < genes.length) {
+			movedVms = new long[genes.length];
+			MOVED_VMS.set(movedVms);
+		}
+		int[] changedServers = CHANGED_SERVERS.get();
+		if(changedServers.length < 2 * genes.length) {
+			changedServers = new int[2 * genes.length];
+			CHANGED_SERVERS.set(changedServers);
+		}
+		int movedVmCount = 0;
+		int changedServerCount = 0;
+		for(int vm = 0; vm < genes.length; vm++) {
+			if(genes[vm] != parent.genes[vm]) {
+				movedVms[movedVmCount++] = ((long) genes[vm] << 32) | vm;
+				changedServers[changedServerCount++] = genes[vm];
+				changedServers[changedServerCount++] = parent.genes[vm];
+			}
+		}
+		Arrays.sort(movedVms, 0, movedVmCount);
+		Arrays.sort(changedServers, 0, changedServerCount);
+		int distinctServers = 0;
+		for(int i = 0; i < changedServerCount; i++) {
+			if(distinctServers == 0 || changedServers[distinctServers - 1] != changedServers[i]) {
+				changedServers[distinctServers++] = changedServers[i];
+			}
+		}
+		changedServerCount = distinctServers;
+
+		groupChangedVmsByServer(genes, parent, movedVms, movedVmCount, changedServers, changedServerCount);
+
+		this.servers = serverCount;
+		DC_POWER = parent.DC_POWER;
+		dcMaxPower = parent.dcMaxPower;
+		ACTIVE_SERVERS = parent.ACTIVE_SERVERS;
+		violatedServers = new int[Math.min(serverCount, parent.violatedServerCount + changedServerCount)];
+		violatedServerCount = 0;
+		int parentViolatedIndex = 0;
+		for(int c = 0; c < changedServerCount; c++) {
+			int server = changedServers[c];
 			/*
-			 * make a map to get the number of vms placed in 
-			 * each host
+			 * the parent's violated servers are in ascending order, as well as the changed servers
 			 */
-			serverVmallocation = Arrays.stream(genes).boxed().collect(Collectors.groupingBy(e -> e,
-					Collectors.reducing(0, e -> 1, Integer::sum)));
-	//		System.out.println("---------------------------->serverVmallocation   "+serverVmallocation);
-			/*
-	//		 * a map containing the servers with the placed vmList on them
-	//		 */
-			
-			//Workaround for bug
-			serverwithVMList = new HashMap<>(vmToServerMap.entrySet().stream().collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-											.collect(Collectors.toMap(item -> item.get(0).getValue(),
-													item -> new ArrayList<Integer>(item.stream().map(Map.Entry::getKey).collect(Collectors.toList())))));
-			
-		//	System.out.println("---------------------------->serverwithVMList   "+serverwithVMList);
-			/* serverwithVMList = new HashMap<>(
-				    vmToServerMap.entrySet().stream()
-				        .collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-				        .collect(Collectors.toMap(
-				                item -> item.get(0).getValue(),
-				                item -> new ArrayList<>(
-				                    item.stream()
-				                        .map(Map.Entry::getKey)
-				                        .collect(Collectors.toList())
-				                ))
-				        ));*/
-	//		 System.out.println("\n Server -> Vm"+serverwithVMList);
-	// System.out.println("\nIn chromosome makeVMServerMap() Vm -> Server"+vmToServerMap);
-		//	while(ResourceAvailabilityViolation() != 0 ) {
-				 
-	//			if(!ViolatedServersList.isEmpty()) {
-	//				for(int i=0; i<ViolatedServersList.size();i++) {
-		//				int Violatedserver = ViolatedServersList.get(i);	
-		//				moveAVmToRandomHost(Violatedserver);
-	//			}	
-		//		}
-	//			
-				vmToServerMap = IntStream.range(0, genes.length).boxed().collect(Collectors.toMap(key -> key, value -> genes[value]));//------------> vmToServerMap==vmIdServerIdMap
-	//
-		//		serverVmallocation = Arrays.stream(genes).boxed().collect(Collectors.groupingBy(e -> e,
-		//					Collectors.reducing(0, e -> 1, Integer::sum)));
-				
-		//		serverwithVMList = new HashMap<>(vmToServerMap.entrySet().stream().collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-		//											.collect(Collectors.toMap(item -> item.get(0).getValue(),
-		//													item -> new ArrayList<Integer>(item.stream().map(Map.Entry::getKey).collect(Collectors.toList())))));
-		//	}
-			
+			while(parentViolatedIndex < parent.violatedServerCount && parent.violatedServers[parentViolatedIndex] < server) {
+				violatedServers[violatedServerCount++] = parent.violatedServers[parentViolatedIndex++];
+			}
+			if(parentViolatedIndex < parent.violatedServerCount && parent.violatedServers[parentViolatedIndex] == server) {
+				parentViolatedIndex++;
+			}
+			if(parent.getServerVmCount(server) > 0) {
+				DC_POWER -= parent.calculateServerPower(server);
+				dcMaxPower -= this.host_List.get(server).getPowerModel().getMaxPower();
+				ACTIVE_SERVERS--;
+			}
+			if(getServerVmCount(server) > 0) {
+				DC_POWER += calculateServerPower(server);
+				dcMaxPower += this.host_List.get(server).getPowerModel().getMaxPower();
+				ACTIVE_SERVERS++;
+				if(calculateServerLoad(server)) {
+					violatedServers[violatedServerCount++] = server;
+				}
+			}
+		}
+		while(parentViolatedIndex < parent.violatedServerCount) {
+			violatedServers[violatedServerCount++] = parent.violatedServers[parentViolatedIndex++];
+		}
+		resource_Availability_Violation = violatedServerCount;
+	}
+
+	/**
+	 * Groups the VMs by server from the grouping of a parent chromosome, filling serverVmStart and serverVms.
+	 * The VMs of unchanged servers are copied from the parent in blocks, while the VMs of changed servers
+	 * are merged from the parent's VMs that stayed there and the VMs moved into them, keeping the ascending VM order.
+	 * @param genes
+	 * @param parent the chromosome the genes were taken from
+	 * @param movedVms the VMs whose server changed, sorted by the new server (high bits) and VM index (low bits)
+	 * @param movedVmCount the number of valid entries in movedVms
+	 * @param changedServers the servers that got or lost a VM, in ascending order
+	 * @param changedServerCount the number of valid entries in changedServers
+	 */
+	private void groupChangedVmsByServer(int[] genes, ChromosomeWA parent, long[] movedVms, int movedVmCount, int[] changedServers, int changedServerCount) {
+		int serverCount = this.host_List.size();
+		if(serverVmStart.length != serverCount + 1) {
+			serverVmStart = new int[serverCount + 1];
+		}
+		if(serverVms.length != genes.length) {
+			serverVms = new int[genes.length];
+		}
+
+		int position = 0;
+		int nextServer = 0;
+		int movedIndex = 0;
+		for(int c = 0; c <= changedServerCount; c++) {
+			int changedServer = c < changedServerCount ? changedServers[c] : serverCount;
 			/*
-			 * make a map for server utilizations and powerconsumption
+			 * the servers before the changed one keep the parent's VMs, which are just shifted
 			 */
-			serverUtilizationAndPower(serverwithVMList);
+			int shift = position - parent.serverVmStart[nextServer];
+			for(int server = nextServer; server < changedServer; server++) {
+				serverVmStart[server] = parent.serverVmStart[server] + shift;
+			}
+			int length = parent.serverVmStart[changedServer] - parent.serverVmStart[nextServer];
+			System.arraycopy(parent.serverVms, parent.serverVmStart[nextServer], serverVms, position, length);
+			position += length;
+			if(changedServer == serverCount) {
+				break;
+			}
+
+			serverVmStart[changedServer] = position;
+			int i = parent.serverVmStart[changedServer];
+			int end = parent.serverVmStart[changedServer + 1];
+			while(true) {
+				while(i < end && genes[parent.serverVms[i]] != changedServer) {
+					i++;
+				}
+				boolean hasMovedVm = movedIndex < movedVmCount && (int) (movedVms[movedIndex] >>> 32) == changedServer;
+				if(i == end && !hasMovedVm) {
+					break;
+				}
+				if(hasMovedVm && (i == end || (int) movedVms[movedIndex] < parent.serverVms[i])) {
+					serverVms[position++] = (int) movedVms[movedIndex++];
+				} else {
+					serverVms[position++] = parent.serverVms[i++];
+				}
+			}
+			nextServer = changedServer + 1;
+		}
+		serverVmStart[serverCount] = position;
+	}
+
+	/**
+	 * Creates a copy of this chromosome, with the same genes and evaluation,
+	 * which can be changed and evaluated independently.
+	 * @return the new chromosome
+	 */
+	public ChromosomeWA copy() {
+		ChromosomeWA copy = new ChromosomeWA(genes.length);
+		System.arraycopy(genes, 0, copy.genes, 0, genes.length);
+		copy.setHostlistAndVmlist(host_List, vm_List);
+		copy.makeVMServerMapDuringCrossoverAndMutation(copy.genes, this);
+		copy.fitness = fitness;
+		copy.isFitnessChanged = isFitnessChanged;
+		return copy;
 	}
 	
-//	private void moveAVmToRandomHost(int Violatedserver) {
-//		Random	rand = new Random();
-//		Here:
-//		for(int i=0; i < this.genes.length; i++) {
-//			if(Violatedserver == genes[i]) {	
-//				genes[i] = ThreadLocalRandom.current().nextInt(0, host_List.size());
-//			//genes[i] = serveridNoViolation.get(serveridNoViolation.size());
-//			break Here;
-//			}					
-//		}
-//	}
-	
-	public void makeVMServerMapDuringCrossoverAndMutation(int[] genes) {
+	/**
+	 * Sorts the VM indexes by server index (counting sort), filling serverVmStart and serverVms.
+	 * @param genes
+	 */
+	private void groupVmsByServer(int[] genes) {
+		int serverCount = this.host_List.size();
+		if(serverVmStart.length != serverCount + 1) {
+			serverVmStart = new int[serverCount + 1];
+		} else {
+			Arrays.fill(serverVmStart, 0);
+		}
+		if(violatedServers.length != serverCount) {
+			violatedServers = new int[serverCount];
+		}
+		if(serverVms.length != genes.length) {
+			serverVms = new int[genes.length];
+		}
 		
-		vmToServerMap = IntStream.range(0, genes.length).boxed().collect(Collectors.toMap(key -> key, value -> genes[value]));//------------> vmToServerMap==vmIdServerIdMap
-	
-		serverVmallocation = Arrays.stream(genes).boxed().collect(Collectors.groupingBy(e -> e,
-					Collectors.reducing(0, e -> 1, Integer::sum)));
-	
-		serverwithVMList = new HashMap<>(vmToServerMap.entrySet().stream().collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-											.collect(Collectors.toMap(item -> item.get(0).getValue(),
-													item -> new ArrayList<Integer>(item.stream().map(Map.Entry::getKey).collect(Collectors.toList())))));
-			
-			serverUtilizationAndPower(serverwithVMList);
+		for(int vm = 0; vm < genes.length; vm++) {
+			serverVmStart[genes[vm] + 1]++;
+		}
+		for(int server = 0; server < serverCount; server++) {
+			serverVmStart[server + 1] += serverVmStart[server];
+		}
+		/*
+		 * serverVmStart[server] is used as the next free position of the server while the VMs are placed,
+		 * so it ends up holding the start of the next server and is shifted back afterwards.
+		 */
+		for(int vm = 0; vm < genes.length; vm++) {
+			serverVms[serverVmStart[genes[vm]]++] = vm;
+		}
+		for(int server = serverCount - 1; server > 0; server--) {
+			serverVmStart[server] = serverVmStart[server - 1];
+		}
+		serverVmStart[0] = 0;
 	}
 	
 	public void setHostlistAndVmlist(List<Host> hostlist, List<Vm> vmList) { // Added specifically for crossover chromosome (hostlist-IndexOutOfBoundsException: Index: 0, Size: 0) 
 		this.host_List=hostlist;
 		this.vm_List=vmList;
 	}
+
+	/**
+	 * Gets the number of VMs placed in a server.
+	 * @param server the server index
+	 * @return
+	 */
+	public int getServerVmCount(int server) {
+		return serverVmStart[server + 1] - serverVmStart[server];
+	}
+
+	/**
+	 * Gets a VM placed in a server.
+	 * @param server the server index
+	 * @param index the position of the VM in the server, from 0 to {@link #getServerVmCount(int)} - 1
+	 * @return the VM index
+	 */
+	public int getServerVm(int server, int index) {
+		return serverVms[serverVmStart[server] + index];
+	}
+
 	/**
 	 * method to calculate utilization and power consumption for heterogeneous servers and 
 	 * vms.   
-	 * @param vmsOnServers
 	 */
-	public void serverUtilizationAndPower(Map<Integer, ArrayList<Integer>>  vmsOnServers) {
-	
-	/*
-	 * calculate server utilizations for heterogeneous servers and heterogeneous vms	
+	public void serverUtilizationAndPower() {
+		datacenterPowerConsumption();
+		resourceAvailabilityViolation();	
+	}
+
+	/**
+	 * Calculates the power consumption of an active server, from the utilization of its CPU.
+	 * @param server the server index
+	 * @return
 	 */
-	vmsOnServers.forEach((server,vmList) -> {
+	private double calculateServerPower(int server) {
 		double serverCPU = this.host_List.get(server).getTotalMipsCapacity();
 		
 		//----------------------------------------------> Here it is not utilization it is the requested capacity.
-		 vmsCpuUtil = 0;
-		 vmsRAMUtil = 0;
-		vmList.forEach(vm -> {
-			vmsCpuUtil += this.vm_List.get(vm).getCurrentRequestedTotalMips(); 
-			vmsRAMUtil += this.vm_List.get(vm).getCurrentRequestedRam(); 
-		});
-		serverCPUUtil = vmsCpuUtil / serverCPU;
-		serverUtil.put(server, serverCPUUtil); 
-	});
-	/*
-	 *map with server and it's power consumptions 
-	 */
-	serverUtil.forEach((server, util) -> {
+		double vmsCpuUtil = 0;
+		for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+			vmsCpuUtil += this.vm_List.get(serverVms[i]).getCurrentRequestedTotalMips();
+		}
+		double util = vmsCpuUtil / serverCPU;
+
+		/*
+		 * server power consumption
+		 */
 		double serverPowerConsump = 0;
-		
 		if(util > 1) {//------------> When the requested resources by all the vms go beyond the capacity of the host then this util variable goes beyond 1.
 			util = 1.0;
 		 serverPowerConsump = this.host_List.get(server).getPowerModel().getPower(util)+50;
@@ -262,22 +405,23 @@ public class ChromosomeWA {
 			serverPowerConsump = this.host_List.get(server).getPowerModel().getPower(util);
 		}
 		
-		serverPower.put(server, serverPowerConsump);
-	});
-		datacenterPowerConsumption(serverPower);
-		resourceAvailabilityViolation();	
+		return serverPowerConsump;
 	}
 	
-	public void datacenterPowerConsumption(Map<Integer, Double> serverPower) {
+	public void datacenterPowerConsumption() {
 		this.servers=this.host_List.size();
 		 dcMaxPower = 0 ;
 		 DC_POWER = 0;
-		serverPower.forEach((server, power) -> {
+		 ACTIVE_SERVERS = 0;
+		for(int server = 0; server < this.servers; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
 			dcMaxPower += this.host_List.get(server).getPowerModel().getMaxPower();
-			DC_POWER += power;	
-		});
+			DC_POWER += calculateServerPower(server);
+			ACTIVE_SERVERS++;
+		}
 		
-		ACTIVE_SERVERS = serverPower.keySet().size();
 		normalizeDataCenterPower(DC_POWER, dcMaxPower, ACTIVE_SERVERS);
 	}
 	
@@ -307,53 +451,72 @@ public class ChromosomeWA {
 	 * From IBM Site "Placement groups give you a measure of control over the host on which a new public virtual server is placed.
 	 *  With this release, there is a �spread� rule, which means that virtual servers within a placement group are all spread onto different hosts. 
 	 * You can build a high availability application within a data center knowing your virtual servers are isolated from each other." 
-	 * @param serverUtil
 	 * @return
 	 */
-	double allvmsCpuCapacityRequirement = 0;
-	double allvmsRAMCapacityRequirement = 0;
-	public List<Integer> availabitlityViolatedServers;
 	public double resourceAvailabilityViolation() {	
 	
 		resource_Availability_Violation = 0;
-		availabitlityViolatedServers = new ArrayList<Integer>();
-		availabilityNotViolatedServers = new ArrayList<Integer>();
-		serverwithVMList.forEach((Server, Vmlist) -> {
-			allvmsCpuCapacityRequirement = 0;
-			allvmsRAMCapacityRequirement = 0;
-			double serverRamCapacity = this.host_List.get(Server).getRam().getCapacity();
-			double serverCPUCapacity = this.host_List.get(Server).getTotalMipsCapacity();		
-			Vmlist.forEach(vm -> {
-				Vm vm1=this.vm_List.get(vm);
-				allvmsCpuCapacityRequirement += vm1.getTotalMipsCapacity();
-				allvmsRAMCapacityRequirement += vm1.getRam().getCapacity();
-				});
-			if ((serverRamCapacity < allvmsRAMCapacityRequirement) || (serverCPUCapacity < allvmsCpuCapacityRequirement)) {
+		violatedServerCount = 0;
+		for(int server = 0; server < this.host_List.size(); server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
+			if (calculateServerLoad(server)) {
 				resource_Availability_Violation += 1;
-				availabitlityViolatedServers.add(Server);
-			}else {
-				availabilityNotViolatedServers.add(Server);
+				violatedServers[violatedServerCount++] = server;
 			}		
-		});
+		}
 		return resource_Availability_Violation;
 	}
+
+	/**
+	 * Checks if the CPU (MIPS) and RAM capacity required by the VMs placed in an active server are available.
+	 * @param server the server index
+	 * @return true if the server resources are not enough for the placed VMs, false otherwise
+	 */
+	private boolean calculateServerLoad(int server) {
+		double allvmsCpuCapacityRequirement = 0;
+		double allvmsRAMCapacityRequirement = 0;
+		double serverRamCapacity = this.host_List.get(server).getRam().getCapacity();
+		double serverCPUCapacity = this.host_List.get(server).getTotalMipsCapacity();
+		for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+			Vm vm1=this.vm_List.get(serverVms[i]);
+			allvmsCpuCapacityRequirement += vm1.getTotalMipsCapacity();
+			allvmsRAMCapacityRequirement += vm1.getRam().getCapacity();
+		}
+		return (serverRamCapacity < allvmsRAMCapacityRequirement) || (serverCPUCapacity < allvmsCpuCapacityRequirement);
+	}
 	
-	List<Integer> slaViolatedVms = new ArrayList<>();
+	/**
+	 * Gets the number of servers whose resources are not enough for the placed VMs.
+	 * @return
+	 */
+	public int getViolatedServerCount() {
+		return violatedServerCount;
+	}
+
+	/**
+	 * Gets a server whose resources are not enough for the placed VMs, in ascending order of server index.
+	 * @param index the position of the server, from 0 to {@link #getViolatedServerCount()} - 1
+	 * @return the server index
+	 */
+	public int getViolatedServer(int index) {
+		return violatedServers[index];
+	}
+
 	  public double SLAViolation() { 
 		  slaViolation= 0; 
-		  serverwithVMList.forEach((Server, Vmlist) -> { 
-			  double serverSingleCoreMips = this.host_List.get(Server).getMips(); 
-			  Vmlist.forEach(vm -> { 
-				  double vmsCpuSinglecoreMipsRequirement = 0; 
-				  Vm vm1=this.vm_List.get(vm);
-	  			  vmsCpuSinglecoreMipsRequirement = vm1.getTotalMipsCapacity();
+		  for(int server = 0; server < serverVmStart.length - 1; server++) {
+			  double serverSingleCoreMips = this.host_List.get(server).getMips();
+			  for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				  Vm vm1=this.vm_List.get(serverVms[i]);
+	  			  double vmsCpuSinglecoreMipsRequirement = vm1.getTotalMipsCapacity();
 	  
 				  if((serverSingleCoreMips < vmsCpuSinglecoreMipsRequirement)) {
 					  slaViolation += 1; 
-					  slaViolatedVms.add(vm);
 					  } 
-				  }); 
-			  }); 
+				  }
+			  }
 		  return slaViolation/GADriverWA.vmlist_sizeIP;
 	  }
 	 
@@ -363,11 +526,36 @@ public class ChromosomeWA {
 		return genes;
 	}
 	
+	/**
+	 * Builds a map where each key is a VM index and each value is the server index where it's placed.
+	 * @return a new map
+	 */
 	public Map<Integer, Integer> getVmToServerMap(){
+		Map<Integer, Integer> vmToServerMap = new HashMap<Integer, Integer>();
+		for(int server = 0; server < serverVmStart.length - 1; server++) {
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				vmToServerMap.put(serverVms[i], server);
+			}
+		}
 		return vmToServerMap;
 	}
 	
+	/**
+	 * Builds a map where each key is an active server index and each value is the list of VMs placed in it.
+	 * @return a new map
+	 */
 	public  Map<Integer, ArrayList<Integer>> getServersWithVmList(){
+		Map<Integer, ArrayList<Integer>> serverwithVMList = new HashMap<Integer, ArrayList<Integer>>();
+		for(int server = 0; server < serverVmStart.length - 1; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
+			ArrayList<Integer> vmList = new ArrayList<Integer>(getServerVmCount(server));
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				vmList.add(serverVms[i]);
+			}
+			serverwithVMList.put(server, vmList);
+		}
 		return serverwithVMList;
 	}
 	
@@ -392,7 +580,7 @@ public class ChromosomeWA {
 		double chromosomeFitness = 0;
 		
 		 chromosomeFitness = 
-				 (0.3 * (ACTIVE_SERVERS / centrlizedarchitecture.GADriverWA.Hostlist_sizeIP)) + (0.45 * (resourceAvailabilityViolation()/GADriverWA.Hostlist_sizeIP)) +
+				 (0.3 * (ACTIVE_SERVERS / centrlizedarchitecture.GADriverWA.Hostlist_sizeIP)) + (0.45 * ((double) resource_Availability_Violation/GADriverWA.Hostlist_sizeIP)) +
 				 (0.25 *(normalizeDataCenterPower(DC_POWER, dcMaxPower, ACTIVE_SERVERS)));
 			
 		
@@ -3,12 +3,15 @@
  */
 package centrlizedarchitecture;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -16,7 +19,7 @@ import java.util.stream.Collectors;
  * @author Shyam Sundar V
  *
  */
-public class DynamicChromosomeDAAS {
+public class DynamicChromosomeDAAS implements Serializable {
 	private HashMap<Long, Long> genes;
 	private Map<Long, Double> serverUtil = new HashMap<Long, Double>();
 	private double DC_POWER;
@@ -50,6 +53,21 @@ public class DynamicChromosomeDAAS {
 	List<Long> VMID = new ArrayList<>();
 
 	public DynamicChromosomeDAAS initialize(int i) throws IllegalArgumentException {
+		return initialize(i, null);
+	}
+
+	/**
+	 * method to initialize individual, as {@link #initialize(int)} does,
+	 * but repairing a chromosome of the previous scheduling interval (warm start).
+	 * VMs to migrate keep the host they had in such a chromosome, while it's still a target host.
+	 * VMs that weren't in the previous chromosome, or whose host isn't a target anymore, get a random host,
+	 * and VMs that aren't in the source allocation anymore are dropped.
+	 * 
+	 * @param i
+	 * @param previous a chromosome of the previous scheduling interval, or null to create a new one
+	 * @return
+	 */
+	public DynamicChromosomeDAAS initialize(int i, DynamicChromosomeDAAS previous) throws IllegalArgumentException {
 
 		/**
 		 * keeping the source allocation as a member of the population
@@ -80,13 +98,18 @@ public class DynamicChromosomeDAAS {
 		});
 
 		if (i >= 1) {
+			Set<Long> targetHosts = previous == null ? Collections.<Long>emptySet() : new HashSet<Long>(GADriverDaas.targetHostList);
 			GADriverDaas.dynamicVmHostMap.forEach((vm, server) -> {
 				Collections.sort(VMID);
 				/*
 				 * if(VMID.isEmpty()) { genes.put(vm, server); }
 				 */
 
-				if (VMID != null) {
+				Long previousServer = previous == null ? null : previous.genes.get(vm);
+				if (previousServer != null && VMID.contains(vm) && targetHosts.contains(previousServer)) {
+					genes.put(vm, previousServer);
+					VMID.remove(vm);
+				} else if (VMID != null) {
 					findRandomHostForVm(vm, server);
 				} else {
 					genes.put(vm, server);
@@ -3,11 +3,15 @@
  */
 package centrlizedarchitecture;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.cloudbus.cloudsim.hosts.Host;
@@ -17,7 +21,7 @@ import org.cloudbus.cloudsim.vms.Vm;
  * @author Shyam Sundar V
  *
  */
-public class DynamicChromosomeWA {
+public class DynamicChromosomeWA implements Serializable {
 	private HashMap<Long, Long> genes;
 	Map<Long, Double> serverUtil = new HashMap<Long, Double>();
 
@@ -54,6 +58,23 @@ public class DynamicChromosomeWA {
 	private List<Vm> vm_List = new ArrayList<>();
 
 	public DynamicChromosomeWA initialize(int i, List<Host> hostList, List<Vm> vmList) throws IllegalArgumentException {
+		return initialize(i, hostList, vmList, null);
+	}
+
+	/**
+	 * method to initialize individual, as {@link #initialize(int, List, List)} does,
+	 * but repairing a chromosome of the previous scheduling interval (warm start).
+	 * VMs to migrate keep the host they had in such a chromosome, while it's still a valid target host.
+	 * VMs that weren't in the previous chromosome, or whose host isn't valid anymore, get a new host,
+	 * and VMs that aren't in the source allocation anymore are dropped.
+	 * 
+	 * @param i
+	 * @param hostList
+	 * @param vmList
+	 * @param previous a chromosome of the previous scheduling interval, or null to create a new one
+	 * @return
+	 */
+	public DynamicChromosomeWA initialize(int i, List<Host> hostList, List<Vm> vmList, DynamicChromosomeWA previous) throws IllegalArgumentException {
 
 		this.host_List = hostList;
 		this.vm_List = vmList;
@@ -83,13 +104,19 @@ public class DynamicChromosomeWA {
 		 */
 
 		if (i >= 1) {
+			Set<Long> targetHosts = previous == null ? Collections.<Long>emptySet() : new HashSet<Long>(GADriverWA.targetHostList);
 			GADriverWA.dynamicVmHostMap.forEach((vm, server) -> {
 
 				if (centralManager.VmstoMigrateFromOverAndUnderloadedHostsWA.stream()
 						.anyMatch(Vm -> (Vm.getId() == vm))) {
 					List<Vm> ListVm = centralManager.VmstoMigrateFromOverAndUnderloadedHostsWA.stream()
 							.filter(VM -> (VM.getId() == vm.intValue())).collect(Collectors.toList());
-					fillGenesOverandUnderloadedHostVms(vm, server, ListVm.get(0));
+					Long previousServer = previous == null ? null : previous.genes.get(vm);
+					if (isValidHostFromPreviousInterval(previousServer, ListVm.get(0), targetHosts)) {
+						genes.put(vm, previousServer);
+					} else {
+						fillGenesOverandUnderloadedHostVms(vm, server, ListVm.get(0));
+					}
 				} else {
 					genes.put(vm, server);
 				}
@@ -103,6 +130,20 @@ public class DynamicChromosomeWA {
 		return this;
 	}
 
+	/**
+	 * Checks if a VM to migrate can be kept in the host it had in a chromosome of the previous scheduling interval.
+	 * Such a host must still be a target host and, for VMs with 2500 MIPS or more, one with more than 2500 MIPS.
+	 * 
+	 * @param server the host of the VM in the previous chromosome, or null if the VM wasn't there
+	 * @param vm1
+	 * @param targetHosts
+	 * @return
+	 */
+	private boolean isValidHostFromPreviousInterval(Long server, Vm vm1, Set<Long> targetHosts) {
+		return server != null && targetHosts.contains(server)
+				&& (vm1.getMips() < 2500 || host_List.get(server.intValue()).getMips() > 2500);
+	}
+
 	/**
 	 * @param vm
 	 * @param server
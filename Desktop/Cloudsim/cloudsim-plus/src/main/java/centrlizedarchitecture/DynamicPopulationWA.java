@@ -3,6 +3,7 @@
  */
 package centrlizedarchitecture;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -18,7 +19,7 @@ import org.cloudbus.cloudsim.vms.Vm;
  * @author Shyam Sundar V
  *
  */
-public class DynamicPopulationWA {
+public class DynamicPopulationWA implements Serializable {
 public ArrayList<DynamicChromosomeWA> chromosomes;
 	
 	Map<DynamicChromosomeWA, Double> chromosomewithFitness = new HashMap<DynamicChromosomeWA,Double>();
@@ -42,6 +43,22 @@ public ArrayList<DynamicChromosomeWA> chromosomes;
 		return this;
 	}
 	
+	/**
+	 * Initializes the population from the one of the previous scheduling interval (warm start).
+	 * The first chromosome keeps the source allocation, as in {@link #intialize(int)},
+	 * and each other one is repaired from a chromosome of the previous population, in order of fitness.
+	 * @param populationSize
+	 * @param previousPopulation the last population of the previous scheduling interval
+	 * @return
+	 */
+	public DynamicPopulationWA intialize(int populationSize, DynamicPopulationWA previousPopulation) {
+		IntStream.range(0, populationSize).forEach(i -> {
+			DynamicChromosomeWA previous = (i >= 1 && i <= previousPopulation.chromosomes.size()) ? previousPopulation.chromosomes.get(i - 1) : null;
+			chromosomes.add(i, new DynamicChromosomeWA().initialize(i,HostList,VmList, previous));
+		});
+		return this;
+	}
+	
 	public ArrayList<DynamicChromosomeWA> getChromosomes() {
 		return chromosomes;
 	}
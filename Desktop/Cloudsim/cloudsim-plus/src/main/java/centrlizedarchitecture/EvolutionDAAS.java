@@ -125,10 +125,11 @@ public class EvolutionDAAS {
 				}
 			}
 		}else {
-			for(int violatedServer : chromosomeDAAS.availabitlityViolatedServers) {
+			for(int i = 0; i < chromosomeDAAS.getViolatedServerCount(); i++) {
+				int violatedServer = chromosomeDAAS.getViolatedServer(i);
 				mutateChromosome = chromosomeDAAS;
-				  List<Integer> serverVms = chromosomeDAAS.serverwithVMList.get(violatedServer);
-				  for(Integer VMs : serverVms) {
+				  for(int j = 0; j < chromosomeDAAS.getServerVmCount(violatedServer); j++) {
+					  int VMs = chromosomeDAAS.getServerVm(violatedServer, j);
 					  if(!Vm_List.get(VMs).isCreated()) {
 						  int Host = generateRandomHostIgnoringSelectedHost(chromosomeDAAS,violatedServer);
 						  mutateChromosome.genes[VMs] = Host;
@@ -169,8 +170,8 @@ public class EvolutionDAAS {
 	private int generateRandomHostIgnoringSelectedHost(ChromosomeDAAS chromosomeDAAS, int IgnoreThisHost) {
 		int RandomHostForGene = ThreadLocalRandom.current().nextInt(0, chromosomeDAAS.SERVERS);				
 
-		if(! (chromosomeDAAS.vmToServerMap.keySet().size() == 1)) {
-			while((IgnoreThisHost == RandomHostForGene) && chromosomeDAAS.availabitlityViolatedServers.contains(RandomHostForGene)) {//|| (!chromosomeDAAS.vmToServerMap.containsKey(RandomHostForGene)
+		if(! (chromosomeDAAS.genes.length == 1)) {
+			while((IgnoreThisHost == RandomHostForGene) && chromosomeDAAS.isAvailabilityViolated(RandomHostForGene)) {//|| (!chromosomeDAAS.vmToServerMap.containsKey(RandomHostForGene)
 				RandomHostForGene = ThreadLocalRandom.current().nextInt(0, chromosomeDAAS.SERVERS);
 			}
 		}else {
@@ -5,11 +5,10 @@ package centrlizedarchitecture;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math3.genetics.StoppingCondition;
-import org.apache.commons.math3.random.JDKRandomGenerator;
-import org.apache.commons.math3.random.RandomGenerator;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -19,7 +18,6 @@ import org.cloudbus.cloudsim.vms.Vm;
  */
 public class EvolutionWA {
 	public int generationsEvolved;
-	private static RandomGenerator randomGenerator = new JDKRandomGenerator();
 	    /** the rate of crossover for the algorithm. */
 	private final double crossoverRate = 0.5;
 	    /** the rate of mutation for the algorithm. */
@@ -30,8 +28,25 @@ public class EvolutionWA {
 	public final int TOURNAMENT_SELECTION_SIZE = 4; 
 	public final int CHROMOSOME_LENGTH;
 
+	/**
+	 * Random number generator from which a generator is split for each chromosome of every generation.
+	 */
+	private final SplittableRandom random;
+
 	public EvolutionWA(int INITIAL_VMS) {
+		this(INITIAL_VMS, new SplittableRandom());
+	}
+
+	/**
+	 * Creates the evolution using a given random number generator, so that it can be reproduced from the generator seed.
+	 * The chromosomes of each generation are bred and evaluated in parallel,
+	 * each one using a generator split before the work is forked.
+	 * @param INITIAL_VMS
+	 * @param random the random number generator to split
+	 */
+	public EvolutionWA(int INITIAL_VMS, SplittableRandom random) {
 		this.CHROMOSOME_LENGTH = INITIAL_VMS;
+		this.random = random;
 	}
 	 
 	private List<Host> Host_List = new ArrayList<>();
@@ -51,11 +66,19 @@ public class EvolutionWA {
 			crossoverpopulation.getChromosomes()[i] = PopulationWA.getChromosomes()[i];
 //			System.out.println("elite_crossover_chromosome"+crossoverpopulation.getChromosomes()[i]);
 		}
-		for(int i=ELITE_CHROMOSOMES; i < PopulationWA.getChromosomes().length; i++) {
-			ChromosomeWA chromosome1 = selectPopulation(PopulationWA).getChromosomes()[0];
-			ChromosomeWA chromosome2 = selectPopulation(PopulationWA).getChromosomes()[0];
-			crossoverpopulation.getChromosomes()[i] = crossoverChromosome(chromosome1, chromosome2);
+		/*
+		 * The fitness of the parents is computed before the work is forked,
+		 * so that the tournaments running in parallel just read it.
+		 */
+		for(ChromosomeWA chromosome : PopulationWA.getChromosomes()) {
+			chromosome.getFitness();
 		}
+		SplittableRandom[] randoms = splitRandom(PopulationWA.getChromosomes().length);
+		IntStream.range(ELITE_CHROMOSOMES, PopulationWA.getChromosomes().length).parallel().forEach(i -> {
+			ChromosomeWA chromosome1 = selectPopulation(PopulationWA, randoms[i]).getChromosomes()[0];
+			ChromosomeWA chromosome2 = selectPopulation(PopulationWA, randoms[i]).getChromosomes()[0];
+			crossoverpopulation.getChromosomes()[i] = crossoverChromosome(chromosome1, chromosome2, randoms[i]);
+		});
 		return crossoverpopulation;
 	}
 	
@@ -69,13 +92,18 @@ public class EvolutionWA {
 		/*
 		 * mutate all except the elite chromosome from each gen
 		 */
-		for(int i=ELITE_CHROMOSOMES; i < PopulationWA.getChromosomes().length; i++) {
-			if(Math.random() < mutationRate) {
-				mutatepopulation.getChromosomes()[i] = mutateChromosome(PopulationWA.getChromosomes()[i]);				
+		SplittableRandom[] randoms = splitRandom(PopulationWA.getChromosomes().length);
+		IntStream.range(ELITE_CHROMOSOMES, PopulationWA.getChromosomes().length).parallel().forEach(i -> {
+			if(randoms[i].nextDouble() < mutationRate) {
+				mutatepopulation.getChromosomes()[i] = mutateChromosome(PopulationWA.getChromosomes()[i], randoms[i]);				
 			}else {
 				mutatepopulation.getChromosomes()[i] = PopulationWA.getChromosomes()[i];						
 			}
-		}
+			/*
+			 * evaluate the offspring here, so that sorting the population just reads the fitness
+			 */
+			mutatepopulation.getChromosomes()[i].getFitness();
+		});
 	//	mutatepopulation.sortChromosomesByFitness();
 		return mutatepopulation;
 	}
@@ -84,30 +112,33 @@ public class EvolutionWA {
 	 * For initial placement, random gene selection from each parent chromosome
 	 * @param chromosome1
 	 * @param chromosome2
+	 * @param random the random number generator used only by the offspring
 	 * @return
 	 */
-	public ChromosomeWA crossoverChromosome(ChromosomeWA chromosome1, ChromosomeWA chromosome2) {
+	public ChromosomeWA crossoverChromosome(ChromosomeWA chromosome1, ChromosomeWA chromosome2, SplittableRandom random) {
 //		System.out.println("crossover chromosome 1......"+ chromosome1);
 //		System.out.println("crossover chromosome 2......"+ chromosome2);
 		ChromosomeWA crossoverChromosome = new ChromosomeWA(CHROMOSOME_LENGTH);
-		for(int i=0; i< chromosome1.getGenes().length; i++) {
-			if(Math.random() < crossoverRate) {
-			 crossoverChromosome.getGenes()[i] = chromosome1.getGenes()[i];
+		/*
+		 * the parents' genes are read directly, since getGenes() would make their fitness to be computed again
+		 * while other offspring may be reading it.
+		 */
+		for(int i=0; i< chromosome1.genes.length; i++) {
+			if(random.nextDouble() < crossoverRate) {
+			 crossoverChromosome.getGenes()[i] = chromosome1.genes[i];
 			 
 			 }
 		else {
-				 crossoverChromosome.getGenes()[i] = chromosome2.getGenes()[i];
+				 crossoverChromosome.getGenes()[i] = chromosome2.genes[i];
 			 }
 		}
 		crossoverChromosome.setHostlistAndVmlist(Host_List, Vm_List);
-		crossoverChromosome.makeVMServerMapDuringCrossoverAndMutation(crossoverChromosome.getGenes());
+		crossoverChromosome.makeVMServerMapDuringCrossoverAndMutation(crossoverChromosome.getGenes(), chromosome1);
 //		System.out.println("crossover chromosome....."+crossoverChromosome.getFitness());
 		return crossoverChromosome;
 	}
 	
-	ChromosomeWA mutateChromosomeInput;
-	public ChromosomeWA mutateChromosome(ChromosomeWA Chromosome) {
-		this.mutateChromosomeInput = Chromosome;
+	public ChromosomeWA mutateChromosome(ChromosomeWA Chromosome, SplittableRandom random) {
 	//	int[] genes;
 		ChromosomeWA mutateChromosome = new ChromosomeWA(CHROMOSOME_LENGTH);
 		/*	for(int i=0; i< chromosome.getGenes().length; i++) {
@@ -122,14 +153,18 @@ public class EvolutionWA {
 			 }
 		}*/
 		
+		/*
+		 * the parent's genes are read directly, since getGenes() would make its fitness to be computed again
+		 * while other offspring may be reading it.
+		 */
 		for(int i=0; i < Chromosome.genes.length; i++) {
-			mutateChromosome.getGenes()[i] = Chromosome.getGenes()[i];			
+			mutateChromosome.getGenes()[i] = Chromosome.genes[i];			
 		}
 		
-		for(int violatedServer : Chromosome.availabitlityViolatedServers) {
-			List<Integer> serverVms = Chromosome.serverwithVMList.get(violatedServer);		
-			int vm = serverVms.get(0);
-			int Host = generateAnotherRandomHost(Chromosome,violatedServer);	
+		for(int i=0; i < Chromosome.getViolatedServerCount(); i++) {
+			int violatedServer = Chromosome.getViolatedServer(i);
+			int vm = Chromosome.getServerVm(violatedServer, 0);
+			int Host = generateAnotherRandomHost(Chromosome,violatedServer,random);	
 			mutateChromosome.genes[vm] = Host;
 		}
 //		if(Chromosome.availabitlityViolatedServers.size() == 0) {
@@ -196,7 +231,7 @@ public class EvolutionWA {
 		
 		
 		mutateChromosome.setHostlistAndVmlist(Host_List, Vm_List);
-		mutateChromosome.makeVMServerMapDuringCrossoverAndMutation(mutateChromosome.getGenes());
+		mutateChromosome.makeVMServerMapDuringCrossoverAndMutation(mutateChromosome.getGenes(), Chromosome);
 		
 	//	while(mutateChromosome.ResourceAvailabilityViolation() != 0) {
 	//		mutateChromosome = new ChromosomeWA(CHROMOSOME_LENGTH);
@@ -227,14 +262,14 @@ public class EvolutionWA {
 		return mutateChromosome;
 	}
 	
-	private int generateAnotherRandomHost(ChromosomeWA ChromosomeWA, int IgnoreThisHost) {
-		int RandomHostForGene = ThreadLocalRandom.current().nextInt(0, ChromosomeWA.servers);				
+	private int generateAnotherRandomHost(ChromosomeWA ChromosomeWA, int IgnoreThisHost, SplittableRandom random) {
+		int RandomHostForGene = random.nextInt(ChromosomeWA.servers);				
 		/*if((IgnoreThisHost == RandomHostForGene) || 
 				(!chromosome.vmToServerMap.containsKey(RandomHostForGene))) {
 			GenerateRandomHostIgnoringParticularHost(chromosome,IgnoreThisHost);
 		}*/
 		while((IgnoreThisHost == RandomHostForGene)) {// || (!ChromosomeWA.vmToServerMap.containsKey(RandomHostForGene))) {
-			RandomHostForGene = ThreadLocalRandom.current().nextInt(0, ChromosomeWA.servers);
+			RandomHostForGene = random.nextInt(ChromosomeWA.servers);
 		}
 		
 		return RandomHostForGene;
@@ -276,36 +311,34 @@ public class EvolutionWA {
 	
 	/** 
 	 * @param PopulationWA
+	 * @param random the random number generator used to pick the chromosomes
 	 * @return
 	 */
-	public PopulationWA selectPopulation(PopulationWA PopulationWA){
+	public PopulationWA selectPopulation(PopulationWA PopulationWA, SplittableRandom random){
 		PopulationWA tournamentPopulation = new PopulationWA(TOURNAMENT_SELECTION_SIZE, CHROMOSOME_LENGTH);
 		for(int i=0; i < TOURNAMENT_SELECTION_SIZE; i++) {
-			tournamentPopulation.getChromosomes()[i] = PopulationWA.getChromosomes()[(int)(Math.random()*PopulationWA.getChromosomes().length)];
+			tournamentPopulation.getChromosomes()[i] = PopulationWA.getChromosomes()[random.nextInt(PopulationWA.getChromosomes().length)];
 		}
 		
 		tournamentPopulation.sortChromosomesByFitness();
 		return tournamentPopulation;
 	}
+
+	/**
+	 * Splits a random number generator for each chromosome of a population.
+	 * It's called before the chromosomes are processed in parallel,
+	 * so that each one gets the same generator no matter which thread processes it.
+	 * @param populationSize
+	 * @return
+	 */
+	private SplittableRandom[] splitRandom(int populationSize) {
+		SplittableRandom[] randoms = new SplittableRandom[populationSize];
+		for(int i=0; i < populationSize; i++) {
+			randoms[i] = random.split();
+		}
+		return randoms;
+	}
 	
-	 /**
-     * Set the (static) random generator.
-     *
-     * @param random random generator
-     */
-    public static synchronized void setRandomGenerator(final RandomGenerator random) {
-        randomGenerator = random;
-    }
-    
-    /**
-     * Returns the (static) random generator.
-     *
-     * @return the static random generator shared by GA implementation classes
-     */
-    public static synchronized RandomGenerator getRandomGenerator() {
-        return randomGenerator;
-    }
-    
     /**
 	 * Returns the crossover rate.
 	 * @return crossover rate
@@ -79,9 +79,7 @@ public class GlobalUtilizationComputation {
 				double RamUtilization = 0.0;
 				CpuUtilization = host.getCpuPercentUtilization();//.getCpuMipsUtilization();
 				double HostCapacity = host.getRam().getCapacity();	
-				for(Vm vm : host.getVmList()) {
-					RamUtilization += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.	
-				}
+				RamUtilization += host.getVmsRamUtilization();
 			//	RamUtilization = host.getRam().getPercentUtilization();
 				double RamutilizationPercentage = RamUtilization / HostCapacity;
 			//	HostUtilization = ((CpuUtilization + RamUtilization) / 2);
@@ -132,9 +130,7 @@ public class GlobalUtilizationComputation {
 			if(!host.getVmList().isEmpty()) {
 				double RamUtilization = 0;
 				double HostCapacity = host.getRam().getCapacity();	
-				for(Vm vm : host.getVmList()) {
-					RamUtilization += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.	
-				}
+				RamUtilization += host.getVmsRamUtilization();
 			//	RamUtilization = host.getRam().getPercentUtilization();
 				double RamutilizationPercentage = RamUtilization / HostCapacity;
 			
@@ -77,10 +77,7 @@ public class HostClassifierDAAS {
 	   double HostCapacity = host.getRam().getCapacity();
 	   double RamUtilisation = 0;// = host.getRamUtilization();
 	 //  double ramAllocated = 0;
-	   for(Vm vm: host.getVmList()) { 
-	//	   ramAllocated += vm.getRam().getCapacity();
-		   RamUtilisation += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.
-	   }
+	   RamUtilisation += host.getVmsRamUtilization();
 	   double RamUtilisationPercentage = RamUtilisation/HostCapacity;
 	   if((cpuUsagePercent == 100) || (RamUtilisationPercentage == 100)) {
 			System.out.println("Host CPU or ram has reached 100% utilization"+ host.getId());
@@ -128,10 +125,7 @@ public class HostClassifierDAAS {
     	double HostCapacity=host.getRam().getCapacity();
        	double RamUtilisation = 0;// = host.getRamUtilization();
  //      	double ramAllocated = 0;
-       		for(Vm vm: host.getVmList()) { 
-   //    			ramAllocated += vm.getRam().getCapacity();
-       			RamUtilisation += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.
-       		}
+       		RamUtilisation += host.getVmsRamUtilization();
        	double RamUtilisationPercentage = RamUtilisation/HostCapacity;
        	return ((CpuUtilisationPercentage < UnderUtilizationThreshold) || (RamUtilisationPercentage < UnderUtilizationThreshold));  
     }
@@ -109,14 +109,7 @@ public class HostClassifierWA {
  //  	double ramuilizationPercentage=0;
   // 	double HostRamUtil = 0;
    	double Vmallocated =0;
-	for(Vm vm : host.getVmList()) {
-	//	usedResources += vm.getCurrentRequestedRam(); // usedResources giving false values.even host with single vm ( vm with less than 40% of util) gets selected as overloaded.
-	//	ramuilizationPercentage = vm.getResource(Ram.class).getPercentUtilization();
-	//	HostRamUtil += vm.getHostRamUtilization();
-		Vmallocated += vm.getRam().getAllocatedResource();
-	//	usedResources += ( Vmallocated * (ramuilizationPercentage/100));
-	
-	}
+	Vmallocated += host.getVmsRamUtilization();
 //	double ramuti = host.getResource(Ram.class).getPercentUtilization();
 //	System.out.println("Allocated " + usedResources);
    	double RamUtilisationPercentage = Vmallocated / HostCapacity;
@@ -0,0 +1,116 @@
+/**
+ * 
+ */
+package centrlizedarchitecture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * An island of the initial placement GA: a population that evolves independently from the populations of other islands,
+ * just exchanging its best chromosomes with them from time to time (see {@link GADriverDaas#ISLANDS}).
+ * Different islands can evolve in parallel, since they don't share any chromosome.
+ */
+public class IslandDAAS {
+	private PopulationDAAS population;
+	private final EvolutionDAAS evolution;
+	private final int populationSize;
+	private final List<Host> hostList;
+	private final List<Vm> vmList;
+	/*
+	 * The best chromosome of each generation evolved, since the last time they were got.
+	 */
+	private final List<ChromosomeDAAS> bestChromosomes = new ArrayList<>();
+	private ChromosomeDAAS bestOfTheGeneration;
+
+	/**
+	 * Creates an island with an initial population.
+	 * @param populationSize
+	 * @param hostList
+	 * @param vmList
+	 */
+	public IslandDAAS(int populationSize, List<Host> hostList, List<Vm> vmList) {
+		this.populationSize = populationSize;
+		this.hostList = hostList;
+		this.vmList = vmList;
+		this.population = new PopulationDAAS(populationSize, vmList.size()).initializePopulation(hostList.size(), hostList, vmList);
+		this.evolution = new EvolutionDAAS(vmList.size());
+	}
+
+	/**
+	 * Evolves the population for a number of generations, keeping the best chromosome of each one.
+	 * @param generations
+	 */
+	public void evolve(int generations) {
+		for(int generation = 0; generation < generations; generation++) {
+			PopulationDAAS populationDAAS = evolution.evolve(population, hostList, vmList);
+			populationDAAS.sortChromosomesByFitness();
+			
+			 /* remove old population and add offspring to the new population. */
+			
+			this.population = new PopulationDAAS(populationSize, vmList.size());
+			for(int i=0; i < populationDAAS.getPopulationSize(); i++) {
+				population.chromosomeDAAS[i] = populationDAAS.chromosomeDAAS[i];
+			}
+			
+			 /* select best individual to place a given vm */
+			bestOfTheGeneration = new ChromosomeDAAS(vmList.size());
+			for(ChromosomeDAAS chromosome : populationDAAS.getChromosomes()) {
+				if((chromosome.SLA_VIOLATIONS_IN_CHROMOSOME == 0) && (chromosome.TotalNoOfMigrations == 0)
+						&& (chromosome.ACTIVE_SERVERS != 0)) {
+					bestOfTheGeneration = chromosome;
+					break;
+				}
+			}
+			bestChromosomes.add(bestOfTheGeneration);
+		}
+	}
+
+	/**
+	 * Gets the best chromosome of each generation evolved since the last call, in the order the generations were evolved.
+	 * @return
+	 */
+	public List<ChromosomeDAAS> removeBestChromosomes() {
+		List<ChromosomeDAAS> chromosomes = new ArrayList<>(bestChromosomes);
+		bestChromosomes.clear();
+		return chromosomes;
+	}
+
+	/**
+	 * Gets the best chromosome of the last generation evolved.
+	 * @return the first chromosome without SLA violations and migrations or, if there isn't any, an empty chromosome
+	 */
+	public ChromosomeDAAS getBestOfTheGeneration() {
+		return bestOfTheGeneration;
+	}
+
+	/**
+	 * Gets copies of the best chromosomes of the population, to be sent to another island.
+	 * @param count the number of chromosomes to get
+	 * @return
+	 */
+	public ChromosomeDAAS[] getEmigrants(int count) {
+		ChromosomeDAAS[] emigrants = new ChromosomeDAAS[Math.min(count, population.getPopulationSize())];
+		for(int i=0; i < emigrants.length; i++) {
+			emigrants[i] = population.getChromosomes()[i].copy();
+		}
+		return emigrants;
+	}
+
+	/**
+	 * Replaces the worst chromosomes of the population by chromosomes from another island.
+	 * The fittest chromosome, kept by elitism, is never replaced.
+	 * @param immigrants
+	 */
+	public void immigrate(ChromosomeDAAS[] immigrants) {
+		ChromosomeDAAS[] chromosomes = population.getChromosomes();
+		int count = Math.min(immigrants.length, chromosomes.length - 1);
+		for(int i=0; i < count; i++) {
+			chromosomes[chromosomes.length - 1 - i] = immigrants[i];
+		}
+		population.sortChromosomesByFitness();
+	}
+}
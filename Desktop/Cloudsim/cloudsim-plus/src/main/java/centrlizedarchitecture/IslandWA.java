@@ -0,0 +1,119 @@
+/**
+ * 
+ */
+package centrlizedarchitecture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * An island of the initial placement GA: a population that evolves independently from the populations of other islands,
+ * just exchanging its best chromosomes with them from time to time (see {@link GADriverWA#ISLANDS}).
+ * Different islands can evolve in parallel, since they don't share any chromosome.
+ */
+public class IslandWA {
+	private final PopulationWA population;
+	private final EvolutionWA evolution;
+	private final List<Host> hostList;
+	private final List<Vm> vmList;
+	/*
+	 * The best chromosome without resource availability violations of each generation evolved,
+	 * since the last time they were got.
+	 */
+	private final List<ChromosomeWA> bestChromosomes = new ArrayList<>();
+	/*
+	 * The best chromosome without resource availability violations of the last generation evolved, or null if there isn't any.
+	 */
+	private ChromosomeWA bestOfTheGeneration;
+
+	/**
+	 * Creates an island with an initial population.
+	 * @param populationSize
+	 * @param hostList
+	 * @param vmList
+	 * @param random the random number generator used only by this island
+	 */
+	public IslandWA(int populationSize, List<Host> hostList, List<Vm> vmList, SplittableRandom random) {
+		this.hostList = hostList;
+		this.vmList = vmList;
+		this.population = new PopulationWA(populationSize, vmList.size()).initializePopulation(hostList.size(), hostList, vmList, random);
+		this.evolution = new EvolutionWA(vmList.size(), random);
+	}
+
+	/**
+	 * Evolves the population for a number of generations, keeping the best chromosome of each one.
+	 * @param generations
+	 */
+	public void evolve(int generations) {
+		for(int generation = 0; generation < generations; generation++) {
+			PopulationWA PopulationWA = evolution.evolve(population, hostList, vmList);
+			PopulationWA.sortChromosomesByFitness();
+			
+			/*
+			 * remove old population and add offspring to the new population.
+			 */
+			for(int i=0; i < PopulationWA.getPopulationSize(); i++) {
+				population.ChromosomeWA[i] = PopulationWA.ChromosomeWA[i];
+			}
+			
+			bestOfTheGeneration = null;
+			for(ChromosomeWA chromosome : PopulationWA.getChromosomes()) {
+				if((chromosome.resource_Availability_Violation == 0) && (chromosome.ACTIVE_SERVERS > 0)) {
+					bestOfTheGeneration = chromosome;
+					bestChromosomes.add(chromosome);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the best chromosome of each generation evolved since the last call, in the order the generations were evolved.
+	 * Only generations having a chromosome without resource availability violations are considered.
+	 * @return
+	 */
+	public List<ChromosomeWA> removeBestChromosomes() {
+		List<ChromosomeWA> chromosomes = new ArrayList<>(bestChromosomes);
+		bestChromosomes.clear();
+		return chromosomes;
+	}
+
+	/**
+	 * Gets the best chromosome without resource availability violations of the last generation evolved.
+	 * @return the chromosome or null if there isn't any
+	 */
+	public ChromosomeWA getBestOfTheGeneration() {
+		return bestOfTheGeneration;
+	}
+
+	/**
+	 * Gets copies of the best chromosomes of the population, to be sent to another island.
+	 * @param count the number of chromosomes to get
+	 * @return
+	 */
+	public ChromosomeWA[] getEmigrants(int count) {
+		ChromosomeWA[] emigrants = new ChromosomeWA[Math.min(count, population.getPopulationSize())];
+		for(int i=0; i < emigrants.length; i++) {
+			emigrants[i] = population.getChromosomes()[i].copy();
+		}
+		return emigrants;
+	}
+
+	/**
+	 * Replaces the worst chromosomes of the population by chromosomes from another island.
+	 * The elite chromosomes are never replaced.
+	 * @param immigrants
+	 */
+	public void immigrate(ChromosomeWA[] immigrants) {
+		ChromosomeWA[] chromosomes = population.getChromosomes();
+		int count = Math.min(immigrants.length, chromosomes.length - evolution.ELITE_CHROMOSOMES);
+		for(int i=0; i < count; i++) {
+			chromosomes[chromosomes.length - 1 - i] = immigrants[i];
+		}
+		population.sortChromosomesByFitness();
+	}
+}
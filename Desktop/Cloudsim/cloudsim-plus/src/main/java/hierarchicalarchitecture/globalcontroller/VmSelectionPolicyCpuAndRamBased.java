@@ -3,6 +3,7 @@
  */
 package hierarchicalarchitecture.globalcontroller;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
@@ -14,7 +15,7 @@ import org.cloudbus.cloudsim.vms.Vm;
  * @author Shyam Sundar V
  *
  */
-public class VmSelectionPolicyCpuAndRamBased implements VmSelectionPolicy{
+public class VmSelectionPolicyCpuAndRamBased implements VmSelectionPolicy, Serializable{
 	@Override
 	public Vm getVmToMigrate(final Host host) {
 		final List<Vm> migratableVms = host.getMigratableVms();
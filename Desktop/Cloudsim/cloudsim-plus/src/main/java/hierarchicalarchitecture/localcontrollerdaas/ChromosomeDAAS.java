@@ -10,8 +10,6 @@ import java.util.List;
 import java.util.Map;
 
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -38,22 +36,31 @@ public class ChromosomeDAAS {
 	public int VMS;
 	public int SLA_VIOLATIONS_IN_CHROMOSOME = 0;
 	public double datacenterActivePower = 0;
-	public Map<Integer, Integer> serverVmallocation;
-	public Map<Integer, Integer> vmToServerMap = new HashMap<Integer, Integer>();
-	public Map<Integer, ArrayList<Integer>> serverwithVMList = new HashMap<Integer, ArrayList<Integer>>();
 
 	/*
-	 * for each server map it's id as a key and it's utilization as a value.
+	 * VMs placed in each server, grouped by server index: the VMs of a server are stored in
+	 * serverVms from serverVmStart[server] (inclusive) to serverVmStart[server+1] (exclusive), ordered by VM index.
+	 * The arrays are reused every time the genes are mapped again.
 	 */
-	Map<Integer, Double> serverUtil = new HashMap<Integer, Double>();
+	int[] serverVmStart = new int[1];
+	int[] serverVms = new int[0];
+
+	/*
+	 * for each server index store it's utilization and powerConsumption (only valid for active servers).
+	 */
+	double[] serverUtil = new double[0];
+	double[] serverPower = new double[0];
 	/*
-	 * for each server map it's id as a key and it's powerConsumption as a value.
+	 * for each server index store the total CPU (MIPS) and RAM capacity of the placed VMs.
 	 */
-	Map<Integer, Double> serverPower = new HashMap<Integer, Double>();
+	double[] serverCpuLoad = new double[0];
+	double[] serverRamLoad = new double[0];
 	
-	double vmsCpuUtil = 0;
-	double vmsRAMUtil = 0;
-	double serverCPUUtil = 0;
+	/*
+	 * servers whose resources are not enough for the placed VMs, the first violatedServerCount entries are valid.
+	 */
+	int[] violatedServers = new int[0];
+	int violatedServerCount;
 	int randomInt;
 	private boolean atleastOneVmisCreated = false;
 	private List<Host> Host_List = new ArrayList<>();
@@ -141,43 +148,97 @@ public class ChromosomeDAAS {
 	}
 	
 	/**
-	 * Method to make maps between VMs and Servers
-	 * 1.vmToServerMap -> key: vmId; value: serverId.
-	 * 2.serverVmAllocation -> key: server; value: numberOfVms
-	 * 3.serverwithVMList -> key: server; value: placed VM list
+	 * Method to group the VMs by the server they are placed in, according to the genes.
+	 * The placement is stored in primitive arrays (see serverVmStart and serverVms)
+	 * which are reused across evaluations, so that no map or list is created per chromosome.
+	 * The maps between VMs and Servers are just built on request, by
+	 * {@link #getVmToServerMap()} and {@link #getServersWithVmList()}.
 	 * @param genes
 	 */
 	public void makeVMServerMap(int[] genes) {
+		groupVmsByServer(genes);
+		serverUtilizationAndPower();
+	}
 	
-		vmToServerMap = IntStream.range(0, genes.length).boxed().
-				collect(Collectors.toMap(key -> key, value -> genes[value]));
-	
-		serverVmallocation = Arrays.stream(genes).boxed().collect(Collectors.groupingBy(e -> e,
-				Collectors.reducing(0, e -> 1, Integer::sum)));
-				
-		serverwithVMList = new HashMap<>(vmToServerMap.entrySet().stream()
-				.collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-				.collect(Collectors.toMap(item -> item.get(0).getValue(),
-						item -> new ArrayList<Integer>(item.stream().map(Map.Entry::getKey).collect(Collectors.toList())))));
-			
-			serverUtilizationAndPower(serverwithVMList);
+	public void makeVMServerMapDuringCrossoverAndMutation(int[] genes) {
+		groupVmsByServer(genes);
+		serverUtilizationAndPower();
+	}
+
+	/**
+	 * Creates a copy of this chromosome, with the same genes and evaluation,
+	 * which can be changed and evaluated independently.
+	 * @return the new chromosome
+	 */
+	public ChromosomeDAAS copy() {
+		ChromosomeDAAS copy = new ChromosomeDAAS(genes.length);
+		System.arraycopy(genes, 0, copy.genes, 0, genes.length);
+		copy.setHostlistAndVmlist(Host_List, VM_List);
+		copy.atleastOneVmisCreated = atleastOneVmisCreated;
+		copy.makeVMServerMapDuringCrossoverAndMutation(copy.genes);
+		copy.Host = Host;
+		copy.TotalNoOfMigrations = TotalNoOfMigrations;
+		copy.fitness = fitness;
+		copy.isFitnessChanged = isFitnessChanged;
+		return copy;
 	}
 	
 	/**
+	 * Sorts the VM indexes by server index (counting sort), filling serverVmStart and serverVms.
 	 * @param genes
 	 */
-	public void makeVMServerMapDuringCrossoverAndMutation(int[] genes) {
+	private void groupVmsByServer(int[] genes) {
+		int serverCount = this.Host_List.size();
+		if(serverVmStart.length != serverCount + 1) {
+			serverVmStart = new int[serverCount + 1];
+			serverUtil = new double[serverCount];
+			serverPower = new double[serverCount];
+			serverCpuLoad = new double[serverCount];
+			serverRamLoad = new double[serverCount];
+			violatedServers = new int[serverCount];
+		} else {
+			Arrays.fill(serverVmStart, 0);
+		}
+		if(serverVms.length != genes.length) {
+			serverVms = new int[genes.length];
+		}
 		
-		vmToServerMap = IntStream.range(0, genes.length).boxed().collect(Collectors.toMap(key -> key, value -> genes[value]));
+		for(int vm = 0; vm < genes.length; vm++) {
+			serverVmStart[genes[vm] + 1]++;
+		}
+		for(int server = 0; server < serverCount; server++) {
+			serverVmStart[server + 1] += serverVmStart[server];
+		}
+		/*
+		 * serverVmStart[server] is used as the next free position of the server while the VMs are placed,
+		 * so it ends up holding the start of the next server and is shifted back afterwards.
+		 */
+		for(int vm = 0; vm < genes.length; vm++) {
+			serverVms[serverVmStart[genes[vm]]++] = vm;
+		}
+		for(int server = serverCount - 1; server > 0; server--) {
+			serverVmStart[server] = serverVmStart[server - 1];
+		}
+		serverVmStart[0] = 0;
+	}
 		
-		serverVmallocation = Arrays.stream(genes).boxed().collect(Collectors.groupingBy(e -> e,
-					Collectors.reducing(0, e -> 1, Integer::sum)));
-	
-		serverwithVMList = new HashMap<>(vmToServerMap.entrySet().stream().collect(Collectors.groupingBy(Map.Entry::getValue)).values().stream()
-											.collect(Collectors.toMap(item -> item.get(0).getValue(),
-													item -> new ArrayList<Integer>(item.stream().map(Map.Entry::getKey).collect(Collectors.toList())))));
+	/**
+	 * Gets the number of VMs placed in a server.
+	 * @param server the server index
+	 * @return
+	 */
+	public int getServerVmCount(int server) {
+		return serverVmStart[server + 1] - serverVmStart[server];
+	}
 	
-		serverUtilizationAndPower(serverwithVMList);
+	/**
+	 * Gets a VM placed in a server.
+	 * @param server the server index
+	 * @param index the position of the VM in the server, from 0 to {@link #getServerVmCount(int)} - 1
+	 * @return the VM index
+	 */
+	public int getServerVm(int server, int index) {
+		return serverVms[serverVmStart[server] + index];
 	}
 	
 	/**
@@ -191,41 +252,41 @@ public class ChromosomeDAAS {
 		this.VM_List=vmList;
 	}
 	
-	
 	/**
 	 * method to calculate utilization and power consumption for heterogeneous servers and 
 	 * vms.   
-	 * @param vmsOnServers
 	 */
-	public void serverUtilizationAndPower(Map<Integer, ArrayList<Integer>>  vmsOnServers) {
+	public void serverUtilizationAndPower() {
 		SLA_VIOLATIONS_UpperThreshold = 0;
 
-		vmsOnServers.forEach((server,vmList) -> {
+		for(int server = 0; server < serverUtil.length; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
 	
 			double serverRam = this.Host_List.get(server).getRam().getCapacity();
 			double serverCPU = this.Host_List.get(server).getTotalMipsCapacity();
 		
-			 vmsCpuUtil = 0;
-			 vmsRAMUtil = 0;
-		vmList.forEach(vm -> {
-			vmsCpuUtil += this.VM_List.get(vm).getCurrentRequestedTotalMips(); //Vm cpu total capacity
-			vmsRAMUtil += this.VM_List.get(vm).getRam().getAllocatedResource(); //vm ram total capacity
-		});
-		serverCPUUtil = vmsCpuUtil / serverCPU;
-		double serverRamUtil = 0;
-		serverRamUtil = (vmsRAMUtil/serverRam);
-		double UpperUtilizationThreshold = GlobalController.HostUpperUtilizationThresholdDAAS;
+			double vmsCpuUtil = 0;
+			double vmsRAMUtil = 0;
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				Vm vm = this.VM_List.get(serverVms[i]);
+				vmsCpuUtil += vm.getCurrentRequestedTotalMips(); //Vm cpu total capacity
+				vmsRAMUtil += vm.getRam().getAllocatedResource(); //vm ram total capacity
+			}
+			double serverCPUUtil = vmsCpuUtil / serverCPU;
+			double serverRamUtil = 0;
+			serverRamUtil = (vmsRAMUtil/serverRam);
+			double UpperUtilizationThreshold = GlobalController.HostUpperUtilizationThresholdDAAS;
 	
-		if ((serverCPUUtil > UpperUtilizationThreshold) || (serverRamUtil > UpperUtilizationThreshold)) {
-			SLA_VIOLATIONS_UpperThreshold += 1;
-		}
+			if ((serverCPUUtil > UpperUtilizationThreshold) || (serverRamUtil > UpperUtilizationThreshold)) {
+				SLA_VIOLATIONS_UpperThreshold += 1;
+			}
 		
-		serverUtil.put(server, serverCPUUtil);
-		});
+			serverUtil[server] = serverCPUUtil;
 		
-		serverUtil.forEach((server, util) -> {
+			double util = serverCPUUtil;
 			double serverPowerConsump = 0;
-		
 			if(util > 1) {//------------> When the requested resources by all the vms go beyond the capacity of the host then this util variable goes beyond 1.
 				util = 1.0;
 				serverPowerConsump = this.Host_List.get(server).getPowerModel().getPower(util)+50;
@@ -235,27 +296,28 @@ public class ChromosomeDAAS {
 			} else {
 				serverPowerConsump = this.Host_List.get(server).getPowerModel().getPower(util);
 			}
-			serverPower.put(server, serverPowerConsump);
-		});
+			serverPower[server] = serverPowerConsump;
+		}
 	
-		datacenterPowerConsumption(serverPower);//---->
+		datacenterPowerConsumption();//---->
 		slaViolations();		
 	}
 	
-	/**
-	 * @param serverPower
-	 */
-	public void datacenterPowerConsumption(Map<Integer, Double> serverPower) {
+	public void datacenterPowerConsumption() {
 		this.SERVERS=this.Host_List.size();
 		dcMaxPower = 0 ;
 		DC_POWER = 0;
+		ACTIVE_SERVERS = 0;
 		
-		serverPower.forEach((server, power) -> {	
+		for(int server = 0; server < serverPower.length; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
 			dcMaxPower += this.Host_List.get(server).getPowerModel().getMaxPower();
-			DC_POWER += power;	
-		});
+			DC_POWER += serverPower[server];
+			ACTIVE_SERVERS++;
+		}
 		
-		ACTIVE_SERVERS = serverPower.keySet().size();
 		normalizeDataCenterPower(DC_POWER, dcMaxPower, ACTIVE_SERVERS);
 	}
 	
@@ -282,23 +344,22 @@ public class ChromosomeDAAS {
 	 * @param serverUtil
 	 * @return
 	 */
-	double AllvmsCpuCapacityRequirement = 0;
-	double AllvmsRAMCapacityRequirement = 0;
-	private Map<Integer, Boolean> ServerViolationMap;
-	public List<Integer> availabitlityViolatedServers;
 	public double slaViolations() {	
 		SLA_VIOLATIONS_IN_CHROMOSOME = 0;
 		VmResourceAvailabilityViolation = 0;
-		availabitlityViolatedServers = new ArrayList<Integer>();
-		ServerViolationMap = new HashMap<Integer,Boolean>();
-		serverwithVMList.forEach((Server, Vmlist) -> {
-			AllvmsCpuCapacityRequirement = 0;
-			AllvmsRAMCapacityRequirement = 0;
-			double serverRamCapacity = this.Host_List.get(Server).getRam().getCapacity();
-			double serverCPUCapacity = this.Host_List.get(Server).getTotalMipsCapacity();
-			double serverSingleCoreMips = this.Host_List.get(Server).getMips();
-			Vmlist.forEach(vm -> {
-				Vm vm1=this.VM_List.get(vm);
+		violatedServerCount = 0;
+		for(int server = 0; server < serverCpuLoad.length; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
+			double AllvmsCpuCapacityRequirement = 0;
+			double AllvmsRAMCapacityRequirement = 0;
+			double serverRamCapacity = this.Host_List.get(server).getRam().getCapacity();
+			double serverCPUCapacity = this.Host_List.get(server).getTotalMipsCapacity();
+			double serverSingleCoreMips = this.Host_List.get(server).getMips();
+
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				Vm vm1=this.VM_List.get(serverVms[i]);
 				if(vm1.isCreated()) {
 					atleastOneVmisCreated = true;	
 				}
@@ -310,29 +371,84 @@ public class ChromosomeDAAS {
 				if ((serverSingleCoreMips < vmsCpuSinglecoreMipsRequirement)) {
 					VmResourceAvailabilityViolation += 1;// this does not have any effect for DaaS
 				}
-			});
+			}
+			serverCpuLoad[server] = AllvmsCpuCapacityRequirement;
+			serverRamLoad[server] = AllvmsRAMCapacityRequirement;
 			if ((serverRamCapacity < (AllvmsRAMCapacityRequirement)) || (serverCPUCapacity < AllvmsCpuCapacityRequirement)) {
 				SLA_VIOLATIONS_IN_CHROMOSOME += 1;
-				ServerViolationMap.put(Server, true);
-				availabitlityViolatedServers.add(Server);
-			}else {
-				ServerViolationMap.put(Server, false);
+				violatedServers[violatedServerCount++] = server;
 			}
-		});
+		}
 		
 		return SLA_VIOLATIONS_IN_CHROMOSOME;
 	}
+
+	/**
+	 * Gets the number of servers whose resources are not enough for the placed VMs.
+	 * @return
+	 */
+	public int getViolatedServerCount() {
+		return violatedServerCount;
+	}
+
+	/**
+	 * Gets a server whose resources are not enough for the placed VMs, in ascending order of server index.
+	 * @param index the position of the server, from 0 to {@link #getViolatedServerCount()} - 1
+	 * @return the server index
+	 */
+	public int getViolatedServer(int index) {
+		return violatedServers[index];
+	}
+
+	/**
+	 * Checks if the resources of a server are not enough for the placed VMs.
+	 * @param server the server index
+	 * @return
+	 */
+	public boolean isAvailabilityViolated(int server) {
+		for(int i = 0; i < violatedServerCount; i++) {
+			if(violatedServers[i] == server) {
+				return true;
+			}
+		}
+		return false;
+	}
 	
 	public int[] getGenes() {
 		isFitnessChanged = true;
 		return genes;
 	}
 	
+	/**
+	 * Builds a map where each key is a VM index and each value is the server index where it's placed.
+	 * @return a new map
+	 */
 	public Map<Integer, Integer> getVmToServerMap(){
+		Map<Integer, Integer> vmToServerMap = new HashMap<Integer, Integer>();
+		for(int server = 0; server < serverUtil.length; server++) {
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				vmToServerMap.put(serverVms[i], server);
+			}
+		}
 		return vmToServerMap;
 	}
 	
+	/**
+	 * Builds a map where each key is an active server index and each value is the list of VMs placed in it.
+	 * @return a new map
+	 */
 	public  Map<Integer, ArrayList<Integer>> getServersWithVmList(){
+		Map<Integer, ArrayList<Integer>> serverwithVMList = new HashMap<Integer, ArrayList<Integer>>();
+		for(int server = 0; server < serverUtil.length; server++) {
+			if(getServerVmCount(server) == 0) {
+				continue;
+			}
+			ArrayList<Integer> vmList = new ArrayList<Integer>(getServerVmCount(server));
+			for(int i = serverVmStart[server]; i < serverVmStart[server + 1]; i++) {
+				vmList.add(serverVms[i]);
+			}
+			serverwithVMList.put(server, vmList);
+		}
 		return serverwithVMList;
 	}
 	
@@ -361,16 +477,14 @@ public class ChromosomeDAAS {
 		}else {
 			vmlist = GADriverDaas.vmListDAAS;
 		}
-		vmlist.forEach((Vm) -> {
-			if(Vm.isCreated()) {
-				Here:
-				for(final Map.Entry<Long, Long> entryDaas : SourceMap.entrySet()){
-					if(Vm.getId() == entryDaas.getKey()) {
-						Host = entryDaas.getValue().intValue();	
-						break Here;
-					}
+		for(int i = 0; i < vmlist.size(); i++) {
+			Vm vm = vmlist.get(i);
+			if(vm.isCreated()) {
+				Long sourceHost = SourceMap.get(vm.getId());
+				if(sourceHost != null) {
+					Host = sourceHost.intValue();
 				}
-				if(!(genes[vmlist.indexOf(Vm)] == Host)) {
+				if(!(genes[i] == Host)) {
 					/*
 					 * Check if the source host and the destination (randomly selected new) host are
 					 * same. If they are same, that indicate that no migrations will be necessary. When they
@@ -379,7 +493,7 @@ public class ChromosomeDAAS {
 					TotalNoOfMigrations += 1;
 				}
 			}
-		});
+		}
 		return TotalNoOfMigrations;
 	}
 	
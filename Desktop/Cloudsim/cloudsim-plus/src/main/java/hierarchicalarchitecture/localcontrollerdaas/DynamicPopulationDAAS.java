@@ -1,5 +1,6 @@
 package hierarchicalarchitecture.localcontrollerdaas;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -13,7 +14,7 @@ import java.util.stream.IntStream;
  * 
  * @author Shyam Sundar V
  */
-public class DynamicPopulationDAAS {
+public class DynamicPopulationDAAS implements Serializable {
 
 	public ArrayList<DynamicChromosomeDAAS> chromosomes;	
 	Map<DynamicChromosomeDAAS, Double> chromosomewithFitness = new HashMap<DynamicChromosomeDAAS,Double>();
@@ -28,6 +29,22 @@ public class DynamicPopulationDAAS {
 		return this;
 	}
 	
+	/**
+	 * Initializes the population from the one of the previous scheduling interval (warm start).
+	 * The first chromosome keeps the source allocation, as in {@link #intialize(int)},
+	 * and each other one is repaired from a chromosome of the previous population, in order of fitness.
+	 * @param populationSize
+	 * @param previousPopulation the last population of the previous scheduling interval
+	 * @return
+	 */
+	public DynamicPopulationDAAS intialize(int populationSize, DynamicPopulationDAAS previousPopulation) {
+		IntStream.range(0, populationSize).forEach(i -> {
+			DynamicChromosomeDAAS previous = (i >= 1 && i <= previousPopulation.chromosomes.size()) ? previousPopulation.chromosomes.get(i - 1) : null;
+			chromosomes.add(i, new DynamicChromosomeDAAS().initialize(i, previous));
+		});
+		return this;
+	}
+	
 	public ArrayList<DynamicChromosomeDAAS> getChromosomes() {
 		return chromosomes;
 	}
@@ -128,10 +128,11 @@ public class EvolutionDAAS {
 				}
 			}
 		}else {
-			for(int violatedServer : Chromosome.availabitlityViolatedServers) {
+			for(int i = 0; i < Chromosome.getViolatedServerCount(); i++) {
+				int violatedServer = Chromosome.getViolatedServer(i);
 				mutateChromosome = Chromosome;
-				  List<Integer> serverVms = Chromosome.serverwithVMList.get(violatedServer);
-				  for(Integer VMs : serverVms) {
+				  for(int j = 0; j < Chromosome.getServerVmCount(violatedServer); j++) {
+					  int VMs = Chromosome.getServerVm(violatedServer, j);
 					  if(!Vm_List.get(VMs).isCreated()) {
 						  int Host = generateRandomHostIgnoringSelectedHost(Chromosome,violatedServer);
 						  mutateChromosome.genes[VMs] = Host;
@@ -167,8 +168,8 @@ public class EvolutionDAAS {
 	private int generateRandomHostIgnoringSelectedHost(ChromosomeDAAS chromosomeDAAS, int IgnoreThisHost) {
 		int RandomHostForGene = ThreadLocalRandom.current().nextInt(0, chromosomeDAAS.SERVERS);				
 
-		if(!(chromosomeDAAS.vmToServerMap.keySet().size() == 1)) {
-			while((IgnoreThisHost == RandomHostForGene) && chromosomeDAAS.availabitlityViolatedServers.contains(RandomHostForGene)) {
+		if(!(chromosomeDAAS.genes.length == 1)) {
+			while((IgnoreThisHost == RandomHostForGene) && chromosomeDAAS.isAvailabilityViolated(RandomHostForGene)) {
 				RandomHostForGene = ThreadLocalRandom.current().nextInt(0, chromosomeDAAS.SERVERS);
 			}
 		}else {
@@ -1,12 +1,15 @@
 package hierarchicalarchitecture.localcontrollerdaas;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
 import java.util.stream.IntStream;
 
+import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -26,6 +29,21 @@ public class GADriverDaas {
 	 
 	private static int POPULATION_SIZE = 25;
 	public static int GENERATIONS = 60;
+	/*
+	 * Island model: ISLANDS populations of POPULATION_SIZE chromosomes evolve independently on separate threads.
+	 * Every MIGRATION_INTERVAL generations, copies of the MIGRANTS best chromosomes of each island replace the worst
+	 * chromosomes of the next island (ring topology) or, if RANDOM_MIGRATION is set, of a random island.
+	 * The best chromosomes found by all islands are merged. With a single island, there is just one population.
+	 */
+	public static int ISLANDS = 1;
+	public static int MIGRATION_INTERVAL = 10;
+	public static int MIGRANTS = 1;
+	public static boolean RANDOM_MIGRATION = false;
+	/*
+	 * Seed of the random numbers used to choose the islands receiving migrants when RANDOM_MIGRATION is set,
+	 * so that the same seed gives the same migrations.
+	 */
+	public static long SEED = System.nanoTime();
 	
 	 /* Map to be used in simulation for initial allocation */
 	
@@ -39,6 +57,18 @@ public class GADriverDaas {
 	public static Map<Long, Long> dynamicVmHostMap = new HashMap<Long, Long>();
 	private static int Dynamic_POPULATION_SIZE = 10;
 	private static int Dynamic_GENERATIONS = 50;
+	/*
+	 * Warm start: the last population of the dynamic GA is kept between scheduling intervals and seeds
+	 * the population of the next one, which then evolves just Dynamic_WARM_START_GENERATIONS generations,
+	 * since placements change little between consecutive intervals (0 disables the warm start).
+	 */
+	private static int Dynamic_WARM_START_GENERATIONS = 15;
+	private static DynamicPopulationDAAS previousDynamicPopulation;
+	/*
+	 * The simulation the previous population was evolved in. A population from another simulation
+	 * (such as a previous run of a parameter sweep or the one a snapshot was restored from) is not reused.
+	 */
+	private static Simulation previousDynamicSimulation;
 	
 	public static List<Long> sourcevmList;
 	public static List<Long> sourcehostList;
@@ -53,7 +83,6 @@ public class GADriverDaas {
 	public static List<Host> hostListDAAS;
 	public static List<Vm> vmListDAAS;
 	DynamicPopulationDAAS initialPopulation;
-	PopulationDAAS generatePopulation;
 	public static int hostlist_Size;
 	public static int vmlist_Size;
 	DynamicPopulationDAAS bestPopulation = new DynamicPopulationDAAS(Dynamic_GENERATIONS); 	
@@ -66,36 +95,42 @@ public class GADriverDaas {
 		hostlist_Size = hostListDaas.size();
 		List<Vm> VM_List = GlobalController.InitialvmListDaas;
 		vmlist_Size = VM_List.size();
-		generatePopulation = new PopulationDAAS(POPULATION_SIZE,VM_List.size()).initializePopulation(hostListDaas.size(), hostListDaas ,VM_List);		
-		EvolutionDAAS gen = new EvolutionDAAS(VM_List.size());
+		IslandDAAS[] islands = new IslandDAAS[ISLANDS];
+		IntStream.range(0, ISLANDS).parallel().forEach(i ->
+			islands[i] = new IslandDAAS(POPULATION_SIZE, hostListDaas, VM_List));
 
+		/*
+		 * Islands evolve MIGRATION_INTERVAL generations between migrations.
+		 * A single island evolves one generation at a time, so that the number of generations is checked after each one.
+		 */
+		SplittableRandom random = new SplittableRandom(SEED);
+		int interval = ISLANDS > 1 ? MIGRATION_INTERVAL : 1;
 		int generationNumber = 0;
 		while(generationNumber <= GENERATIONS) {
-			generationNumber++;
-			PopulationDAAS populationDAAS = gen.evolve(generatePopulation,hostListDaas,VM_List);
-			populationDAAS.sortChromosomesByFitness();
+			int generations = Math.min(interval, GENERATIONS + 1 - generationNumber);
+			Arrays.stream(islands).parallel().forEach(island -> island.evolve(generations));
+			generationNumber += generations;
 				
-			/* remove old population and add offspring to the new population. */
-			
-			this.generatePopulation = new PopulationDAAS(POPULATION_SIZE,VM_List.size());
-			for(int i=0; i < populationDAAS.getPopulationSize(); i++) {
-				generatePopulation.chromosomeDAAS[i] = populationDAAS.chromosomeDAAS[i];	
-			}
-				
-			/* select best individual to place a given vm */
-			for(int i=0; i<populationDAAS.getChromosomes().length;i++) {
-				if((populationDAAS.getChromosomes()[i].SLA_VIOLATIONS_IN_CHROMOSOME == 0) && (populationDAAS.getChromosomes()[i].TotalNoOfMigrations == 0)
-					&& (populationDAAS.getChromosomes()[i].ACTIVE_SERVERS != 0)) {
-					bestFinalDaas = populationDAAS.getChromosomes()[i];
-					break;
+			/* merge the best chromosomes of the islands */
+			ChromosomeDAAS bestOfTheIslands = null;
+			for(IslandDAAS island : islands) {
+				for(ChromosomeDAAS chromosome : island.removeBestChromosomes()) {
+					bestOfTheBestDaas.put(chromosome.getFitness(), chromosome);
+				}
+				ChromosomeDAAS bestOfTheIsland = island.getBestOfTheGeneration();
+				if(bestOfTheIsland != null && (bestOfTheIslands == null || bestOfTheIsland.getFitness() < bestOfTheIslands.getFitness())) {
+					bestOfTheIslands = bestOfTheIsland;
 				}
 			}
-			if(bestFinalDaas != null) {
-				bestOfTheBestDaas.put(bestFinalDaas.getFitness(), bestFinalDaas);			
+			if(bestOfTheIslands != null) {
+				bestFinalDaas = bestOfTheIslands;
 			}
-			if((bestOfTheBestDaas.isEmpty()) && (GENERATIONS == generationNumber)) {
+			if((bestOfTheBestDaas.isEmpty()) && (generationNumber >= GENERATIONS)) {
 				GENERATIONS += 15;
 			}
+			if(islands.length > 1 && generationNumber <= GENERATIONS) {
+				migrate(islands, random);
+			}
 		}
 		vmToHostMapDaas = bestOfTheBestDaas.values().stream().findFirst().get().getVmToServerMap();
 		serverVmsmapDaas = bestOfTheBestDaas.values().stream().findFirst().get().getServersWithVmList();
@@ -116,6 +151,39 @@ public class GADriverDaas {
 	public	Map<Integer, Integer> getvmToHostMapDaas(){
 		return vmToHostMapDaas;
 	}
+
+	/**
+	 * Sends copies of the best chromosomes of each island to the next island
+	 * or, if {@link #RANDOM_MIGRATION} is set, to a random one.
+	 * @param islands
+	 * @param random the random number generator used to choose the islands
+	 */
+	private void migrate(IslandDAAS[] islands, SplittableRandom random) {
+		/*
+		 * all emigrants are copied before any island receives immigrants
+		 */
+		ChromosomeDAAS[][] emigrants = new ChromosomeDAAS[islands.length][];
+		for(int i=0; i < islands.length; i++) {
+			emigrants[i] = islands[i].getEmigrants(MIGRANTS);
+		}
+		for(int i=0; i < islands.length; i++) {
+			int target = (i + 1) % islands.length;
+			if(RANDOM_MIGRATION) {
+				target = (i + 1 + random.nextInt(islands.length - 1)) % islands.length;
+			}
+			islands[target].immigrate(emigrants[i]);
+		}
+	}
+	
+	/**
+	 * Discards the population kept for the warm start of the dynamic GA,
+	 * so that the next call evolves a new population for the full number of generations.
+	 * It must be called before running a new simulation in the same JVM.
+	 */
+	public static void resetWarmStart() {
+		previousDynamicPopulation = null;
+		previousDynamicSimulation = null;
+	}
 	
 	/**
 	  * Constructor for Dynamic VM Allocation
@@ -132,10 +200,22 @@ public class GADriverDaas {
 		hostListDAAS = hostList;
 		vmListDAAS = vmList;
 		DynamicEvolutionDAAS gen = new DynamicEvolutionDAAS();
-		initialPopulation = new DynamicPopulationDAAS(Dynamic_POPULATION_SIZE).intialize(Dynamic_POPULATION_SIZE);
+		Simulation simulation = hostList.isEmpty() ? Simulation.NULL : hostList.get(0).getSimulation();
+		if(simulation != previousDynamicSimulation) {
+			resetWarmStart();
+			previousDynamicSimulation = simulation;
+		}
+		/* seed the population with the one of the previous scheduling interval, if there is one */
+		boolean warmStart = previousDynamicPopulation != null && Dynamic_WARM_START_GENERATIONS > 0;
+		if(warmStart) {
+			initialPopulation = new DynamicPopulationDAAS(Dynamic_POPULATION_SIZE).intialize(Dynamic_POPULATION_SIZE, previousDynamicPopulation);
+		} else {
+			initialPopulation = new DynamicPopulationDAAS(Dynamic_POPULATION_SIZE).intialize(Dynamic_POPULATION_SIZE);
+		}
+		int generations = warmStart ? Math.min(Dynamic_WARM_START_GENERATIONS, Dynamic_GENERATIONS) : Dynamic_GENERATIONS;
 	
 		int generationNumber = 0;
-		while(generationNumber <= Dynamic_GENERATIONS) {
+		while(generationNumber <= generations) {
 			generationNumber++;
 			DynamicPopulationDAAS population = gen.evolve(initialPopulation);
 			population.sortChromosomesByFitness();
@@ -156,15 +236,19 @@ public class GADriverDaas {
 					}
 				}
 			Here:
-				if((bestPopulation.chromosomes.isEmpty())  && (Dynamic_GENERATIONS == generationNumber)) {
-					if(Dynamic_GENERATIONS >= 80) {
+				if((bestPopulation.chromosomes.isEmpty())  && (generations == generationNumber)) {
+					if(generations >= 80) {
 						bestDynamicVmServerMap = sourceAllocationMap;
 						GAChooseSourceMap = true;
 						break Here;
 					}
-					Dynamic_GENERATIONS += 10; 
+					if(!warmStart) {
+						Dynamic_GENERATIONS += 10;
+					}
+					generations += 10;
 				}
 		}
+		previousDynamicPopulation = initialPopulation;
 		if((!bestPopulation.chromosomes.isEmpty())) {
 			bestPopulation.sortChromosomesByFitness();
 			bestDynamicVmServerMap = bestPopulation.getChromosomes().get(0).getGenes();
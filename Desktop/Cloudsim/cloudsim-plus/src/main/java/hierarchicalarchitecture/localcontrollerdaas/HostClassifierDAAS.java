@@ -68,9 +68,7 @@ public class HostClassifierDAAS {
    	double OverUtilizationThreshold = this.HostUpperUtilizationThreshold;
    	double HostCapacity = host.getRam().getCapacity();
    	double RamUtilisation = 0;
-   	for(Vm vm: host.getVmList()) { 
-   		RamUtilisation += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.
-   	}
+   	RamUtilisation += host.getVmsRamUtilization();
    	double RamUtilisationPercentage = RamUtilisation/HostCapacity;
    	
    	if((cpuUsagePercent == 100) || (RamUtilisationPercentage == 100)) {
@@ -114,9 +112,7 @@ public class HostClassifierDAAS {
     	double CpuUtilisationPercentage=getHostCpuPercentRequested(host);
     	double HostCapacity=host.getRam().getCapacity();
        	double RamUtilisation = 0;
-       	for(Vm vm: host.getVmList()) { 
-       		RamUtilisation += vm.getRam().getAllocatedResource(); // This method gives the current requested Ram not allocated.
-       	}
+       	RamUtilisation += host.getVmsRamUtilization();
        	double RamUtilisationPercentage = RamUtilisation/HostCapacity;
 
        	return ((CpuUtilisationPercentage < UnderUtilizationThreshold) || (RamUtilisationPercentage < UnderUtilizationThreshold));
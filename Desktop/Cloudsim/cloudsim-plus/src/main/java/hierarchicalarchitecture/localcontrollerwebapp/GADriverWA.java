@@ -4,12 +4,15 @@
 package hierarchicalarchitecture.localcontrollerwebapp;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
 import java.util.stream.IntStream;
 
+import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -28,6 +31,22 @@ public class GADriverWA {
 	
 	public static int POPULATION_SIZE = 40;
 	public static int GENERATIONS = 90;
+	/*
+	 * Seed of the random numbers used by the initial placement GA.
+	 * Since the chromosomes evaluated in parallel use generators split from it beforehand,
+	 * the same seed gives the same placement, regardless of the number of cores.
+	 */
+	public static long SEED = System.nanoTime();
+	/*
+	 * Island model: ISLANDS populations of POPULATION_SIZE chromosomes evolve independently on separate threads.
+	 * Every MIGRATION_INTERVAL generations, copies of the MIGRANTS best chromosomes of each island replace the worst
+	 * chromosomes of the next island (ring topology) or, if RANDOM_MIGRATION is set, of a random island.
+	 * The best chromosomes found by all islands are merged. With a single island, there is just one population.
+	 */
+	public static int ISLANDS = 1;
+	public static int MIGRATION_INTERVAL = 10;
+	public static int MIGRANTS = 1;
+	public static boolean RANDOM_MIGRATION = false;
 	/*
 	 * Map to be used in simulation for initial allocation
 	 */
@@ -44,6 +63,18 @@ public class GADriverWA {
 	public static Map<Long, Double> hostCurrentUtil = new HashMap<Long, Double>();
 	public static int Dynamic_POPULATION_SIZE = 8;
 	public static int Dynamic_GENERATIONS = 25;
+	/*
+	 * Warm start: the last population of the dynamic GA is kept between scheduling intervals and seeds
+	 * the population of the next one, which then evolves just Dynamic_WARM_START_GENERATIONS generations,
+	 * since placements change little between consecutive intervals (0 disables the warm start).
+	 */
+	public static int Dynamic_WARM_START_GENERATIONS = 8;
+	private static DynamicPopulationWA previousDynamicPopulation;
+	/*
+	 * The simulation the previous population was evolved in. A population from another simulation
+	 * (such as a previous run of a parameter sweep or the one a snapshot was restored from) is not reused.
+	 */
+	private static Simulation previousDynamicSimulation;
 	
 	
 	public static List<Long> sourcevmList;
@@ -67,39 +98,49 @@ public class GADriverWA {
 		Hostlist_sizeIP = Host_List_IP.size();
 		List<Vm> VM_List = GlobalController.InitialvmListWebApplication;
 		vmlist_sizeIP = VM_List.size();
-		generatePopulation = new PopulationWA(POPULATION_SIZE,VM_List.size()).initializePopulation(Host_List_IP.size(), Host_List_IP ,VM_List);
+		SplittableRandom random = new SplittableRandom(SEED);
+		SplittableRandom[] islandRandoms = new SplittableRandom[ISLANDS];
+		for(int i=0; i < ISLANDS; i++) {
+			islandRandoms[i] = random.split();
+		}
+		IslandWA[] islands = new IslandWA[ISLANDS];
+		IntStream.range(0, ISLANDS).parallel().forEach(i ->
+			islands[i] = new IslandWA(POPULATION_SIZE, Host_List_IP, VM_List, islandRandoms[i]));
 		
-		EvolutionWA gen = new EvolutionWA(VM_List.size());
+		/*
+		 * Islands evolve MIGRATION_INTERVAL generations between migrations.
+		 * A single island evolves one generation at a time, so that the number of generations is checked after each one.
+		 */
+		int interval = ISLANDS > 1 ? MIGRATION_INTERVAL : 1;
 		int generationNumber = 0;
 		
 			while(generationNumber < GENERATIONS) {
-				generationNumber++;			
-				PopulationWA PopulationWA = gen.evolve(generatePopulation,Host_List_IP,VM_List);
-				PopulationWA.sortChromosomesByFitness();
-				
-				/* remove old population and add offspring to the new population. */
-				for(int i=0; i < PopulationWA.getPopulationSize(); i++) {
-					generatePopulation.ChromosomeWA[i] = PopulationWA.ChromosomeWA[i];	
-				}	
+				int generations = Math.min(interval, GENERATIONS - generationNumber);
+				Arrays.stream(islands).parallel().forEach(island -> island.evolve(generations));
+				generationNumber += generations;
 				
-				 /* select best individual to place a given vm */
-				bestchromosomeofthegeneration = new ChromosomeWA(VM_List.size());
-				for(int i=0; i<PopulationWA.getChromosomes().length;i++) {
-					if((PopulationWA.getChromosomes()[i].resource_Availability_Violation == 0) && (PopulationWA.getChromosomes()[i].ACTIVE_SERVERS > 0)) {
-						bestchromosomeofthegeneration = PopulationWA.getChromosomes()[i];
-						break;
+				/*
+				 * merge the best chromosomes of the islands
+				 */
+				ChromosomeWA bestOfTheIslands = null;
+				for(IslandWA island : islands) {
+					for(ChromosomeWA chromosome : island.removeBestChromosomes()) {
+						bestOfTheBestWebApp.put(chromosome.getFitness(), chromosome);
+					}
+					ChromosomeWA bestOfTheIsland = island.getBestOfTheGeneration();
+					if(bestOfTheIsland != null && (bestOfTheIslands == null || bestOfTheIsland.getFitness() < bestOfTheIslands.getFitness())) {
+						bestOfTheIslands = bestOfTheIsland;
 					}
 				}
-			//	bestFinalWebApplication =	PopulationWA.getChromosomes()[0];
-				if(bestchromosomeofthegeneration != null && bestchromosomeofthegeneration.ACTIVE_SERVERS !=0) {
-					bestOfTheBestWebApp.put(bestchromosomeofthegeneration.getFitness(), bestchromosomeofthegeneration);			
+				if(bestOfTheIslands != null) {
+					bestchromosomeofthegeneration = bestOfTheIslands;
 				}
-			//	bestOfTheBestWebApplication.put(bestchromosomeofthegeneration.getFitness(), bestchromosomeofthegeneration);			
-			//	vmToHostMapWebApplication = bestchromosomeofthegeneration.getVmToServerMap();
-			//	serverVmsmapWebApplication = bestchromosomeofthegeneration.getServersWithVmList();
 				if((bestOfTheBestWebApp.isEmpty()) && (GENERATIONS == generationNumber)) {
 					GENERATIONS += 15;
 				}
+				if(islands.length > 1 && generationNumber < GENERATIONS) {
+					migrate(islands, random);
+				}
 			}
 		
 			vmToHostMapWebApp = bestOfTheBestWebApp.values().stream().findFirst().get().getVmToServerMap();
@@ -107,8 +148,39 @@ public class GADriverWA {
 			serverVmsmapWebApp = bestOfTheBestWebApp.values().stream().findFirst().get().getServersWithVmList();
 	}
 	
+	/**
+	 * Sends copies of the best chromosomes of each island to the next island
+	 * or, if {@link #RANDOM_MIGRATION} is set, to a random one.
+	 * @param islands
+	 * @param random the random number generator used to choose the islands
+	 */
+	private void migrate(IslandWA[] islands, SplittableRandom random) {
+		/*
+		 * all emigrants are copied before any island receives immigrants
+		 */
+		ChromosomeWA[][] emigrants = new ChromosomeWA[islands.length][];
+		for(int i=0; i < islands.length; i++) {
+			emigrants[i] = islands[i].getEmigrants(MIGRANTS);
+		}
+		for(int i=0; i < islands.length; i++) {
+			int target = (i + 1) % islands.length;
+			if(RANDOM_MIGRATION) {
+				target = (i + 1 + random.nextInt(islands.length - 1)) % islands.length;
+			}
+			islands[target].immigrate(emigrants[i]);
+		}
+	}
+	
+	/**
+	 * Discards the population kept for the warm start of the dynamic GA,
+	 * so that the next call evolves a new population for the full number of generations.
+	 * It must be called before running a new simulation in the same JVM.
+	 */
+	public static void resetWarmStart() {
+		previousDynamicPopulation = null;
+		previousDynamicSimulation = null;
+	}
 	
-	PopulationWA generatePopulation;		  
 	/**
 	 * Constructor for Dynamic VM Allocation
 	 * @param sourceAllocationMap
@@ -127,9 +199,21 @@ public class GADriverWA {
 		 targetHostList = new ArrayList<Long>(targetHosts);
 		 
 		 DynamicEvolutionWA gen = new DynamicEvolutionWA();
-		 initialPopulation = new DynamicPopulationWA(Dynamic_POPULATION_SIZE, hostList, vmList).intialize(Dynamic_POPULATION_SIZE);
+		 Simulation simulation = hostList.isEmpty() ? Simulation.NULL : hostList.get(0).getSimulation();
+		 if(simulation != previousDynamicSimulation) {
+		 	resetWarmStart();
+		 	previousDynamicSimulation = simulation;
+		 }
+		 /* seed the population with the one of the previous scheduling interval, if there is one */
+		 boolean warmStart = previousDynamicPopulation != null && Dynamic_WARM_START_GENERATIONS > 0;
+		 if(warmStart) {
+		 	initialPopulation = new DynamicPopulationWA(Dynamic_POPULATION_SIZE, hostList, vmList).intialize(Dynamic_POPULATION_SIZE, previousDynamicPopulation);
+		 } else {
+		 	initialPopulation = new DynamicPopulationWA(Dynamic_POPULATION_SIZE, hostList, vmList).intialize(Dynamic_POPULATION_SIZE);
+		 }
+		 int generations = warmStart ? Math.min(Dynamic_WARM_START_GENERATIONS, Dynamic_GENERATIONS) : Dynamic_GENERATIONS;
 		 int generationNumber = 0;
-		 while(generationNumber < Dynamic_GENERATIONS) {
+		 while(generationNumber < generations) {
 			 generationNumber++;
 			 DynamicPopulationWA population = gen.evolve(initialPopulation,hostList,vmList);
 			 population.sortChromosomesByFitness();
@@ -146,15 +230,19 @@ public class GADriverWA {
 				 }
 			 }
 			 Here:
-				 if((bestPopulation.chromosomes.isEmpty()) && (Dynamic_GENERATIONS == generationNumber)) {
-					 if(Dynamic_GENERATIONS >= 75) {
+				 if((bestPopulation.chromosomes.isEmpty()) && (generations == generationNumber)) {
+					 if(generations >= 75) {
 						 bestDynamicVmServerMap = sourceAllocationMap;
 						 GAChooseSourceMapWA = true;
 						 break Here;
 					 }
-					 Dynamic_GENERATIONS += 10; 
+					 if(!warmStart) {
+					 	Dynamic_GENERATIONS += 10;
+					 }
+					 generations += 10;
 				 }
 		 }		 
+		 previousDynamicPopulation = initialPopulation;
 		 if((!bestPopulation.chromosomes.isEmpty())) {
 			 bestPopulation.sortChromosomesByFitness();
 			 bestDynamicVmServerMap = bestPopulation.getChromosomes().get(0).getGenes();
@@ -99,12 +99,7 @@ public class HostClassifierWA {
    	double OverUtilizationThreshold = this.HostUpperUtilizationThreshold;
    	double HostCapacity = host.getRam().getCapacity();
    	double serverCPU = host.getTotalMipsCapacity();
-   	double Vmallocated =0;
-   	double vmsCpuUtil = 0;
-	for(Vm vm : host.getVmList()) {
-		Vmallocated += vm.getRam().getAllocatedResource();
-		vmsCpuUtil += vm.getCurrentRequestedTotalMips();
-	}
+   	double Vmallocated = host.getVmsRamUtilization();
 //	cpuUsagePercent = vmsCpuUtil / serverCPU;
    	double RamUtilisationPercentage = Vmallocated / HostCapacity;
    	if((cpuUsagePercent == 100) || (RamUtilisationPercentage == 100)) {
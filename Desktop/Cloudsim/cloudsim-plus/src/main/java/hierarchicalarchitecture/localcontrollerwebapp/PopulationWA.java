@@ -8,7 +8,9 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -48,12 +50,27 @@ public class PopulationWA {
 	 */
 
 	public PopulationWA initializePopulation(int numberOfHosts, List<Host> hostList, List<Vm> vmList) {
-		for (int i=0; i < ChromosomeWA.length; i++) {
+		return initializePopulation(numberOfHosts, hostList, vmList, new SplittableRandom());
+	}
+
+	/**
+	 * Initializes and evaluates the chromosomes in parallel.
+	 * A random number generator is split for each chromosome before the work is forked,
+	 * so the population just depends on the generator seed, not on how the chromosomes are spread across the cores.
+	 * @param random the random number generator to split
+	 * @return
+	 */
+	public PopulationWA initializePopulation(int numberOfHosts, List<Host> hostList, List<Vm> vmList, SplittableRandom random) {
+		SplittableRandom[] randoms = new SplittableRandom[ChromosomeWA.length];
+		for (int i=0; i < randoms.length; i++) {
+			randoms[i] = random.split();
+		}
+		IntStream.range(0, ChromosomeWA.length).parallel().forEach(i -> {
 			/*
 			 * intialize a chromosome with a size of vms
 			 */
-			ChromosomeWA[i] = new ChromosomeWA(numberOfVMs).initializeChromosome(numberOfHosts, hostList, vmList);
-		}
+			ChromosomeWA[i] = new ChromosomeWA(numberOfVMs).initializeChromosome(numberOfHosts, hostList, vmList, randoms[i]);
+		});
 		sortChromosomesByFitness();
 		return this;
 		
@@ -19,6 +19,7 @@ import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmGroup;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -43,7 +44,7 @@ import static java.util.stream.Collectors.toList;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
+public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy, Serializable {
     /**
      * WARNING: the function should not be called directly because it may be null.
      * Use the {@link #findHostForVm(Vm)} instead.
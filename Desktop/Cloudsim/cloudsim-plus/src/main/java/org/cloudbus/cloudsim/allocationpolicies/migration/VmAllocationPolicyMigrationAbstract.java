@@ -733,7 +733,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the utilization values array
      */
     protected double[] getHostCpuUsageArray(final Host host) {
-        return host.getUtilizationHistorySum().values().stream().mapToDouble(cpuUsage -> cpuUsage).toArray();
+        return host.getUtilizationHistorySumValues();
     }
 
     @Override
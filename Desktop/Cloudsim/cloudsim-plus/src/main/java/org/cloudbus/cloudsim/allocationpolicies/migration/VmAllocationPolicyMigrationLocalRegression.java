@@ -14,10 +14,6 @@ import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
-import java.util.Map;
-
 /**
  * A VM allocation policy that uses <a href="https://en.wikipedia.org/wiki/Local_regression">Local Regression (LR)</a> to predict host utilization (load)
  * and define if a host is overloaded or not.
@@ -118,14 +114,11 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
     public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
         final int length = 10; // we use 10 to make the regression responsive enough to latest values
 
-        final Comparator<Map.Entry<Double, DoubleSummaryStatistics>> keyComparator = Comparator.comparingDouble(Map.Entry::getKey);
-        final double[] utilizationHistoryReversed = host.getUtilizationHistory()
-            .entrySet()
-            .stream()
-            .sorted(keyComparator.reversed())
-            .limit(length)
-            .mapToDouble(entry -> entry.getValue().getSum())
-            .toArray();
+        final double[] utilizationHistory = host.getUtilizationHistorySumValues(length);
+        final double[] utilizationHistoryReversed = new double[utilizationHistory.length];
+        for (int i = 0; i < utilizationHistoryReversed.length; i++) {
+            utilizationHistoryReversed[i] = utilizationHistory[utilizationHistory.length - 1 - i];
+        }
 
         if (utilizationHistoryReversed.length < length) {
             throw new IllegalStateException("There is not enough Host history to estimate its utilization using Local Regression");
@@ -25,6 +25,7 @@ import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -52,7 +53,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      *
      * @see #setVmDestructionDelayFunction(Function)
      */
-    private static final Function<Vm, Double> DEF_VM_DESTRUCTION_DELAY_FUNCTION = vm -> DEF_VM_DESTRUCTION_DELAY;
+    private static final Function<Vm, Double> DEF_VM_DESTRUCTION_DELAY_FUNCTION = (Function<Vm, Double> & Serializable) vm -> DEF_VM_DESTRUCTION_DELAY;
 
     /**
      * A map of registered event listeners for the onVmsCreatedListeners event
@@ -168,8 +169,8 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.cloudletSubmittedList = new ArrayList<>();
         setDatacenterList(new TreeSet<>());
 
-        setDatacenterMapper(this::defaultDatacenterMapper);
-        setVmMapper(this::defaultVmMapper);
+        setDatacenterMapper((BiFunction<Datacenter, Vm, Datacenter> & Serializable) this::defaultDatacenterMapper);
+        setVmMapper((Function<Cloudlet, Vm> & Serializable) this::defaultVmMapper);
         vmDestructionDelayFunction = DEF_VM_DESTRUCTION_DELAY_FUNCTION;
     }
 
@@ -178,7 +179,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     public final DatacenterBroker setSelectClosestDatacenter(final boolean select) {
         this.selectClosestDatacenter = select;
         if(select){
-            setDatacenterMapper(this::closestDatacenterMapper);
+            setDatacenterMapper((BiFunction<Datacenter, Vm, Datacenter> & Serializable) this::closestDatacenterMapper);
         }
         return this;
     }
@@ -1156,7 +1157,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     @Override
     public DatacenterBroker setVmDestructionDelay(final double delay) {
-        setVmDestructionDelayFunction(vm -> delay);
+        setVmDestructionDelayFunction((Function<Vm, Double> & Serializable) vm -> delay);
         return this;
     }
 
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.cloudlets;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.CustomerEntityAbstract;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
@@ -272,7 +273,12 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
 
     @Override
     public void notifyOnUpdateProcessingListeners(final double time) {
-        onUpdateProcessingListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, time, this)));
+        if (onUpdateProcessingListeners.isEmpty()) {
+            return;
+        }
+
+        DeferredActions.run(() ->
+            onUpdateProcessingListeners.forEach(listener -> listener.update(CloudletVmEventInfo.of(listener, time, this))));
     }
 
     @Override
@@ -388,8 +394,13 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
                                     partialFinishedMI :
                                     Math.min(partialFinishedMI, absLength()-getFinishedLengthSoFar());
         getLastExecutionInDatacenterInfo().addFinishedSoFar(maxLengthToAdd);
-        returnToBrokerIfFinished();
-        notifyListenersIfCloudletIsFinished();
+        if (isFinished()) {
+            DeferredActions.run(() -> {
+                returnToBrokerIfFinished();
+                notifyListenersIfCloudletIsFinished();
+            });
+        }
+
         return true;
     }
 
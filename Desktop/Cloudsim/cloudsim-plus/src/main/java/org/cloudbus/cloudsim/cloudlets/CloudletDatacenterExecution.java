@@ -2,12 +2,14 @@ package org.cloudbus.cloudsim.cloudlets;
 
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 
+import java.io.Serializable;
+
 /**
  * Internal class that keeps track of Cloudlet's movement in different
  * {@link Datacenter Datacenters}. Each time a cloudlet is run on a given Datacenter, the cloudlet's
  * execution history on each Datacenter is registered inside the {@link Cloudlet}.
  */
-final class CloudletDatacenterExecution {
+final class CloudletDatacenterExecution implements Serializable {
     /* default */ static final CloudletDatacenterExecution NULL = new CloudletDatacenterExecution();
 
     private double arrivalTime;
@@ -11,6 +11,8 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.core.Identifiable;
 
+import java.io.Serializable;
+
 /**
  * Represents one of many tasks that can be executed by a {@link NetworkCloudlet}.
  *
@@ -33,7 +35,7 @@ import org.cloudbus.cloudsim.core.Identifiable;
  * @TODO Classes {@link CloudletTask}, {@link Cloudlet}
  * and {@link CloudletExecution} share a common set of attributes that would be defined by a common interface.
  */
-public abstract class CloudletTask implements Identifiable {
+public abstract class CloudletTask implements Identifiable, Serializable {
     private boolean finished;
 
     /**
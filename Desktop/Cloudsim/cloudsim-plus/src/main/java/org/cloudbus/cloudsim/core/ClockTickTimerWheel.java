@@ -0,0 +1,207 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.listeners.EventListener;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A hashed timer wheel that keeps clock tick listeners subscribed with a period,
+ * so that at each clock tick just the listeners due at that time are visited,
+ * instead of all of them.
+ * The wheel has a fixed number of slots, each one covering {@link #SLOT_WIDTH} seconds.
+ * A listener is stored in the slot of its next notification time and
+ * the slots are visited as the clock advances.
+ *
+ * @see Simulation#addOnClockTickListener(EventListener, double, double)
+ */
+final class ClockTickTimerWheel implements Serializable {
+    /**
+     * The length of the time interval covered by each slot (in seconds).
+     * Since clock tick listeners are notified at intervals of about one second,
+     * that is used as the slot width.
+     */
+    private static final double SLOT_WIDTH = 1.0;
+
+    private static final int SLOTS = 512;
+
+    private final List<List<PeriodicListener>> slots;
+
+    /**
+     * All listeners in the wheel, in the order they were added.
+     */
+    private final List<PeriodicListener> listeners;
+
+    /**
+     * The index of the last visited tick (the time divided by the {@link #SLOT_WIDTH}),
+     * or -1 if no tick was visited yet.
+     */
+    private long lastTick;
+
+    /**
+     * The number of listeners added so far, used to notify listeners due at the same time
+     * in the order they were added.
+     */
+    private long addedListeners;
+
+    ClockTickTimerWheel() {
+        this.slots = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+
+        this.listeners = new ArrayList<>();
+        this.lastTick = -1;
+    }
+
+    /**
+     * Adds a listener to be notified periodically.
+     *
+     * @param listener the listener to add
+     * @param period the interval between notifications (in seconds)
+     * @param offset the time of the first notification (in seconds)
+     * @param clock the current simulation time
+     */
+    void add(final EventListener<EventInfo> listener, final double period, final double offset, final double clock) {
+        final PeriodicListener periodic = new PeriodicListener(listener, period, offset, addedListeners++);
+        periodic.nextTime = offset + Math.max(Math.ceil((clock - offset) / period), 0) * period;
+        listeners.add(periodic);
+        slotOf(periodic.nextTime).add(periodic);
+    }
+
+    /**
+     * Removes all periodic subscriptions of a given listener.
+     * @param listener the listener to remove
+     * @return true if the listener was found and removed, false otherwise
+     */
+    boolean remove(final EventListener<? extends EventInfo> listener) {
+        boolean removed = false;
+        for (int i = 0; i < listeners.size(); i++) {
+            final PeriodicListener periodic = listeners.get(i);
+            if (periodic.listener.equals(listener)) {
+                slotOf(periodic.nextTime).remove(periodic);
+                listeners.remove(i--);
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    /**
+     * Gets the earliest time some listener has to be notified.
+     * @return the next notification time or {@link Double#MAX_VALUE} if the wheel is empty
+     */
+    double getNextTime() {
+        double next = Double.MAX_VALUE;
+        for (final PeriodicListener periodic : listeners) {
+            next = Math.min(next, periodic.nextTime);
+        }
+
+        return next;
+    }
+
+    /**
+     * Notifies the listeners whose next notification time is up to a given clock tick time,
+     * then reschedules them for their first notification time after that.
+     * Periods elapsed between two ticks don't cause multiple notifications.
+     *
+     * @param time the clock tick time
+     */
+    void notifyListeners(final double time) {
+        if (listeners.isEmpty()) {
+            lastTick = tickOf(time);
+            return;
+        }
+
+        final List<PeriodicListener> dueList = collectDueListeners(time);
+        dueList.sort(Comparator.comparingDouble((PeriodicListener periodic) -> periodic.nextTime).thenComparingLong(periodic -> periodic.order));
+        for (final PeriodicListener periodic : dueList) {
+            slotOf(periodic.nextTime).remove(periodic);
+            periodic.nextTime = periodic.nextTimeAfter(time);
+            slotOf(periodic.nextTime).add(periodic);
+        }
+
+        /* Listeners are just notified after all of them are rescheduled,
+         * so that they may safely add or remove other periodic listeners. */
+        for (final PeriodicListener periodic : dueList) {
+            periodic.listener.update(EventInfo.of(periodic.listener, time));
+        }
+    }
+
+    /**
+     * Visits the slots for the ticks since the last visited one up to a given time
+     * (visiting each slot at most once), collecting the listeners due up to that time.
+     * @param time the clock tick time
+     * @return the list of due listeners
+     */
+    private List<PeriodicListener> collectDueListeners(final double time) {
+        final long tick = tickOf(time);
+        final long firstTick = Math.max(lastTick, tick - SLOTS + 1);
+        final List<PeriodicListener> dueList = new ArrayList<>();
+        for (long i = firstTick; i <= tick; i++) {
+            for (final PeriodicListener periodic : slots.get(slotIndex(i))) {
+                if (periodic.nextTime <= time) {
+                    dueList.add(periodic);
+                }
+            }
+        }
+
+        lastTick = tick;
+        return dueList;
+    }
+
+    private List<PeriodicListener> slotOf(final double time) {
+        return slots.get(slotIndex(tickOf(time)));
+    }
+
+    private static long tickOf(final double time) {
+        return (long) Math.floor(time / SLOT_WIDTH);
+    }
+
+    private static int slotIndex(final long tick) {
+        return (int) Math.floorMod(tick, (long) SLOTS);
+    }
+
+    /**
+     * A clock tick listener that is notified at times {@code offset + k * period}, for k = 0, 1, 2...
+     */
+    private static final class PeriodicListener implements Serializable {
+        private final EventListener<EventInfo> listener;
+        private final double period;
+        private final double offset;
+        private final long order;
+        private double nextTime;
+
+        private PeriodicListener(final EventListener<EventInfo> listener, final double period, final double offset, final long order) {
+            this.listener = listener;
+            this.period = period;
+            this.offset = offset;
+            this.order = order;
+        }
+
+        /**
+         * Gets the first notification time that is after a given time.
+         * @param time the time to compute the next notification time from
+         * @return
+         */
+        private double nextTimeAfter(final double time) {
+            final double periods = Math.floor((time - offset) / period) + 1;
+            return offset + Math.max(periods, 0) * period;
+        }
+    }
+}
@@ -44,6 +44,13 @@ public class CloudInformationService extends CloudSimEntity {
      */
     private final Set<CloudInformationService> cisList;
 
+    /**
+     * The minimum positive {@link Datacenter#getSchedulingInterval() scheduling interval}
+     * among the registered Datacenters, or -1 if it has to be recomputed.
+     * @see #getMinSchedulingInterval()
+     */
+    private double minSchedulingInterval;
+
     /**
      * Instantiates a new CloudInformationService object.
      *
@@ -53,6 +60,7 @@ public class CloudInformationService extends CloudSimEntity {
         super(simulation);
         datacenterList = new TreeSet<>();
         cisList = new TreeSet<>();
+        minSchedulingInterval = -1;
     }
 
     /**
@@ -74,6 +82,7 @@ public class CloudInformationService extends CloudSimEntity {
 
             case CloudSimTags.DATACENTER_REGISTRATION_REQUEST:
                 datacenterList.add((Datacenter) evt.getData());
+                invalidateMinSchedulingInterval();
             break;
 
             // A Broker is requesting a list of all datacenters.
@@ -94,6 +103,7 @@ public class CloudInformationService extends CloudSimEntity {
         // reset the values
         datacenterList.clear();
         cisList.clear();
+        invalidateMinSchedulingInterval();
     }
 
     /**
@@ -105,6 +115,33 @@ public class CloudInformationService extends CloudSimEntity {
         return datacenterList;
     }
 
+    /**
+     * Gets the minimum positive {@link Datacenter#getSchedulingInterval() scheduling interval}
+     * among the registered Datacenters. The value is cached until a Datacenter
+     * is registered or {@link #invalidateMinSchedulingInterval() changes its scheduling interval}.
+     *
+     * @return the minimum scheduling interval (in seconds) or 0 if no Datacenter has a scheduling interval set
+     */
+    public double getMinSchedulingInterval() {
+        if(minSchedulingInterval < 0) {
+            minSchedulingInterval = datacenterList
+                .stream()
+                .mapToDouble(Datacenter::getSchedulingInterval)
+                .filter(interval -> interval > 0)
+                .min().orElse(0);
+        }
+
+        return minSchedulingInterval;
+    }
+
+    /**
+     * Notifies the CIS that the scheduling interval of some Datacenter has changed,
+     * so that the {@link #getMinSchedulingInterval() minimum scheduling interval} is recomputed.
+     */
+    public void invalidateMinSchedulingInterval() {
+        minSchedulingInterval = -1;
+    }
+
     /**
      * Sends a {@link CloudSimTags#END_OF_SIMULATION} signal to all entity IDs
      * mentioned in the given list.
@@ -17,9 +17,13 @@ import org.cloudsimplus.listeners.EventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -33,7 +37,8 @@ import static java.util.stream.Collectors.toList;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public class CloudSim implements Simulation {
+public class CloudSim implements Simulation, Serializable {
+    private static final long serialVersionUID = 1L;
     /**
      * CloudSim Plus current version.
      */
@@ -102,6 +107,17 @@ public class CloudSim implements Simulation {
      */
     private double newTerminationTime = -1;
 
+    /**
+     * @see #enableIdleSkipAhead()
+     */
+    private boolean idleSkipAhead;
+
+    /**
+     * Times requested by {@link #requestWakeUp(double)} where the clock must stop
+     * when the {@link #enableIdleSkipAhead() idle skip-ahead} is enabled.
+     */
+    private final NavigableSet<Double> wakeUpTimes;
+
     /**
      * @see #getMinTimeBetweenEvents()
      */
@@ -112,10 +128,45 @@ public class CloudSim implements Simulation {
      */
     private final List<CloudSimEntity> entities;
 
+    /**
+     * The position in the {@link #entities} list of each entity.
+     */
+    private final Map<SimEntity, Integer> entityIndexes;
+
+    /**
+     * Positions in the {@link #entities} list of the entities that may have something to do
+     * (they became {@link SimEntity.State#RUNNABLE} or received events since they were last run),
+     * so that just such entities are run at each clock tick.
+     * @see #markEntityReady(SimEntity)
+     */
+    private final BitSet readyEntities;
+
     /**
      * The queue of events that will be sent in a future simulation time.
      */
-    private final FutureQueue future;
+    private final FutureEventQueue future;
+
+    /**
+     * Indexes the events in the {@link #future} queue by their source entity,
+     * enabling events to be cancelled without traversing the entire queue.
+     */
+    private final EventSourceIndex futureEventsBySource;
+
+    /**
+     * @see #getEventPool()
+     */
+    private final EventPool eventPool;
+
+    /**
+     * @see #getProfiler()
+     */
+    private final SimulationProfiler profiler;
+
+    /**
+     * Events delivered to the entity being currently executed,
+     * that will be returned to the {@link #eventPool} after the entity processes them.
+     */
+    private final List<SimEvent> consumedEvents;
 
     /**
      * The deferred event queue.
@@ -164,12 +215,89 @@ public class CloudSim implements Simulation {
      */
     private boolean alreadyRunOnce;
 
+    /**
+     * Indicates if the simulation was {@link #restore(InputStream) restored} from a snapshot
+     * and was not started yet.
+     */
+    private boolean restored;
+
     private final Set<EventListener<SimEvent>> onEventProcessingListeners;
     private final Set<EventListener<EventInfo>> onSimulationPauseListeners;
     private final Set<EventListener<EventInfo>> onClockTickListeners;
+
+    /**
+     * Clock tick listeners to be notified periodically.
+     * @see #addOnClockTickListener(EventListener, double, double)
+     */
+    private final ClockTickTimerWheel periodicClockTickListeners;
     private final Set<EventListener<EventInfo>> onSimulationStartListeners;
     private boolean processEventsInParallel;
 
+    /**
+     * @see #addSnapshotState(SnapshotState)
+     */
+    private final List<SnapshotState<?>> snapshotStates;
+
+    /**
+     * @see #getLogicalProcesses()
+     */
+    private final List<LogicalProcess> logicalProcesses;
+
+    /**
+     * A map where each key is an entity and each value is the {@link LogicalProcess} it belongs to.
+     */
+    private final Map<SimEntity, LogicalProcess> entitiesLogicalProcess;
+
+    /**
+     * The {@link LogicalProcess} being executed by the current thread during a parallel window.
+     */
+    private transient ThreadLocal<LogicalProcess> runningLogicalProcess;
+
+    /**
+     * The executor that runs {@link LogicalProcess}es in parallel,
+     * or null if the {@link #enableParallelExecution(int) parallel execution} is disabled.
+     */
+    private transient ExecutorService parallelExecutor;
+
+    /**
+     * The pool that runs entities having events at the same time in parallel,
+     * or null if the {@link #enableParallelEntityDispatch(int) parallel entity dispatch} is disabled.
+     */
+    private transient ForkJoinPool entityDispatchPool;
+
+    /**
+     * The outbox keeping the events sent by the entity being executed by the current thread
+     * during a {@link #enableParallelEntityDispatch(int) parallel entity dispatch}.
+     */
+    private transient ThreadLocal<EventOutbox> runningEntityOutbox;
+
+    /**
+     * The lookahead set by the user or -1 to compute it from the {@link #getNetworkTopology() network topology}.
+     * @see #getLookahead()
+     */
+    private double lookahead;
+
+    /**
+     * The lookahead computed from the network topology, or -1 if it has to be computed again.
+     */
+    private double topologyLookahead;
+
+    /**
+     * The time of the first event in the current parallel window.
+     */
+    private double windowStart;
+
+    /**
+     * The time (exclusive) when the current parallel window ends,
+     * if the lookahead is greater than zero.
+     */
+    private double windowEnd;
+
+    /**
+     * The maximum time of events processed in the current parallel window.
+     */
+    private double windowUntil;
+
     /**
      * Creates a CloudSim simulation.
      * Internally it creates a CloudInformationService.
@@ -191,8 +319,49 @@ public class CloudSim implements Simulation {
      * @see CloudInformationService
      */
     public CloudSim(final double minTimeBetweenEvents) {
+        this(minTimeBetweenEvents, new FutureQueue());
+    }
+
+    /**
+     * Creates a CloudSim simulation that uses a given queue
+     * to store the events to be processed in the future.
+     * Internally it creates a CloudInformationService.
+     *
+     * @param future the queue to store future events, such as a {@link FutureQueue} or a {@link CalendarQueue}
+     * @see CloudInformationService
+     * @see #CloudSim(double, FutureEventQueue)
+     */
+    public CloudSim(final FutureEventQueue future){
+        this(0.1, future);
+    }
+
+    /**
+     * Creates a CloudSim simulation that tracks events happening in a time interval
+     * as little as the minTimeBetweenEvents parameter and uses a given queue
+     * to store the events to be processed in the future.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param minTimeBetweenEvents the minimal period between events. Events
+     * within shorter periods after the last event are discarded.
+     * @param future the queue to store future events, such as a {@link FutureQueue} or a {@link CalendarQueue}
+     * @see CloudInformationService
+     */
+    public CloudSim(final double minTimeBetweenEvents, final FutureEventQueue future) {
         this.entities = new ArrayList<>();
-        this.future = new FutureQueue();
+        this.entityIndexes = new IdentityHashMap<>();
+        this.readyEntities = new BitSet();
+        this.future = requireNonNull(future);
+        this.futureEventsBySource = new EventSourceIndex();
+        this.eventPool = new EventPool();
+        this.profiler = new SimulationProfiler();
+        this.consumedEvents = new ArrayList<>();
+        this.logicalProcesses = new ArrayList<>();
+        this.entitiesLogicalProcess = new IdentityHashMap<>();
+        this.runningLogicalProcess = new ThreadLocal<>();
+        this.runningEntityOutbox = new ThreadLocal<>();
+        this.lookahead = -1;
+        this.wakeUpTimes = new TreeSet<>();
+        this.topologyLookahead = -1;
         this.deferred = new DeferredQueue();
         this.waitPredicates = new HashMap<>();
         this.networkTopology = NetworkTopology.NULL;
@@ -202,7 +371,9 @@ public class CloudSim implements Simulation {
         this.onEventProcessingListeners = new HashSet<>();
         this.onSimulationPauseListeners = new HashSet<>();
         this.onClockTickListeners = new HashSet<>();
+        this.periodicClockTickListeners = new ClockTickTimerWheel();
         this.onSimulationStartListeners = new HashSet<>();
+        this.snapshotStates = new ArrayList<>();
 
         // NOTE: the order for the lines below is important
         this.calendar = Calendar.getInstance();
@@ -242,12 +413,21 @@ public class CloudSim implements Simulation {
 
         entitiesAlive.forEach(SimEntity::shutdownEntity);
         running = false;
+        disableParallelExecution();
+        disableParallelEntityDispatch();
+        profiler.recordRunFinish();
 
         printSimulationFinished();
+        if(profiler.isEnabled()) {
+            LOGGER.info("{}{}", System.lineSeparator(), profiler);
+        }
 
         LOGGER.debug(
             "DeferredQueue >> max size: {} added to middle: {} added to tail: {}",
             deferred.getMaxSize(), deferred.getAddedToMiddle(), deferred.getAddedToTail());
+        LOGGER.debug(
+            "EventPool >> enabled: {} created events: {} reused events: {}",
+            eventPool.isEnabled(), eventPool.getCreatedEvents(), eventPool.getReusedEvents());
     }
 
     @Override
@@ -285,7 +465,7 @@ public class CloudSim implements Simulation {
 
     @Override
     public void startSync() {
-        if(alreadyRunOnce){
+        if(alreadyRunOnce && !restored){
             throw new UnsupportedOperationException(
                 "You can't run a simulation that has already run previously. " +
                     "If you've paused the simulation and want to resume it, call the resume() method.");
@@ -293,7 +473,141 @@ public class CloudSim implements Simulation {
 
         LOGGER.info("{}================== Starting {} =================={}", System.lineSeparator(), VERSION,  System.lineSeparator());
         startEntitiesIfNotRunning();
+        profiler.recordRunStart();
         this.alreadyRunOnce = true;
+        this.restored = false;
+    }
+
+    /**
+     * Writes a snapshot of the simulation state to a stream, in a compact binary format.
+     * It includes the simulation clock, the future and deferred events,
+     * the entities (such as Datacenters and brokers) and all objects reachable from them
+     * (such as Hosts, VMs, Cloudlets, utilization models and random number generators).
+     * The simulation can be later {@link #restore(InputStream) restored} from such a snapshot
+     * to continue running from the time it was taken, enabling experiments to start
+     * from a warmed-up state.
+     *
+     * <p>The snapshot must be taken while no event is being processed:
+     * before starting the simulation, between calls to {@link #runFor(double)}
+     * or inside a {@link #addOnSimulationPauseListener(EventListener) pause listener}.</p>
+     *
+     * <p>All objects reachable from the simulation must be {@link Serializable},
+     * including listeners and functions given to simulation objects.
+     * Lambda expressions targeting framework interfaces such as {@link EventListener}
+     * are serializable, but the ones targeting {@code java.util.function} interfaces must be cast to
+     * an intersection type, such as {@code (Function<Vm, Double> & Serializable) vm -> 0.5}.
+     * Static attributes are not reachable from the simulation, therefore state that an application
+     * keeps in static fields (such as the controllers' static maps) is only included
+     * if it's {@link #addSnapshotState(SnapshotState) registered}.</p>
+     *
+     * @param out the stream to write the snapshot to (which is not closed)
+     * @throws UncheckedIOException when the stream cannot be written or some object is not serializable
+     * @throws IllegalStateException when events are being processed in parallel
+     * @see #snapshot(Path)
+     */
+    public void snapshot(final OutputStream out) {
+        requireNonNull(out);
+        if(processEventsInParallel) {
+            throw new IllegalStateException("A snapshot cannot be taken while events are processed in parallel.");
+        }
+
+        try {
+            SimulationSnapshot.write(this, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Registers application state that isn't reachable from the simulation
+     * (such as state kept in static fields) to be included in its {@link #snapshot(OutputStream) snapshots}.
+     * When a snapshot is {@link #restore(InputStream) restored}, the state is brought back
+     * by calling {@link SnapshotState#restore(Serializable)}.
+     * Since static fields are shared by the entire JVM, restoring them replaces the values
+     * of any other simulation using the same classes.
+     *
+     * @param state the state to register
+     * @return this simulation
+     * @see SnapshotState#ofStaticFields(Class[])
+     */
+    public CloudSim addSnapshotState(final SnapshotState<?> state) {
+        snapshotStates.add(requireNonNull(state));
+        return this;
+    }
+
+    /**
+     * Gets the application states {@link #addSnapshotState(SnapshotState) registered} to be included in snapshots.
+     * @return a read-only list of states
+     */
+    List<SnapshotState<?>> getSnapshotStates() {
+        return Collections.unmodifiableList(snapshotStates);
+    }
+
+    /**
+     * Writes a snapshot of the entire simulation state to a file.
+     * @param file the path of the file to write the snapshot to
+     * @throws UncheckedIOException when the file cannot be written or some object is not serializable
+     * @see #snapshot(OutputStream)
+     */
+    public void snapshot(final Path file) {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            snapshot(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restores a simulation from a {@link #snapshot(OutputStream) snapshot}.
+     * The restored simulation is independent of the one the snapshot was taken from
+     * and can be continued by calling {@link #start()} or {@link #runFor(double)}.
+     * If the snapshot was taken during a pause, the restored simulation is already resumed.
+     * The {@link #addSnapshotState(SnapshotState) registered} application states are restored as well.
+     * {@link #enableParallelExecution(int) Parallel execution} and
+     * {@link #enableParallelEntityDispatch(int) parallel entity dispatch} must be enabled again if desired.
+     *
+     * @param in the stream to read the snapshot from (which is not closed)
+     * @return the restored simulation
+     * @throws UncheckedIOException when the stream cannot be read or doesn't contain a valid snapshot
+     * @see #restore(Path)
+     */
+    public static CloudSim restore(final InputStream in) {
+        requireNonNull(in);
+        final CloudSim simulation;
+        try {
+            simulation = SimulationSnapshot.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        simulation.restored = true;
+        simulation.paused = false;
+        if (simulation.pauseAt <= simulation.clock) {
+            simulation.pauseAt = -1;
+        }
+
+        return simulation;
+    }
+
+    /**
+     * Restores a simulation from a {@link #snapshot(Path) snapshot file}.
+     * @param file the path of the file to read the snapshot from
+     * @return the restored simulation
+     * @throws UncheckedIOException when the file cannot be read or doesn't contain a valid snapshot
+     * @see #restore(InputStream)
+     */
+    public static CloudSim restore(final Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return restore(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.runningLogicalProcess = new ThreadLocal<>();
+        this.runningEntityOutbox = new ThreadLocal<>();
     }
 
     private void notifyOnSimulationStartListeners() {
@@ -316,7 +630,7 @@ public class CloudSim implements Simulation {
      *         or a termination time was set and the clock reached that time
      */
     private boolean processEvents(final double until) {
-        if (runClockTickAndProcessFutureEvents(until) || isToWaitClockToReachTerminationTime()) {
+        if (runClockTickAndProcessFutureEvents(until) || isToWaitClockToReachTerminationTime(until)) {
             notifyOnSimulationStartListeners(); //it's ensured to run just once.
             if (logSimulationAborted()) {
                 return false;
@@ -440,12 +754,13 @@ public class CloudSim implements Simulation {
 
     @Override
     public double clock() {
-        return clock;
+        final LogicalProcess lp = getRunningLogicalProcess();
+        return lp == null ? clock : lp.getClock();
     }
 
     @Override
     public String clockStr() {
-        return String.format("%.2f", clock);
+        return String.format("%.2f", clock());
     }
 
     @Override
@@ -486,15 +801,19 @@ public class CloudSim implements Simulation {
     @Override
     public void addEntity(final CloudSimEntity entity) {
         requireNonNull(entity);
-        if (running) {
-            final SimEvent evt = new CloudSimEvent(SimEvent.Type.CREATE, 0, entity, SimEntity.NULL, -1, entity);
-            future.addEvent(evt);
-        }
+        sync(() -> {
+            if (running) {
+                final SimEvent evt = newEvent(SimEvent.Type.CREATE, 0, entity, SimEntity.NULL, -1, entity);
+                addFutureEvent(evt);
+            }
 
-        if (entity.getId() == -1) { // Only add once!
-            entity.setId(entities.size());
-            entities.add(entity);
-        }
+            if (entity.getId() == -1) { // Only add once!
+                entity.setId(entities.size());
+                entityIndexes.put(entity, entities.size());
+                readyEntities.set(entities.size());
+                entities.add(entity);
+            }
+        });
     }
 
     /**
@@ -505,11 +824,19 @@ public class CloudSim implements Simulation {
      * @return true if some event was processed, false otherwise
      */
     private boolean runClockTickAndProcessFutureEvents(final double until) {
+        if(profiler.isEnabled()) {
+            profiler.recordQueueSizes(clock, future.size(), deferred.size());
+        }
+
         executeRunnableEntities(until);
         if (future.isEmpty()) {
             return false;
         }
 
+        if (isParallelExecutionEnabled() && processParallelWindow(until)) {
+            return true;
+        }
+
         final SimEvent first = future.first();
         if(first.getTime() <= until) {
             processFutureEventsHappeningAtSameTimeOfTheFirstOne(first);
@@ -519,74 +846,481 @@ public class CloudSim implements Simulation {
         return false;
     }
 
-    private boolean isToWaitClockToReachTerminationTime() {
-        if(isTerminationTimeSet()){
-            final double increment = minDatacentersSchedulingInterval();
-            final String info = increment == minTimeBetweenEvents
-                ? "using getMinTimeBetweenEvents() since a Datacenter schedulingInterval was not set"
-                : "Datacenter.getSchedulingInterval()";
+    /**
+     * Tries to process, in parallel, a window of events at the head of the {@link #future} queue,
+     * where each {@link LogicalProcess} executes the events sent to its own entities.
+     * The window starts at the time of the first future event and ends after the
+     * {@link #getLookahead() lookahead}. If the lookahead is zero, the window just
+     * includes events happening at the same time.
+     * The window is shortened so that it stops before the first event that cannot be processed
+     * by a LP (such as events to global entities like the {@link CloudInformationService}).
+     *
+     * <p>Events sent across LPs during the window are delivered at the end of it,
+     * in the order of the LPs ids, so that results don't depend on thread scheduling.</p>
+     *
+     * @param until the maximum time of events to process
+     * @return true if some event was processed in parallel,
+     *         false if the next event has to be processed sequentially
+     */
+    private boolean processParallelWindow(final double until) {
+        if(logicalProcesses.size() < 2 || hasClockTickListeners()) {
+            return false;
+        }
 
-            /*If a termination time is set, even if there is no events to process,
-            * the simulation must keep running waiting for dynamic events
-            * (such as the dynamic arrival of VMs or Cloudlets).
-            * Without increasing the time, the simulation stops due to lack of new events.*/
-            LOGGER.info(
-                "{}: Simulation: Waiting more events or the clock to reach {} (the termination time set). Checking new events in {} seconds ({})",
-                clockStr(), terminationTime, increment, info);
-            setClock(clock + increment);
-            return true;
+        final SimEvent first = future.first();
+        if(first.getTime() > until || !isParallelizableEvent(first)) {
+            return false;
         }
 
-        return false;
+        final double windowLength = getLookahead();
+        windowStart = first.getTime();
+        windowEnd = windowStart + windowLength;
+        windowUntil = until;
+
+        final List<LogicalProcess> activeList = new ArrayList<>();
+        final BitSet active = new BitSet(logicalProcesses.size());
+        while(!future.isEmpty()) {
+            final SimEvent evt = future.first();
+            if(evt.getTime() > until || (windowLength > 0 ? evt.getTime() >= windowEnd : evt.getTime() != windowStart)) {
+                break;
+            }
+
+            if(!isParallelizableEvent(evt)) {
+                windowEnd = Math.min(windowEnd, evt.getTime());
+                break;
+            }
+
+            future.remove(evt);
+            futureEventsBySource.remove(evt);
+            final LogicalProcess lp = entitiesLogicalProcess.get(evt.getDestination());
+            lp.addLocalEvent(evt, false);
+            if(!active.get(lp.getId())) {
+                active.set(lp.getId());
+                activeList.add(lp);
+            }
+        }
+
+        runLogicalProcesses(activeList);
+        mergeParallelWindow(activeList);
+        return true;
+    }
+
+    /**
+     * Checks if there is some clock tick listener (periodic or not).
+     * Since the clock just advances after a parallel window,
+     * events are processed sequentially while there are such listeners,
+     * so that they are notified at every clock tick and see the state of the simulation at that time.
+     * @return
+     */
+    private boolean hasClockTickListeners() {
+        return !onClockTickListeners.isEmpty() || !periodicClockTickListeners.isEmpty();
+    }
+
+    /**
+     * Checks if an event can be processed inside a {@link LogicalProcess}.
+     * @param evt the event to check
+     * @return true if the event is sent to a runnable entity that belongs to a LP, false otherwise
+     */
+    private boolean isParallelizableEvent(final SimEvent evt) {
+        return evt.getType() == SimEvent.Type.SEND &&
+               evt.getDestination().getState() == SimEntity.State.RUNNABLE &&
+               entitiesLogicalProcess.containsKey(evt.getDestination());
+    }
+
+    /**
+     * Processes the events of the current window for a list of {@link LogicalProcess}es.
+     * A single LP is directly executed by the current thread.
+     * @param activeList the list of LPs having events in the current window
+     */
+    private void runLogicalProcesses(final List<LogicalProcess> activeList) {
+        if(activeList.size() == 1) {
+            runLogicalProcess(activeList.get(0));
+            return;
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>(activeList.size());
+        for (final LogicalProcess lp : activeList) {
+            tasks.add(() -> { runLogicalProcess(lp); return null; });
+        }
+
+        invokeInParallel(parallelExecutor, tasks);
+    }
+
+    private void runLogicalProcess(final LogicalProcess lp) {
+        runningLogicalProcess.set(lp);
+        try {
+            lp.processLocalEvents();
+        } finally {
+            runningLogicalProcess.remove();
+        }
+    }
+
+    /**
+     * Delivers the events sent during the current window, following the order of the {@link LogicalProcess}es ids.
+     * Then, notifies listeners about the processed events in time order
+     * (events at the same time follow the order of the LPs ids),
+     * while {@link #clock()} returns the time of the notified event.
+     * @param activeList the list of LPs that had events in the current window
+     */
+    private void mergeParallelWindow(final List<LogicalProcess> activeList) {
+        activeList.sort(Comparator.comparingInt(LogicalProcess::getId));
+        double maxClock = windowStart;
+        final List<SimEvent> processedEvents = new ArrayList<>();
+        for (final LogicalProcess lp : activeList) {
+            addFutureEvents(lp.getOutbox());
+            maxClock = Math.max(maxClock, lp.getClock());
+            processedEvents.addAll(lp.getProcessedEvents());
+        }
+
+        //The sort is stable, so events of a LP at the same time keep the order they were processed
+        processedEvents.sort(Comparator.comparingDouble(SimEvent::getTime));
+        for (final SimEvent evt : processedEvents) {
+            if(evt.getType() == SimEvent.Type.HOLD_DONE) {
+                markEntityReady(evt.getSource());
+            }
+
+            clock = evt.getTime();
+            notifyOnEventProcessingListeners(evt);
+            releaseEvent(evt);
+        }
+
+        setClock(maxClock);
+        for (final LogicalProcess lp : activeList) {
+            lp.getSpilledEvents().forEach(this::processSendEvent);
+            lp.clearWindow();
+        }
+    }
+
+    /**
+     * Adds to the {@link #future} queue the events sent while entities were processed in parallel,
+     * in the order they were sent.
+     * @param outbox the outbox containing the sent events
+     */
+    private void addFutureEvents(final EventOutbox outbox) {
+        final List<SimEvent> events = outbox.getEvents();
+        for (int i = 0; i < events.size(); i++) {
+            if(outbox.isFirst(i)) {
+                addFutureEventFirst(events.get(i));
+            } else {
+                addFutureEvent(events.get(i));
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link LogicalProcess} being executed by the current thread.
+     * @return the running LP or null if the current thread isn't processing a parallel window
+     */
+    private LogicalProcess getRunningLogicalProcess() {
+        return logicalProcesses.isEmpty() ? null : runningLogicalProcess.get();
     }
 
     /**
-     * Gets the minimum {@link Datacenter#getSchedulingInterval()} defined
-     * among all existing Datacenters.
+     * Gets the outbox of the entity being executed by the current thread
+     * during a {@link #enableParallelEntityDispatch(int) parallel entity dispatch}.
+     * @return the entity outbox or null if the current thread isn't executing an entity in parallel
+     */
+    private EventOutbox getRunningEntityOutbox() {
+        return entityDispatchPool == null ? null : runningEntityOutbox.get();
+    }
+
+    /**
+     * Adds an event sent by an entity while its {@link LogicalProcess} is processing
+     * the current window. Events sent to the same LP before the window ends are processed
+     * by it inside the window, as well as the {@link SimEvent.Type#HOLD_DONE} events
+     * of its entities pausing for less than the lookahead, which don't concern other LPs.
+     * Events happening after the window are delivered when it finishes.
      *
-     * @return the minimum {@link Datacenter#getSchedulingInterval()}
-     *         between all Datacenters or {@link #getMinTimeBetweenEvents()}
-     *         in case no Datacenter has its scheduling interval set
+     * @param lp the LP the sender belongs to
+     * @param evt the sent event
+     * @param first indicates if the event must have priority over other ones at the same time
+     * @throws IllegalStateException when the event happens inside the window
+     *         but cannot be processed by the sender LP, meaning the lookahead was violated
+     */
+    private void sendFromLogicalProcess(final LogicalProcess lp, final SimEvent evt, final boolean first) {
+        if(evt.getTime() >= windowEnd || evt.getTime() > windowUntil) {
+            lp.addOutboxEvent(evt, first);
+            return;
+        }
+
+        if(evt.getType() == SimEvent.Type.SEND && lp.contains(evt.getDestination()) ||
+           evt.getType() == SimEvent.Type.HOLD_DONE && lp.contains(evt.getSource()))
+        {
+            lp.addLocalEvent(evt, first);
+            return;
+        }
+
+        throw new IllegalStateException(
+            String.format(
+                "%s sent an event at time %.2f to %s, which is inside the parallel window ending at %.2f. " +
+                "The lookahead (%.2f) must be smaller than the minimum delay for events sent between logical processes. " +
+                "Reduce it by calling setLookahead() or disable the parallel execution.",
+                evt.getSource(), evt.getTime(), evt.getDestination(), windowEnd, getLookahead()));
+    }
+
+    /**
+     * Checks if the clock has to be advanced when there are no future events,
+     * because a termination time is set and dynamic events may still arrive.
+     * If so, advances the clock.
+     *
+     * @param until the maximum time to process events
+     * @return true if the clock was advanced, false otherwise
+     */
+    private boolean isToWaitClockToReachTerminationTime(final double until) {
+        if(!isTerminationTimeSet()){
+            return false;
+        }
+
+        if(idleSkipAhead){
+            final double wakeUpTime = nextIdleWakeUpTime(until);
+            if(wakeUpTime > clock) {
+                LOGGER.info(
+                    "{}: Simulation: No events to process. Skipping ahead to {} (termination time set: {})",
+                    clockStr(), wakeUpTime, terminationTime);
+                setClock(wakeUpTime);
+                return true;
+            }
+        }
+
+        final double increment = minDatacentersSchedulingInterval();
+        final String info = increment == minTimeBetweenEvents
+            ? "using getMinTimeBetweenEvents() since a Datacenter schedulingInterval was not set"
+            : "Datacenter.getSchedulingInterval()";
+
+        /*If a termination time is set, even if there is no events to process,
+        * the simulation must keep running waiting for dynamic events
+        * (such as the dynamic arrival of VMs or Cloudlets).
+        * Without increasing the time, the simulation stops due to lack of new events.*/
+        LOGGER.info(
+            "{}: Simulation: Waiting more events or the clock to reach {} (the termination time set). Checking new events in {} seconds ({})",
+            clockStr(), terminationTime, increment, info);
+        setClock(clock + increment);
+        return true;
+    }
+
+    /**
+     * Gets the next time the clock must stop when there is no future event
+     * and the {@link #enableIdleSkipAhead() idle skip-ahead} is enabled.
+     * It's the earliest time among the {@link #requestWakeUp(double) requested wake-up times},
+     * the next notification of {@link #addOnClockTickListener(EventListener, double, double) periodic clock tick listeners},
+     * the termination time and the given limit.
+     *
+     * @param until the maximum time to process events
+     * @return the next wake-up time
+     */
+    private double nextIdleWakeUpTime(final double until) {
+        wakeUpTimes.headSet(clock, true).clear();
+        final double termination = newTerminationTime == -1 ? terminationTime : newTerminationTime;
+        final double nextWakeUp = wakeUpTimes.isEmpty() ? termination : Math.min(wakeUpTimes.first(), termination);
+        return Math.min(Math.min(nextWakeUp, periodicClockTickListeners.getNextTime()), until);
+    }
+
+    /**
+     * Gets the minimum scheduling interval among the registered Datacenters,
+     * which is cached by the {@link CloudInformationService}.
+     * @return the minimum scheduling interval or the {@link #getMinTimeBetweenEvents()} if no interval is set
      */
     private double minDatacentersSchedulingInterval() {
-        return cis
-                .getDatacenterList()
-                .stream()
-                .mapToDouble(Datacenter::getSchedulingInterval)
-                .filter(interval -> interval > 0)
-                .min().orElse(minTimeBetweenEvents);
+        final double interval = cis.getMinSchedulingInterval();
+        return interval > 0 ? interval : minTimeBetweenEvents;
     }
 
+    /**
+     * Removes from the {@link #future} queue and processes all events
+     * happening at the same time of the first one.
+     * Only the events being processed are visited,
+     * instead of iterating over all the future events.
+     *
+     * @param firstEvent the first event in the future queue
+     */
     private void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
-        processEvent(firstEvent);
-        future.remove(firstEvent);
-
-        //Uses iterator to increase efficiency and avoid ConcurrentModificationException while removing
-        for(final Iterator<SimEvent> it = future.iterator(); it.hasNext();){
-            SimEvent evt = it.next();
-            if(evt.getTime() == firstEvent.getTime()){
-                processEvent(evt);
-                it.remove();
+        for (final SimEvent evt : future.pollEventsAt(firstEvent.getTime())) {
+            futureEventsBySource.remove(evt);
+            processEvent(evt);
+
+            //SEND events are released after the destination entity processes them
+            if(evt.getType() != SimEvent.Type.SEND) {
+                releaseEvent(evt);
             }
         }
     }
 
     /**
-     * Gets the list of entities that are in {@link SimEntity.State#RUNNABLE}
-     * and execute them.
+     * Executes the {@link #readyEntities ready entities} that are in {@link SimEntity.State#RUNNABLE},
+     * following their order in the {@link #entities} list.
+     * Entities that are runnable but didn't become ready
+     * have no event to process, so they aren't visited.
      */
-    @SuppressWarnings("ForLoopReplaceableByForEach")
     private void executeRunnableEntities(final double until) {
-        /*Uses an indexed for instead of anything else to avoid
-        ConcurrencyModificationException when a HostFaultInjection is created inside a Datacenter*/
-        for (int i = 0; i < entities.size(); i++) {
-            CloudSimEntity ent = entities.get(i);
+        if(isParallelEntityDispatchEnabled()) {
+            executeRunnableDatacentersInParallel(until);
+        }
+
+        /*Looks for the next ready entity after each execution
+        since a HostFaultInjection may be created inside a Datacenter, adding an entity to the end of the list*/
+        for (int i = readyEntities.nextSetBit(0); i >= 0; i = readyEntities.nextSetBit(i + 1)) {
+            readyEntities.clear(i);
+            final CloudSimEntity ent = entities.get(i);
             if (ent.getState() == SimEntity.State.RUNNABLE) {
                 ent.run(until);
+                releaseConsumedEvents();
+                keepEntityReadyIfPendingEvents(ent, i);
             }
         }
     }
 
+    /**
+     * Marks an entity as ready to run at the next clock tick.
+     * It must be called every time an entity becomes {@link SimEntity.State#RUNNABLE}
+     * or receives an event in the {@link #deferred} queue.
+     * @param entity the entity to mark as ready
+     */
+    private void markEntityReady(final SimEntity entity) {
+        final Integer index = entityIndexes.get(entity);
+        if (index != null) {
+            readyEntities.set(index);
+        }
+    }
+
+    /**
+     * Keeps an entity that has just run as ready,
+     * if it's still runnable and has events it didn't process
+     * (such as events after the time the simulation was run until).
+     * @param entity the entity that has just run
+     * @param index the position of the entity in the {@link #entities} list
+     */
+    private void keepEntityReadyIfPendingEvents(final CloudSimEntity entity, final int index) {
+        if (entity.getState() == SimEntity.State.RUNNABLE && deferred.hasEvents(entity)) {
+            readyEntities.set(index);
+        }
+    }
+
+    /**
+     * Executes the {@link SimEntity.State#RUNNABLE} {@link Datacenter}s in parallel,
+     * so that each one processes its own events (in the order they were received)
+     * concurrently with the other Datacenters.
+     * Other entities (such as brokers) share objects with the Datacenters
+     * and are left to be executed sequentially afterwards.
+     *
+     * <p>Events sent by each Datacenter are kept in its own {@link EventOutbox}
+     * and the actions it {@link DeferredActions defers} (such as changing broker lists,
+     * returning Cloudlets or reading the controllers' placement maps) are kept apart too.
+     * After all Datacenters finish, their events are added to the {@link #future} queue
+     * and their actions are run, Datacenter by Datacenter, following the order of the entities list.</p>
+     *
+     * @param until the maximum time of events to process
+     */
+    private void executeRunnableDatacentersInParallel(final double until) {
+        final int size = entities.size();
+        final List<CloudSimEntity> runnableList = new ArrayList<>();
+        for (int i = readyEntities.nextSetBit(0); i >= 0 && i < size; i = readyEntities.nextSetBit(i + 1)) {
+            final CloudSimEntity ent = entities.get(i);
+            if (ent instanceof Datacenter && ent.getState() == SimEntity.State.RUNNABLE) {
+                runnableList.add(ent);
+            }
+        }
+
+        if(runnableList.size() < 2) {
+            return;
+        }
+
+        runnableList.forEach(ent -> readyEntities.clear(entityIndexes.get(ent)));
+
+        final List<EventOutbox> outboxes = new ArrayList<>(runnableList.size());
+        final List<List<Runnable>> deferredActions = new ArrayList<>(Collections.nCopies(runnableList.size(), null));
+        final List<Callable<Void>> tasks = new ArrayList<>(runnableList.size());
+        for (int k = 0; k < runnableList.size(); k++) {
+            final CloudSimEntity ent = runnableList.get(k);
+            final EventOutbox outbox = new EventOutbox();
+            final int index = k;
+            outboxes.add(outbox);
+            tasks.add(() -> {
+                runningEntityOutbox.set(outbox);
+                try {
+                    deferredActions.set(index, DeferredActions.collect(() -> ent.run(until)));
+                } finally {
+                    runningEntityOutbox.remove();
+                }
+
+                return null;
+            });
+        }
+
+        invokeInParallel(entityDispatchPool, tasks);
+        for (int k = 0; k < runnableList.size(); k++) {
+            addFutureEvents(outboxes.get(k));
+            deferredActions.get(k).forEach(Runnable::run);
+        }
+
+        releaseConsumedEvents();
+        runnableList.forEach(ent -> keepEntityReadyIfPendingEvents(ent, entityIndexes.get(ent)));
+    }
+
+    /**
+     * Runs a list of tasks in parallel, while the simulation is set to
+     * {@link #processEventsInParallel process events in parallel}.
+     * @param executor the executor to run the tasks
+     * @param tasks the tasks to run
+     */
+    private void invokeInParallel(final ExecutorService executor, final List<Callable<Void>> tasks) {
+        processEventsInParallel = true;
+        try {
+            for (final Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing events in parallel.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        } finally {
+            processEventsInParallel = false;
+        }
+    }
+
+    /**
+     * Returns the events processed by the last executed entity to the {@link #eventPool}.
+     */
+    private void releaseConsumedEvents() {
+        if(consumedEvents.isEmpty()) {
+            return;
+        }
+
+        consumedEvents.forEach(this::releaseEvent);
+        consumedEvents.clear();
+    }
+
+    /**
+     * Returns an already processed event to the {@link #eventPool},
+     * unless it was sent again by an entity.
+     * @param evt the event to release
+     */
+    private void releaseEvent(final SimEvent evt) {
+        if(eventPool.isEnabled() && !futureEventsBySource.contains(evt)) {
+            eventPool.release(evt);
+        }
+    }
+
+    /**
+     * Keeps track of an event delivered to an entity,
+     * so that it can be returned to the {@link #eventPool} after being processed.
+     * @param evt the delivered event
+     */
+    private void addConsumedEvent(final SimEvent evt) {
+        if(eventPool.isEnabled() && evt != SimEvent.NULL) {
+            consumedEvents.add(evt);
+        }
+    }
+
     private void executeRunnableEntities() {
         executeRunnableEntities(Double.MAX_VALUE);
     }
@@ -602,7 +1336,7 @@ public class CloudSim implements Simulation {
 
     @Override
     public void send(final SimEntity src, final SimEntity dest, final double delay, final int tag, final Object data) {
-        send(new CloudSimEvent(SimEvent.Type.SEND, delay, src, dest, tag, data));
+        send(newEvent(SimEvent.Type.SEND, delay, src, dest, tag, data));
     }
 
     @Override
@@ -610,18 +1344,69 @@ public class CloudSim implements Simulation {
         requireNonNull(evt);
         //Events with a negative tag have higher priority (except the "end of the simulation" event)
         if(evt.getTag() < 0 && evt.getTag() != CloudSimTags.END_OF_SIMULATION)
-            future.addEventFirst(evt);
-        else future.addEvent(evt);
+            addFutureEventFirst(evt);
+        else addFutureEvent(evt);
     }
 
     @Override
     public void sendFirst(final SimEntity src, final SimEntity dest, final double delay, final int tag, final Object data) {
-        sendFirst(new CloudSimEvent(SimEvent.Type.SEND, delay, src, dest, tag, data));
+        sendFirst(newEvent(SimEvent.Type.SEND, delay, src, dest, tag, data));
     }
 
     @Override
     public void sendFirst(SimEvent evt) {
+        addFutureEventFirst(evt);
+    }
+
+    /**
+     * Creates an event using the {@link #eventPool}.
+     * Since the pool is not thread-safe, events sent by
+     * {@link LogicalProcess}es running in parallel are directly created.
+     */
+    private SimEvent newEvent(
+        final SimEvent.Type type, final double delay,
+        final SimEntity src, final SimEntity dest,
+        final int tag, final Object data)
+    {
+        if(processEventsInParallel) {
+            return new CloudSimEvent(type, delay, src, dest, tag, data);
+        }
+
+        return eventPool.acquire(type, delay, src, dest, tag, data);
+    }
+
+    private void addFutureEvent(final SimEvent evt) {
+        final LogicalProcess lp = getRunningLogicalProcess();
+        if(lp != null){
+            sendFromLogicalProcess(lp, evt, false);
+            return;
+        }
+
+        final EventOutbox outbox = getRunningEntityOutbox();
+        if(outbox != null){
+            outbox.add(evt, false);
+            return;
+        }
+
+        future.addEvent(evt);
+        futureEventsBySource.add(evt);
+    }
+
+    private void addFutureEventFirst(final SimEvent evt) {
+        final LogicalProcess lp = getRunningLogicalProcess();
+        if(lp != null){
+            sendFromLogicalProcess(lp, evt, true);
+            return;
+        }
+
+        final EventOutbox outbox = getRunningEntityOutbox();
+        if(outbox != null){
+            outbox.add(evt, true);
+            return;
+        }
+
         future.addEventFirst(evt);
+        futureEventsBySource.add(evt);
     }
 
     @Override
@@ -629,69 +1414,87 @@ public class CloudSim implements Simulation {
         src.setState(SimEntity.State.WAITING);
         if (predicate != ANY_EVT) {
             // If a predicate has been used, store it in order to check incoming events that matches it
-            waitPredicates.put(src, predicate);
+            sync(() -> waitPredicates.put(src, predicate));
         }
     }
 
     @Override
     public SimEvent select(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        final SimEvent evt = findFirstDeferred(dest, predicate);
-        if(evt != SimEvent.NULL) {
-            deferred.remove(evt);
-        }
-
-        return evt;
+        return syncAndGet(() -> {
+            final SimEvent evt = deferred.removeFirst(dest, predicate);
+            addConsumedEvent(evt);
+            return evt;
+        });
     }
 
     @Override
     public SimEvent findFirstDeferred(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        return filterEventsToDestinationEntity(deferred, predicate, dest).findFirst().orElse(SimEvent.NULL);
-    }
-
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
-     *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @param dest Id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEventsToDestinationEntity(final EventQueue queue, final Predicate<SimEvent> predicate, final SimEntity dest) {
-        return filterEvents(queue, predicate.and(evt -> evt.getDestination() == dest));
+        return syncAndGet(() -> deferred.findFirst(dest, predicate));
     }
 
     @Override
     public SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
-        final SimEvent canceled =
-                future.stream()
-                      .filter(isEventSourceEqualsTo(predicate, src))
-                      .findFirst()
-                      .orElse(SimEvent.NULL);
-        future.remove(canceled);
+        final SimEvent canceled = syncAndGet(() -> cancelFutureEvent(src, predicate));
+        if(canceled != SimEvent.NULL) {
+            return canceled;
+        }
+
+        final LogicalProcess lp = getRunningLogicalProcess();
+        if(lp != null) {
+            return lp.cancel(src, predicate);
+        }
+
+        final EventOutbox outbox = getRunningEntityOutbox();
+        if(outbox != null) {
+            final List<SimEvent> removed = outbox.remove(predicate.and(evt -> evt.getSource() == src), true);
+            return removed.isEmpty() ? SimEvent.NULL : removed.get(0);
+        }
+
+        return SimEvent.NULL;
+    }
+
+    private SimEvent cancelFutureEvent(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final SimEvent canceled = futureEventsBySource.findFirst(src, predicate);
+        if(canceled != SimEvent.NULL) {
+            cancelFutureEvent(canceled);
+        }
+
         return canceled;
     }
 
     @Override
-    public boolean cancelAll(final SimEntity src, final Predicate<SimEvent> predicate) {
-        final int previousSize = future.size();
-        future.removeIf(isEventSourceEqualsTo(predicate, src));
-        return previousSize < future.size();
+    public boolean cancel(final SimEvent evt) {
+        final LogicalProcess lp = getRunningLogicalProcess();
+        final EventOutbox outbox = getRunningEntityOutbox();
+        return syncAndGet(() -> cancelFutureEvent(evt)) ||
+               (lp != null && lp.cancel(evt)) ||
+               (outbox != null && outbox.remove(evt));
     }
 
-    private Predicate<SimEvent> isEventSourceEqualsTo(final Predicate<SimEvent> predicate, final SimEntity src) {
-        return predicate.and(evt -> evt.getSource().equals(src));
+    private boolean cancelFutureEvent(final SimEvent evt) {
+        if(!futureEventsBySource.remove(evt)) {
+            return false;
+        }
+
+        return future.remove(evt);
     }
 
-    /**
-     * Gets a stream of events inside a specific queue that match a given predicate.
-     *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @return a Stream of events from the queue
-     */
-    private Stream<SimEvent> filterEvents(final EventQueue queue, final Predicate<SimEvent> predicate) {
-        return queue.stream().filter(predicate);
+    @Override
+    public boolean cancelAll(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final boolean canceled = syncAndGet(() -> {
+            boolean removed = false;
+            for (final SimEvent evt : futureEventsBySource.findAll(src, predicate)) {
+                removed |= cancelFutureEvent(evt);
+            }
+
+            return removed;
+        });
+
+        final LogicalProcess lp = getRunningLogicalProcess();
+        final EventOutbox outbox = getRunningEntityOutbox();
+        return (lp != null && !lp.cancel(src, predicate, false).isEmpty()) ||
+               (outbox != null && !outbox.remove(predicate.and(evt -> evt.getSource() == src), false).isEmpty()) ||
+               canceled;
     }
 
     /**
@@ -706,9 +1509,27 @@ public class CloudSim implements Simulation {
 
         setClock(evt.getTime());
         processEventByType(evt);
+        notifyOnEventProcessingListeners(evt);
+    }
+
+    /**
+     * Notifies the {@link #onEventProcessingListeners} that an event was processed,
+     * recording the time spent if the {@link #getProfiler() profiler} is enabled.
+     * @param evt the processed event
+     */
+    private void notifyOnEventProcessingListeners(final SimEvent evt) {
+        if(onEventProcessingListeners.isEmpty()) {
+            return;
+        }
+
+        final long start = profiler.isEnabled() ? System.nanoTime() : 0;
         for (final EventListener<SimEvent> listener : onEventProcessingListeners) {
             listener.update(evt);
         }
+
+        if(profiler.isEnabled()) {
+            profiler.recordEventProcessingListeners(System.nanoTime() - start);
+        }
     }
 
     /**
@@ -732,6 +1553,21 @@ public class CloudSim implements Simulation {
         else runnable.run();
     }
 
+    /**
+     * Checks if the simulation is {@link #processEventsInParallel processing events in parallel}
+     * and then synchronizes a code block that returns a value.
+     *
+     * @param supplier the code block to be called synchronously
+     * @param <T> the type of the value returned by the code block
+     * @return the value returned by the code block
+     * @see #sync(Runnable)
+     */
+    private <T> T syncAndGet(final Supplier<T> supplier){
+        if(processEventsInParallel)
+            synchronized(this){ return supplier.get(); }
+        return supplier.get();
+    }
+
     /**
      * Notifies all Listeners about onClockTick event when the simulation clock changes.
      * If multiple events are received consecutively but for the same simulation time,
@@ -746,7 +1582,12 @@ public class CloudSim implements Simulation {
             if (circularClockTimeQueue[0] < circularClockTimeQueue[1])
             {
                 lastClockTickListenersUpdate = circularClockTimeQueue[0];
+                final long start = profiler.isEnabled() ? System.nanoTime() : 0;
                 notifyEventListeners(onClockTickListeners, lastClockTickListenersUpdate);
+                periodicClockTickListeners.notifyListeners(lastClockTickListenersUpdate);
+                if(profiler.isEnabled()) {
+                    profiler.recordClockTickListeners(System.nanoTime() - start);
+                }
             }
         }
     }
@@ -800,6 +1641,7 @@ public class CloudSim implements Simulation {
         }
 
         evt.getSource().setState(SimEntity.State.RUNNABLE);
+        markEntityReady(evt.getSource());
     }
 
     private void processSendEvent(final SimEvent evt) {
@@ -811,9 +1653,11 @@ public class CloudSim implements Simulation {
         if (destEnt.getState() == SimEntity.State.WAITING) {
             final Predicate<SimEvent> p = waitPredicates.get(destEnt);
             if (p == null || evt.getTag() == 9999 || p.test(evt)) {
-                destEnt.setEventBuffer(new CloudSimEvent(evt));
+                destEnt.setEventBuffer(evt);
+                addConsumedEvent(evt);
                 destEnt.setState(SimEntity.State.RUNNABLE);
                 waitPredicates.remove(destEnt);
+                markEntityReady(destEnt);
             } else {
                 deferred.addEvent(evt);
             }
@@ -822,6 +1666,7 @@ public class CloudSim implements Simulation {
         }
 
         deferred.addEvent(evt);
+        markEntityReady(destEnt);
     }
 
     private void startEntitiesIfNotRunning() {
@@ -839,6 +1684,11 @@ public class CloudSim implements Simulation {
         return running;
     }
 
+    @Override
+    public boolean isProcessingConcurrently() {
+        return getRunningLogicalProcess() != null || getRunningEntityOutbox() != null;
+    }
+
     @Override
     public boolean pause() {
         return pause(clock);
@@ -872,12 +1722,12 @@ public class CloudSim implements Simulation {
 
     @Override
     public void pauseEntity(final SimEntity src, final double delay) {
-        final SimEvent evt = new CloudSimEvent(SimEvent.Type.HOLD_DONE, delay, src);
+        final SimEvent evt = newEvent(SimEvent.Type.HOLD_DONE, delay, src, SimEntity.NULL, -1, null);
         addHoldingFutureEvent(src, evt);
     }
 
     private void addHoldingFutureEvent(SimEntity src, SimEvent evt) {
-        future.addEvent(evt);
+        addFutureEvent(evt);
         src.setState(SimEntity.State.HOLDING);
     }
 
@@ -887,7 +1737,7 @@ public class CloudSim implements Simulation {
      * @param delay How many seconds after the current time the entity has to be held
      */
     protected void holdEntity(final SimEntity src, final long delay) {
-        final SimEvent evt = new CloudSimEvent(SimEvent.Type.HOLD_DONE, delay, src);
+        final SimEvent evt = newEvent(SimEvent.Type.HOLD_DONE, delay, src, SimEntity.NULL, -1, null);
         addHoldingFutureEvent(src, evt);
     }
 
@@ -931,9 +1781,9 @@ public class CloudSim implements Simulation {
 
     @Override
     public long getNumberOfFutureEvents(final Predicate<SimEvent> predicate){
-        return future.stream()
+        return syncAndGet(() -> future.stream()
                 .filter(predicate)
-                .count();
+                .count());
     }
 
     private boolean isThereFutureEvtsAndNextOneHappensAfterTimeToPause() {
@@ -950,7 +1800,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().getTime() >= pauseAt;
+        return future.first().getTime() >= pauseAt;
     }
 
     @Override
@@ -998,9 +1848,29 @@ public class CloudSim implements Simulation {
         return this;
     }
 
+    @Override
+    public Simulation addOnClockTickListener(final EventListener<EventInfo> listener, final double period) {
+        return addOnClockTickListener(listener, period, 0);
+    }
+
+    @Override
+    public Simulation addOnClockTickListener(final EventListener<EventInfo> listener, final double period, final double offset) {
+        if(period <= 0) {
+            throw new IllegalArgumentException("The clock tick listener period must be greater than zero.");
+        }
+
+        if(offset < 0) {
+            throw new IllegalArgumentException("The clock tick listener offset cannot be negative.");
+        }
+
+        periodicClockTickListeners.add(requireNonNull(listener), period, offset, clock);
+        return this;
+    }
+
     @Override
     public boolean removeOnClockTickListener(final EventListener<? extends EventInfo> listener) {
-        return onClockTickListeners.remove(requireNonNull(listener));
+        final boolean removed = onClockTickListeners.remove(requireNonNull(listener));
+        return periodicClockTickListeners.remove(listener) || removed;
     }
 
     @Override
@@ -1011,6 +1881,264 @@ public class CloudSim implements Simulation {
     @Override
     public void setNetworkTopology(final NetworkTopology networkTopology) {
         this.networkTopology = networkTopology;
+        this.topologyLookahead = -1;
+    }
+
+    /**
+     * Creates a {@link LogicalProcess} (LP) to process the events of a Datacenter and of other entities
+     * that just interact with it (such as brokers that submit VMs only to such a Datacenter)
+     * in parallel with other LPs.
+     * Entities that aren't assigned to any LP (such as the {@link CloudInformationService})
+     * are global and their events are always processed sequentially.
+     *
+     * <p>LPs are only executed in parallel after {@link #enableParallelExecution(int)} is called
+     * and there are at least 2 LPs.</p>
+     *
+     * @param datacenter the Datacenter represented by the LP
+     * @param entities other entities to be assigned to the LP
+     * @return the created LP
+     * @throws IllegalArgumentException when some of the given entities was already assigned to a LP
+     */
+    public LogicalProcess addLogicalProcess(final Datacenter datacenter, final SimEntity... entities) {
+        final LogicalProcess lp = new LogicalProcess(logicalProcesses.size(), datacenter);
+        for (final SimEntity entity : entities) {
+            lp.addEntity(entity);
+        }
+
+        for (final SimEntity entity : lp.getEntities()) {
+            if(entitiesLogicalProcess.containsKey(entity)) {
+                throw new IllegalArgumentException(entity + " already belongs to " + entitiesLogicalProcess.get(entity));
+            }
+        }
+
+        lp.getEntities().forEach(entity -> entitiesLogicalProcess.put(entity, lp));
+        logicalProcesses.add(lp);
+        topologyLookahead = -1;
+        return lp;
+    }
+
+    /**
+     * Gets a read-only list of the {@link LogicalProcess}es created for this simulation.
+     * @return
+     * @see #addLogicalProcess(Datacenter, SimEntity...)
+     */
+    public List<LogicalProcess> getLogicalProcesses() {
+        return Collections.unmodifiableList(logicalProcesses);
+    }
+
+    /**
+     * Enables the conservative parallel execution of events,
+     * where {@link LogicalProcess}es process the events sent to their own entities
+     * concurrently, inside time windows defined by the {@link #getLookahead() lookahead}.
+     *
+     * <p>Events are processed sequentially while there are
+     * {@link #addOnClockTickListener(EventListener) clock tick listeners},
+     * since they couldn't be notified at the times inside a window.
+     * {@link #addOnEventProcessingListener(EventListener) Event processing listeners}
+     * are notified about events processed in parallel after each window,
+     * in time order and with the {@link #clock()} set to the time of each event.</p>
+     *
+     * <p><b>WARNING:</b> this is an experimental feature.
+     * Entities in different LPs must not share mutable state.
+     * Datacenters reading the placement maps shared by the controllers
+     * inside a window throw an {@link IllegalStateException}.
+     * Results may be different from the sequential execution
+     * (but they don't change between parallel runs).</p>
+     *
+     * @param threads the number of threads to use, or zero to use the number of available processors
+     * @return
+     * @see #addLogicalProcess(Datacenter, SimEntity...)
+     */
+    public CloudSim enableParallelExecution(final int threads) {
+        disableParallelExecution();
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        parallelExecutor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            final Thread thread = new Thread(runnable, "CloudSim-LogicalProcess");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return this;
+    }
+
+    /**
+     * Disables the {@link #enableParallelExecution(int) parallel execution}.
+     * @return
+     */
+    public CloudSim disableParallelExecution() {
+        if(parallelExecutor != null) {
+            parallelExecutor.shutdown();
+            parallelExecutor = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the {@link #enableParallelExecution(int) parallel execution} is enabled.
+     * @return
+     */
+    public boolean isParallelExecutionEnabled() {
+        return parallelExecutor != null;
+    }
+
+    /**
+     * Enables the parallel dispatch of events to entities.
+     * When multiple entities have events to process at the current time
+     * (such as the processing updates of different Datacenters happening at the same scheduling interval),
+     * each entity processes its events (in the order they were received) concurrently with the other ones,
+     * using a {@link ForkJoinPool}.
+     *
+     * <p>Just {@link Datacenter}s are executed concurrently, since brokers and other entities
+     * share Vm and Cloudlet objects with them. Events sent by each Datacenter
+     * and the actions it {@link DeferredActions defers} (which include changes visible to brokers
+     * and the access to the controllers' placement maps) are just applied after all Datacenters finish,
+     * following the order Datacenters were added to the simulation.
+     * This way, results don't depend on how threads are scheduled,
+     * but they may differ from the sequential execution, since such actions
+     * are applied after the Datacenter processes all its events at the current time.</p>
+     *
+     * <p><b>WARNING:</b> this is an experimental feature.
+     * Datacenters must not share other mutable state (including static attributes)
+     * and their listeners are notified from different threads.</p>
+     *
+     * @param parallelism the number of threads to use, or zero to use the number of available processors
+     * @return
+     */
+    public CloudSim enableParallelEntityDispatch(final int parallelism) {
+        disableParallelEntityDispatch();
+        entityDispatchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        return this;
+    }
+
+    /**
+     * Disables the {@link #enableParallelEntityDispatch(int) parallel entity dispatch}.
+     * @return
+     */
+    public CloudSim disableParallelEntityDispatch() {
+        if(entityDispatchPool != null) {
+            entityDispatchPool.shutdown();
+            entityDispatchPool = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the {@link #enableParallelEntityDispatch(int) parallel entity dispatch} is enabled.
+     * @return
+     */
+    public boolean isParallelEntityDispatchEnabled() {
+        return entityDispatchPool != null;
+    }
+
+    /**
+     * Enables the idle skip-ahead, which changes how the clock advances when a
+     * {@link #terminateAt(double) termination time} is set and there are no future events.
+     * By default, the clock is increased by the minimum {@link Datacenter#getSchedulingInterval()}
+     * until the termination time is reached, running the entire event loop at every step.
+     * With the skip-ahead enabled, the clock jumps straight to the next known wake-up point:
+     * the earliest {@link #requestWakeUp(double) requested wake-up time},
+     * the next notification of {@link #addOnClockTickListener(EventListener, double, double) periodic clock tick listeners}
+     * or the termination time.
+     *
+     * <p>Dynamic arrivals of VMs and Cloudlets (submitted with a delay)
+     * are future events and are not affected.
+     * However, clock tick listeners are not notified at every scheduling interval while the simulation is idle.
+     * If a listener creates VMs or Cloudlets at specific times,
+     * it must request the simulation to wake up at such times.</p>
+     *
+     * @see #disableIdleSkipAhead()
+     */
+    public void enableIdleSkipAhead() {
+        this.idleSkipAhead = true;
+    }
+
+    /**
+     * Disables the {@link #enableIdleSkipAhead() idle skip-ahead}.
+     */
+    public void disableIdleSkipAhead() {
+        this.idleSkipAhead = false;
+    }
+
+    public boolean isIdleSkipAheadEnabled() {
+        return idleSkipAhead;
+    }
+
+    /**
+     * Requests the clock to stop at a given time when the simulation has no future events
+     * and the {@link #enableIdleSkipAhead() idle skip-ahead} is enabled,
+     * so that clock tick listeners are notified about such a time.
+     *
+     * @param time the time to wake up the simulation (in seconds)
+     * @return true if the wake-up was requested, false if the time is not after the current clock
+     */
+    public boolean requestWakeUp(final double time) {
+        if(time <= clock) {
+            return false;
+        }
+
+        return syncAndGet(() -> wakeUpTimes.add(time));
+    }
+
+    /**
+     * Gets the lookahead used for the {@link #enableParallelExecution(int) parallel execution},
+     * which is the length of the time windows where {@link LogicalProcess}es process events
+     * without synchronizing with each other.
+     * If it wasn't {@link #setLookahead(double) set}, it's the minimum delay
+     * in the {@link #getNetworkTopology() network topology} between the
+     * {@link LogicalProcess#getDatacenter() Datacenters} of different LPs.
+     * Entities of a LP sending events to other LPs or to global entities with a smaller delay
+     * are detected when the event is sent, which requires {@link #setLookahead(double) setting}
+     * a smaller lookahead.
+     * Without a network topology, it is zero, so that LPs just process in parallel
+     * events happening at the same time.
+     *
+     * @return
+     */
+    public double getLookahead() {
+        if(lookahead >= 0) {
+            return lookahead;
+        }
+
+        if(topologyLookahead < 0) {
+            topologyLookahead = computeTopologyLookahead();
+        }
+
+        return topologyLookahead;
+    }
+
+    /**
+     * Sets the lookahead used for the {@link #enableParallelExecution(int) parallel execution}.
+     * It must not be greater than the minimum delay of events sent between entities in
+     * different {@link LogicalProcess}es (such as the {@link Datacenter#getSchedulingInterval()}
+     * when LPs just interact through periodic events).
+     * Otherwise, an {@link IllegalStateException} is thrown when some event violates it.
+     *
+     * @param lookahead the lookahead to set or -1 to compute it from the network topology
+     * @return
+     * @see #getLookahead()
+     */
+    public CloudSim setLookahead(final double lookahead) {
+        this.lookahead = lookahead < 0 ? -1 : lookahead;
+        return this;
+    }
+
+    private double computeTopologyLookahead() {
+        if(networkTopology == null || networkTopology == NetworkTopology.NULL) {
+            return 0;
+        }
+
+        double min = Double.MAX_VALUE;
+        for (final LogicalProcess src : logicalProcesses) {
+            for (final LogicalProcess dest : logicalProcesses) {
+                if(src != dest) {
+                    min = Math.min(min, networkTopology.getDelay(src.getDatacenter().getId(), dest.getDatacenter().getId()));
+                }
+            }
+        }
+
+        return min == Double.MAX_VALUE ? 0 : min;
     }
 
     @Override
@@ -1025,14 +2153,34 @@ public class CloudSim implements Simulation {
 
     /**
      * Gets the maximum number of events that have ever existed at the same time
-     * inside the {@link FutureQueue}.
+     * inside the {@link FutureEventQueue}.
      */
     public long getMaxEventsNumber() {
         return future.getMaxEventsNumber();
     }
 
-    /** Gets the total number of events generated in the {@link FutureQueue} */
+    /** Gets the total number of events generated in the {@link FutureEventQueue} */
     public long getGeneratedEventsNumber() {
         return future.getSerial();
     }
+
+    /**
+     * Gets the pool used to create the events sent between entities.
+     * The pool is disabled by default, but it can be enabled
+     * to reuse processed events instead of allocating new ones,
+     * as long as entities and listeners don't keep references
+     * to events after processing them.
+     * The pool also provides counters of created and reused events.
+     *
+     * @return
+     * @see EventPool#setEnabled(boolean)
+     */
+    public EventPool getEventPool() {
+        return eventPool;
+    }
+
+    @Override
+    public SimulationProfiler getProfiler() {
+        return profiler;
+    }
 }
@@ -13,6 +13,7 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -23,7 +24,7 @@ import java.util.function.Predicate;
  * @author Marcos Dias de Assuncao
  * @since CloudSim Toolkit 1.0
  */
-public abstract class CloudSimEntity implements SimEntity {
+public abstract class CloudSimEntity implements SimEntity, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(CloudSimEntity.class.getSimpleName());
 
     /**
@@ -112,7 +113,12 @@ public abstract class CloudSimEntity implements SimEntity {
 
     @Override
     public boolean schedule(final SimEntity dest, final double delay, final int tag, final Object data) {
-        return schedule(new CloudSimEvent(delay, this, dest, tag, data));
+        if (!canSendEvent(dest, tag)) {
+            return false;
+        }
+
+        simulation.send(this, dest, delay, tag, data);
+        return true;
     }
 
     @Override
@@ -137,22 +143,38 @@ public abstract class CloudSimEntity implements SimEntity {
 
     @Override
     public boolean schedule(final SimEvent evt) {
-        if (!canSendEvent(evt)) {
+        if (!canSendEvent(evt.getDestination(), evt.getTag())) {
             return false;
         }
         simulation.send(evt);
         return true;
     }
 
-    private boolean canSendEvent(final SimEvent evt) {
+    /**
+     * Sends an event to another entity, returning the event sent
+     * so that it can be later cancelled by calling {@link #cancelEvent(SimEvent)}.
+     *
+     * @param dest  the destination entity
+     * @param delay How many seconds after the current simulation time the event should be sent
+     * @param tag   An user-defined number representing the type of event.
+     * @param data  The data to be sent with the event.
+     * @return the sent event, working as a cancellation handle;
+     *         or {@link SimEvent#NULL} if the event couldn't be sent
+     */
+    public SimEvent scheduleCancellable(final SimEntity dest, final double delay, final int tag, final Object data) {
+        final SimEvent evt = new CloudSimEvent(delay, this, dest, tag, data);
+        return schedule(evt) ? evt : SimEvent.NULL;
+    }
+
+    private boolean canSendEvent(final SimEntity dest, final int tag) {
         /**
          * If the simulation has finished and an  {@link CloudSimTags#END_OF_SIMULATION}
          * message is sent, it has to be processed to enable entities to shutdown.
          */
-        if (!simulation.isRunning() && evt.getTag() != CloudSimTags.END_OF_SIMULATION) {
+        if (!simulation.isRunning() && tag != CloudSimTags.END_OF_SIMULATION) {
             LOGGER.warn(
                 "{}: {}: Cannot send events before simulation starts or after it finishes. Trying to send message {} to {}",
-                getSimulation().clockStr(), this, evt.getTag(), evt.getDestination());
+                getSimulation().clockStr(), this, tag, dest);
             return false;
         }
 
@@ -220,12 +242,11 @@ public abstract class CloudSimEntity implements SimEntity {
      * @param data  The data to be sent with the event.
      */
     public void scheduleFirst(final SimEntity dest, final double delay, final int tag, final Object data) {
-        final CloudSimEvent evt = new CloudSimEvent(delay, this, dest, tag, data);
-        if (!canSendEvent(evt)) {
+        if (!canSendEvent(dest, tag)) {
             return;
         }
 
-        simulation.sendFirst(evt);
+        simulation.sendFirst(this, dest, delay, tag, data);
     }
 
     /**
@@ -271,6 +292,16 @@ public abstract class CloudSimEntity implements SimEntity {
         return simulation.isRunning() ? simulation.cancel(this, predicate) : SimEvent.NULL;
     }
 
+    /**
+     * Cancels a specific event sent by this entity, removing it from the future event queue.
+     *
+     * @param evt the event to cancel, as returned by {@link #scheduleCancellable(SimEntity, double, int, Object)}
+     * @return true if the event was cancelled; false if it was already processed or cancelled
+     */
+    public boolean cancelEvent(final SimEvent evt) {
+        return simulation.isRunning() && evt.getSource() == this && simulation.cancel(evt);
+    }
+
     /**
      * Gets the first event matching a predicate from the deferred queue, or if
      * none match, wait for a matching event to arrive.
@@ -320,7 +351,7 @@ public abstract class CloudSimEntity implements SimEntity {
         SimEvent evt = buffer == null ? getNextEvent(e -> e.getTime() <= until) : buffer;
 
         while (evt != SimEvent.NULL) {
-            processEvent(evt);
+            simulation.getProfiler().processEvent(this, evt);
             if (state != State.RUNNABLE) {
                 break;
             }
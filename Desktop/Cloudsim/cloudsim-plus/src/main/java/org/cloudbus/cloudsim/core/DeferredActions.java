@@ -0,0 +1,78 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers actions that change state shared by different simulation objects
+ * (such as sending events or notifying listeners), when such objects are updated in parallel.
+ * The actions requested while a task is {@link #collect(Runnable) collected} are kept,
+ * so that they can be run afterwards by a single thread, in a deterministic order.
+ * Out of such tasks, actions are just run immediately.
+ *
+ * @see org.cloudbus.cloudsim.datacenters.Datacenter#setHostCountForParallelUpdate(int)
+ */
+public final class DeferredActions {
+    /**
+     * The actions deferred by the task being collected by the current thread,
+     * or null if the thread isn't collecting a task.
+     */
+    private static final ThreadLocal<List<Runnable>> COLLECTED = new ThreadLocal<>();
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private DeferredActions(){/**/}
+
+    /**
+     * Runs an action immediately or defers it,
+     * if the current thread is running a task that is being {@link #collect(Runnable) collected}.
+     * @param action the action to run
+     */
+    public static void run(final Runnable action) {
+        final List<Runnable> actions = COLLECTED.get();
+        if (actions == null) {
+            action.run();
+            return;
+        }
+
+        actions.add(action);
+    }
+
+    /**
+     * Runs a task in the current thread, deferring the actions it requests by calling {@link #run(Runnable)}.
+     * @param task the task to run
+     * @return the list of deferred actions, in the order they were requested
+     */
+    public static List<Runnable> collect(final Runnable task) {
+        final List<Runnable> previous = COLLECTED.get();
+        final List<Runnable> actions = new ArrayList<>();
+        COLLECTED.set(actions);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                COLLECTED.remove();
+            } else {
+                COLLECTED.set(previous);
+            }
+        }
+
+        return actions;
+    }
+
+    /**
+     * Checks if the current thread is running a task that is being {@link #collect(Runnable) collected}.
+     * @return
+     */
+    public static boolean isCollecting() {
+        return COLLECTED.get() != null;
+    }
+}
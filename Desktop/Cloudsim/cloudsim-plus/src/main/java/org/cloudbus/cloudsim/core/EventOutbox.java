@@ -0,0 +1,109 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the events sent while entities are processed in parallel,
+ * so that they can be added to the simulation future queue afterwards,
+ * in a deterministic order that doesn't depend on thread scheduling.
+ *
+ * @see LogicalProcess
+ * @see CloudSim#enableParallelEntityDispatch(int)
+ */
+final class EventOutbox implements Serializable {
+    private final List<SimEvent> events = new ArrayList<>();
+
+    /**
+     * Indicates which {@link #events} were sent with priority
+     * (to be added to the head of the simulation future queue).
+     */
+    private final BitSet first = new BitSet();
+
+    /**
+     * Adds an event to the outbox.
+     * @param evt the event to add
+     * @param first indicates if the event must have priority over other ones at the same time
+     */
+    void add(final SimEvent evt, final boolean first) {
+        this.first.set(events.size(), first);
+        events.add(evt);
+    }
+
+    List<SimEvent> getEvents() {
+        return events;
+    }
+
+    boolean isFirst(final int index) {
+        return first.get(index);
+    }
+
+    boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Removes events in the outbox that match a predicate.
+     *
+     * @param predicate the event selection predicate
+     * @param justFirst indicates if just the first matching event must be removed
+     * @return the list of removed events
+     */
+    List<SimEvent> remove(final Predicate<SimEvent> predicate, final boolean justFirst) {
+        final List<SimEvent> removed = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            final SimEvent evt = events.get(i);
+            if (predicate.test(evt)) {
+                removed.add(evt);
+                remove(i--);
+                if (justFirst) {
+                    break;
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Removes a specific event from the outbox.
+     * @param evt the event to remove
+     * @return true if the event was removed, false if it was not in the outbox
+     */
+    boolean remove(final SimEvent evt) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) == evt) {
+                remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void remove(final int index) {
+        events.remove(index);
+        for (int i = index; i < events.size(); i++) {
+            first.set(i, first.get(i + 1));
+        }
+
+        first.clear(events.size());
+    }
+
+    void clear() {
+        events.clear();
+        first.clear();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Indexes the events in the simulation future queue by their {@link SimEvent#getSource() source entity},
+ * so that cancelling the events sent by a given entity just visits
+ * the pending events of that entity, instead of the entire future queue.
+ *
+ * <p>Entities and events are compared by identity, since
+ * {@link SimEvent#equals(Object)} just considers the event time and serial,
+ * and an entity hash code changes when its id is set.</p>
+ */
+final class EventSourceIndex implements Serializable {
+    /**
+     * A map where each key is a source entity and each value is another map
+     * containing the pending events sent by such an entity.
+     * Each event is mapped to the order it was added,
+     * used to untie events having the same time and serial.
+     */
+    private final Map<SimEntity, Map<SimEvent, Long>> eventsBySource = new IdentityHashMap<>();
+
+    /**
+     * The number of events added to the index up to now.
+     */
+    private long added;
+
+    /**
+     * Adds an event to the index.
+     * @param evt the event added to the future queue
+     */
+    void add(final SimEvent evt) {
+        eventsBySource
+            .computeIfAbsent(evt.getSource(), src -> new IdentityHashMap<>())
+            .put(evt, added++);
+    }
+
+    /**
+     * Removes an event from the index.
+     * @param evt the event removed from the future queue
+     * @return true if the event was indexed, false otherwise
+     */
+    boolean remove(final SimEvent evt) {
+        final Map<SimEvent, Long> events = eventsBySource.get(evt.getSource());
+        if (events == null || events.remove(evt) == null) {
+            return false;
+        }
+
+        if (events.isEmpty()) {
+            eventsBySource.remove(evt.getSource());
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if an event is indexed, meaning it is still in the future queue.
+     * @param evt the event to check
+     * @return true if the event is indexed, false otherwise
+     */
+    boolean contains(final SimEvent evt) {
+        final Map<SimEvent, Long> events = eventsBySource.get(evt.getSource());
+        return events != null && events.containsKey(evt);
+    }
+
+    /**
+     * Gets the first event sent by a given entity that matches a predicate,
+     * according to the order the future queue processes events.
+     *
+     * @param src the entity that sent the event
+     * @param predicate the event selection predicate
+     * @return the first matching event or {@link SimEvent#NULL} if none is found
+     */
+    SimEvent findFirst(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final Map<SimEvent, Long> events = eventsBySource.getOrDefault(src, Collections.emptyMap());
+        SimEvent first = SimEvent.NULL;
+        long firstOrder = Long.MAX_VALUE;
+        for (final Map.Entry<SimEvent, Long> entry : events.entrySet()) {
+            final SimEvent evt = entry.getKey();
+            if (predicate.test(evt) && (first == SimEvent.NULL || isBefore(evt, entry.getValue(), first, firstOrder))) {
+                first = evt;
+                firstOrder = entry.getValue();
+            }
+        }
+
+        return first;
+    }
+
+    /**
+     * Gets all events sent by a given entity that match a predicate.
+     *
+     * @param src the entity that sent the events
+     * @param predicate the event selection predicate
+     * @return the list of matching events (in no specific order)
+     */
+    List<SimEvent> findAll(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final Map<SimEvent, Long> events = eventsBySource.getOrDefault(src, Collections.emptyMap());
+        final List<SimEvent> matching = new ArrayList<>();
+        for (final SimEvent evt : events.keySet()) {
+            if (predicate.test(evt)) {
+                matching.add(evt);
+            }
+        }
+
+        return matching;
+    }
+
+    private static boolean isBefore(final SimEvent evt1, final long order1, final SimEvent evt2, final long order2) {
+        if (evt1.getTime() != evt2.getTime()) {
+            return evt1.getTime() < evt2.getTime();
+        }
+
+        if (evt1.getSerial() != evt2.getSerial()) {
+            return evt1.getSerial() < evt2.getSerial();
+        }
+
+        return order1 < order2;
+    }
+}
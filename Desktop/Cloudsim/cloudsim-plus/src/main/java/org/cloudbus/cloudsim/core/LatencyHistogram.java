@@ -0,0 +1,160 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A histogram of wall-clock durations (in nanoseconds) with power-of-two buckets,
+ * which records a value in constant time and memory.
+ * Bucket {@code i} counts durations in the interval {@code [2^(i-1), 2^i)},
+ * so percentiles are approximated by the upper bound of the bucket where they fall.
+ *
+ * @see SimulationProfiler
+ */
+public final class LatencyHistogram implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of buckets, enough to store any non-negative long value
+     * (the bucket index is the number of significant bits of the value).
+     */
+    private static final int BUCKETS = Long.SIZE;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    /**
+     * Records a duration.
+     * @param nanos the duration in nanoseconds (negative values are considered zero)
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(value)]++;
+        count++;
+        totalNanos += value;
+        minNanos = Math.min(minNanos, value);
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     * @return
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all recorded durations (in nanoseconds).
+     * @return
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets the mean of the recorded durations (in nanoseconds).
+     * @return the mean duration or 0 if no duration was recorded
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / (double) count;
+    }
+
+    /**
+     * Gets the minimum recorded duration (in nanoseconds).
+     * @return the minimum duration or 0 if no duration was recorded
+     */
+    public long getMinNanos() {
+        return count == 0 ? 0 : minNanos;
+    }
+
+    /**
+     * Gets the maximum recorded duration (in nanoseconds).
+     * @return
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets an approximation of a percentile of the recorded durations,
+     * which is the upper bound of the bucket where the percentile falls
+     * (limited to the {@link #getMaxNanos() maximum duration}).
+     *
+     * @param percentile the percentile to get, between 0 and 100
+     * @return the approximated percentile (in nanoseconds) or 0 if no duration was recorded
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += buckets[i];
+            if (accumulated >= rank) {
+                return i == 0 ? 0 : Math.min(maxNanos, (1L << i) - 1);
+            }
+        }
+
+        return maxNanos;
+    }
+
+    /**
+     * Gets the number of durations recorded in a given bucket.
+     * @param index the bucket index, where bucket {@code i} stores durations in the interval {@code [2^(i-1), 2^i)}
+     * @return
+     */
+    public long getBucketCount(final int index) {
+        return buckets[index];
+    }
+
+    /**
+     * Adds all durations recorded by another histogram to this one.
+     * @param other the histogram to merge into this one
+     */
+    public void merge(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] += other.buckets[i];
+        }
+
+        count += other.count;
+        totalNanos += other.totalNanos;
+        minNanos = Math.min(minNanos, other.minNanos);
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void clear() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        totalNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "count: %d total: %.3f ms mean: %.1f us p50: %.1f us p99: %.1f us max: %.1f us",
+            count, totalNanos / 1e6, getMeanNanos() / 1e3,
+            getPercentileNanos(50) / 1e3, getPercentileNanos(99) / 1e3, maxNanos / 1e3);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.FutureQueue;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A partition of the simulation entities that can process its events
+ * concurrently with other partitions, when the {@link CloudSim#enableParallelExecution(int) parallel execution}
+ * is enabled. It usually represents a {@link Datacenter} (together with its hosts)
+ * and the brokers that just interact with such a Datacenter.
+ *
+ * <p>During a time window defined by the simulation {@link CloudSim#getLookahead() lookahead},
+ * each logical process (LP) executes the events sent to its entities in time order,
+ * using its own future queue and clock.
+ * Events sent to entities of other LPs are kept in an outbox and only delivered
+ * after the window finishes, following a deterministic order.</p>
+ *
+ * <p>Entities of different LPs must not share mutable state,
+ * otherwise the results of parallel simulations are undefined.</p>
+ *
+ * @see CloudSim#addLogicalProcess(Datacenter, SimEntity...)
+ */
+public final class LogicalProcess implements Serializable {
+    private final int id;
+    private final Datacenter datacenter;
+    private final Set<SimEntity> entities;
+
+    /**
+     * The queue of events to be processed by this LP inside the current window.
+     */
+    private final FutureQueue localQueue;
+
+    /**
+     * Events sent by entities of this LP during the current window,
+     * which have to be delivered after the window finishes.
+     */
+    private final EventOutbox outbox;
+
+    /**
+     * Events processed by this LP in the current window.
+     */
+    private final List<SimEvent> processedEvents;
+
+    /**
+     * Events that couldn't be processed in the current window
+     * because the destination entity wasn't runnable.
+     */
+    private final List<SimEvent> spilledEvents;
+
+    /**
+     * The time of the last event processed by this LP.
+     */
+    private double clock;
+
+    /**
+     * Creates a logical process.
+     *
+     * @param id the LP id, which defines the order events sent by different LPs are delivered
+     * @param datacenter the Datacenter represented by the LP
+     */
+    LogicalProcess(final int id, final Datacenter datacenter) {
+        this.id = id;
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.entities = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.localQueue = new FutureQueue();
+        this.outbox = new EventOutbox();
+        this.processedEvents = new ArrayList<>();
+        this.spilledEvents = new ArrayList<>();
+        this.entities.add(datacenter);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the Datacenter represented by this LP.
+     * @return
+     */
+    public Datacenter getDatacenter() {
+        return datacenter;
+    }
+
+    /**
+     * Gets a read-only set of the entities belonging to this LP.
+     * @return
+     */
+    public Set<SimEntity> getEntities() {
+        return Collections.unmodifiableSet(entities);
+    }
+
+    /**
+     * Checks if an entity belongs to this LP.
+     * @param entity the entity to check
+     * @return
+     */
+    public boolean contains(final SimEntity entity) {
+        return entities.contains(entity);
+    }
+
+    void addEntity(final SimEntity entity) {
+        entities.add(Objects.requireNonNull(entity));
+    }
+
+    /**
+     * Gets the time of the last event processed by this LP.
+     * @return
+     */
+    double getClock() {
+        return clock;
+    }
+
+    /**
+     * Adds an event to be processed by this LP inside the current window.
+     * @param evt the event to add
+     * @param first indicates if the event must have priority over other ones at the same time
+     */
+    void addLocalEvent(final SimEvent evt, final boolean first) {
+        if (first) {
+            localQueue.addEventFirst(evt);
+        } else {
+            localQueue.addEvent(evt);
+        }
+    }
+
+    /**
+     * Adds an event to be delivered after the current window finishes.
+     * @param evt the event to add
+     * @param first indicates if the event must have priority over other ones at the same time
+     */
+    void addOutboxEvent(final SimEvent evt, final boolean first) {
+        outbox.add(evt, first);
+    }
+
+    /**
+     * Processes, in time order, all events added to this LP for the current window.
+     * Events sent to entities that are not {@link SimEntity.State#RUNNABLE}
+     * are {@link #getSpilledEvents() spilled}, so that the simulation can defer them.
+     * {@link SimEvent.Type#HOLD_DONE} events make the entity that was holding runnable again.
+     */
+    void processLocalEvents() {
+        while (!localQueue.isEmpty()) {
+            final SimEvent evt = localQueue.first();
+            localQueue.remove(evt);
+            clock = evt.getTime();
+            if (evt.getType() == SimEvent.Type.HOLD_DONE) {
+                evt.getSource().setState(SimEntity.State.RUNNABLE);
+                processedEvents.add(evt);
+                continue;
+            }
+
+            final SimEntity dest = evt.getDestination();
+            if (dest.getState() != SimEntity.State.RUNNABLE) {
+                spilledEvents.add(evt);
+                continue;
+            }
+
+            dest.getSimulation().getProfiler().processEvent(dest, evt);
+            processedEvents.add(evt);
+        }
+    }
+
+    /**
+     * Gets the first event pending in this LP (either in the local queue or in the outbox)
+     * that was sent by a given entity and matches a predicate, removing it.
+     *
+     * @param src the entity that sent the event
+     * @param predicate the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final List<SimEvent> canceled = cancel(src, predicate, true);
+        return canceled.isEmpty() ? SimEvent.NULL : canceled.get(0);
+    }
+
+    /**
+     * Removes the events pending in this LP (either in the local queue or in the outbox)
+     * that were sent by a given entity and match a predicate.
+     *
+     * @param src the entity that sent the events
+     * @param predicate the event selection predicate
+     * @param justFirst indicates if just the first matching event must be removed
+     * @return the list of removed events
+     */
+    List<SimEvent> cancel(final SimEntity src, final Predicate<SimEvent> predicate, final boolean justFirst) {
+        final Predicate<SimEvent> matches = predicate.and(evt -> evt.getSource() == src);
+        final List<SimEvent> canceled = localQueue.stream()
+                                                  .filter(matches)
+                                                  .limit(justFirst ? 1 : Long.MAX_VALUE)
+                                                  .collect(Collectors.toList());
+        canceled.forEach(localQueue::remove);
+        if (justFirst && !canceled.isEmpty()) {
+            return canceled;
+        }
+
+        canceled.addAll(outbox.remove(matches, justFirst));
+        return canceled;
+    }
+
+    /**
+     * Removes a specific event pending in this LP.
+     * @param evt the event to remove
+     * @return true if the event was removed, false if it was not pending in this LP
+     */
+    boolean cancel(final SimEvent evt) {
+        return localQueue.remove(evt) || outbox.remove(evt);
+    }
+
+    EventOutbox getOutbox() {
+        return outbox;
+    }
+
+    List<SimEvent> getProcessedEvents() {
+        return processedEvents;
+    }
+
+    List<SimEvent> getSpilledEvents() {
+        return spilledEvents;
+    }
+
+    /**
+     * Clears the events of the finished window.
+     */
+    void clearWindow() {
+        localQueue.clear();
+        outbox.clear();
+        processedEvents.clear();
+        spilledEvents.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "LogicalProcess " + id + " (" + datacenter + ")";
+    }
+}
@@ -71,9 +71,22 @@ public interface Simulation {
      */
     SimEvent cancel(SimEntity src, Predicate<SimEvent> p);
 
+    /**
+     * Cancels a specific event previously sent, removing it from the future event queue.
+     * The event works as a cancellation handle, that can be obtained
+     * when the event is sent, such as by {@link CloudSimEntity#scheduleCancellable(SimEntity, double, int, Object)}.
+     * Since the event is directly located into the queue,
+     * it doesn't require traversing the queue to find it.
+     *
+     * @param evt the event to cancel
+     * @return true if the event was cancelled; false if it was already processed or cancelled
+     */
+    boolean cancel(SimEvent evt);
+
     /**
      * Cancels all events from the future event queue that matches a given predicate
      * and were sent by a given entity, then removes those ones from the queue.
+     * Just the events sent by the given entity are checked.
      *
      * @param src Id of entity that scheduled the event
      * @param p   the event selection predicate
@@ -213,7 +226,39 @@ public interface Simulation {
     Simulation addOnClockTickListener(EventListener<EventInfo> listener);
 
     /**
-     * Removes a listener from the onClockTickListener List.
+     * Adds a {@link EventListener} object that will be notified periodically when the
+     * simulation clock advances, starting at the time 0.
+     * The listener is notified at the first clock tick at or after each multiple of the period.
+     * Periods elapsed between two clock ticks cause a single notification.
+     *
+     * <p>Periodic listeners are kept in a timer wheel, so that they don't add any overhead
+     * to clock ticks where they are not due. Use this method for listeners
+     * that just need to act at regular intervals (such as controllers running every few minutes).</p>
+     *
+     * @param listener the event listener to add
+     * @param period the interval between notifications (in seconds)
+     * @return
+     * @see #addOnClockTickListener(EventListener, double, double)
+     */
+    Simulation addOnClockTickListener(EventListener<EventInfo> listener, double period);
+
+    /**
+     * Adds a {@link EventListener} object that will be notified periodically when the
+     * simulation clock advances, starting at a given time.
+     * The listener is notified at the first clock tick at or after each time {@code offset + k * period},
+     * for k = 0, 1, 2...
+     *
+     * @param listener the event listener to add
+     * @param period the interval between notifications (in seconds)
+     * @param offset the time of the first notification (in seconds)
+     * @return
+     * @see #addOnClockTickListener(EventListener, double)
+     */
+    Simulation addOnClockTickListener(EventListener<EventInfo> listener, double period, double offset);
+
+    /**
+     * Removes a listener from the onClockTickListener List,
+     * including its periodic subscriptions.
      *
      * @param listener the listener to remove
      * @return true if the listener was found and removed, false otherwise
@@ -272,6 +317,17 @@ public interface Simulation {
      */
     boolean isRunning();
 
+    /**
+     * Checks if the current thread is processing events concurrently with other threads,
+     * that is, inside a window of a {@link CloudSim#enableParallelExecution(int) parallel execution}
+     * or during a {@link CloudSim#enableParallelEntityDispatch(int) parallel entity dispatch}.
+     * The simulation clock and the events sent by such a thread depend on its execution context,
+     * which isn't available to other threads it may hand work to.
+     *
+     * @return true if the current thread is processing events concurrently, false otherwise
+     */
+    boolean isProcessingConcurrently();
+
     /**
      * Selects the first deferred event that matches a given predicate
      * and removes it from the queue.
@@ -491,4 +547,14 @@ public interface Simulation {
      * @param lastCloudletProcessingUpdate the time to set (in seconds)
      */
     void setLastCloudletProcessingUpdate(double lastCloudletProcessingUpdate);
+
+    /**
+     * Gets the profiler that collects statistics about the simulation event loop,
+     * such as the number of events and wall-clock time spent per event tag and per entity.
+     * The profiler is disabled by default.
+     *
+     * @return
+     * @see SimulationProfiler#setEnabled(boolean)
+     */
+    SimulationProfiler getProfiler();
 }
@@ -24,6 +24,9 @@ final class SimulationNull implements Simulation {
     @Override public SimEvent cancel(SimEntity src, Predicate<SimEvent> predicate) {
         return SimEvent.NULL;
     }
+    @Override public boolean cancel(SimEvent evt) {
+        return false;
+    }
     @Override public boolean cancelAll(SimEntity src, Predicate<SimEvent> predicate) {
         return false;
     }
@@ -71,6 +74,9 @@ final class SimulationNull implements Simulation {
     @Override public boolean isRunning() {
         return false;
     }
+    @Override public boolean isProcessingConcurrently() {
+        return false;
+    }
     @Override public SimEvent select(SimEntity dest, Predicate<SimEvent> predicate) { return SimEvent.NULL; }
     @Override public void send(SimEvent evt) {/**/}
     @Override public void send(SimEntity src, SimEntity dest, double delay, int tag, Object data) {/**/}
@@ -84,6 +90,12 @@ final class SimulationNull implements Simulation {
     @Override public Simulation addOnClockTickListener(EventListener<EventInfo> listener) {
         return this;
     }
+    @Override public Simulation addOnClockTickListener(EventListener<EventInfo> listener, double period) {
+        return this;
+    }
+    @Override public Simulation addOnClockTickListener(EventListener<EventInfo> listener, double period, double offset) {
+        return this;
+    }
     @Override public boolean removeOnClockTickListener(EventListener<? extends EventInfo> listener) {
         return false;
     }
@@ -102,4 +114,5 @@ final class SimulationNull implements Simulation {
     @Override public long getNumberOfFutureEvents(Predicate<SimEvent> predicate) { return 0; }
     @Override public double getLastCloudletProcessingUpdate() { return 0; }
     @Override public void setLastCloudletProcessingUpdate(double lastCloudletProcessingUpdate) {/**/}
+    @Override public SimulationProfiler getProfiler() { return SimulationProfiler.NULL; }
 }
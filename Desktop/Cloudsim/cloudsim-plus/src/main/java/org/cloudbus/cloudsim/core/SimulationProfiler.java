@@ -0,0 +1,433 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Collects statistics about the simulation event loop, enabling to find out
+ * which entities, event tags and listeners dominate the wall-clock time of a simulation.
+ * It records:
+ * <ul>
+ *     <li>the number of events processed and the wall-clock time spent by the entities
+ *     to process them, both per {@link CloudSimTags tag} and per entity;</li>
+ *     <li>the wall-clock time spent by {@link Simulation#addOnClockTickListener(org.cloudsimplus.listeners.EventListener) clock tick}
+ *     and {@link Simulation#addOnEventProcessingListener(org.cloudsimplus.listeners.EventListener) event processing} listeners;</li>
+ *     <li>the size of the future and deferred event queues along the simulation time,
+ *     keeping just the latest {@link #getQueueSizeHistoryCapacity() samples}.</li>
+ * </ul>
+ *
+ * <p>The profiler is disabled by default, adding no overhead
+ * other than checking if it's enabled.
+ * When enabled, durations are stored in {@link LatencyHistogram}s, which use constant memory.
+ * The collected statistics are logged when the simulation finishes
+ * and can be queried at any time from {@link Simulation#getProfiler()}.</p>
+ *
+ * @see #setEnabled(boolean)
+ */
+public final class SimulationProfiler implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A profiler that is always disabled.
+     */
+    public static final SimulationProfiler NULL = new SimulationProfiler();
+
+    /**
+     * The default maximum number of {@link #getQueueSizeHistory() queue size samples} kept,
+     * if a value is not set.
+     * @see #setQueueSizeHistoryCapacity(int)
+     */
+    public static final int DEF_QUEUE_SIZE_HISTORY_CAPACITY = 10_000;
+
+    private boolean enabled;
+
+    private final Map<Integer, LatencyHistogram> tagHistograms;
+    private final Map<SimEntity, LatencyHistogram> entityHistograms;
+    private final LatencyHistogram clockTickListenersHistogram;
+    private final LatencyHistogram eventProcessingListenersHistogram;
+
+    /**
+     * A ring buffer with the latest queue size samples, where the oldest sample is discarded
+     * when a new one is collected and the {@link #queueSizeHistoryCapacity capacity} is reached.
+     * @see #getQueueSizeHistory()
+     */
+    private final Deque<QueueSizeSample> queueSizeHistory;
+
+    /**
+     * @see #getQueueSizeHistoryCapacity()
+     */
+    private int queueSizeHistoryCapacity;
+
+    /**
+     * @see #getQueueSamplingInterval()
+     */
+    private double queueSamplingInterval;
+
+    private int maxFutureQueueSize;
+    private int maxDeferredQueueSize;
+
+    /**
+     * The wall-clock time (in nanoseconds) when the simulation started to run,
+     * or -1 if it didn't start yet.
+     */
+    private long runStartNanos;
+
+    /**
+     * @see #getRunWallTimeNanos()
+     */
+    private long runWallTimeNanos;
+
+    /**
+     * Creates a disabled profiler.
+     */
+    public SimulationProfiler() {
+        this.tagHistograms = new TreeMap<>();
+        this.entityHistograms = new IdentityHashMap<>();
+        this.clockTickListenersHistogram = new LatencyHistogram();
+        this.eventProcessingListenersHistogram = new LatencyHistogram();
+        this.queueSizeHistory = new ArrayDeque<>();
+        this.queueSizeHistoryCapacity = DEF_QUEUE_SIZE_HISTORY_CAPACITY;
+        this.runStartNanos = -1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the profiler.
+     * It has no effect on the {@link #NULL} profiler.
+     *
+     * @param enabled true to enable the profiler, false to disable it
+     * @return
+     */
+    public SimulationProfiler setEnabled(final boolean enabled) {
+        if(this != NULL) {
+            this.enabled = enabled;
+        }
+
+        return this;
+    }
+
+    /**
+     * Makes an entity process an event, recording the wall-clock time spent
+     * if the profiler is enabled.
+     *
+     * @param entity the entity to process the event
+     * @param evt the event to be processed
+     */
+    void processEvent(final SimEntity entity, final SimEvent evt) {
+        if(!enabled) {
+            entity.processEvent(evt);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        entity.processEvent(evt);
+        recordEventProcessing(entity, evt.getTag(), System.nanoTime() - start);
+    }
+
+    private synchronized void recordEventProcessing(final SimEntity entity, final int tag, final long nanos) {
+        tagHistograms.computeIfAbsent(tag, key -> new LatencyHistogram()).record(nanos);
+        entityHistograms.computeIfAbsent(entity, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    synchronized void recordClockTickListeners(final long nanos) {
+        clockTickListenersHistogram.record(nanos);
+    }
+
+    synchronized void recordEventProcessingListeners(final long nanos) {
+        eventProcessingListenersHistogram.record(nanos);
+    }
+
+    /**
+     * Records the size of the event queues, if the {@link #getQueueSamplingInterval() sampling interval}
+     * has passed since the last sample.
+     * The oldest sample is discarded if the {@link #getQueueSizeHistoryCapacity() capacity} of the history is reached.
+     *
+     * @param time the current simulation time
+     * @param futureQueueSize the number of events in the future queue
+     * @param deferredQueueSize the number of events in the deferred queue
+     */
+    void recordQueueSizes(final double time, final int futureQueueSize, final int deferredQueueSize) {
+        maxFutureQueueSize = Math.max(maxFutureQueueSize, futureQueueSize);
+        maxDeferredQueueSize = Math.max(maxDeferredQueueSize, deferredQueueSize);
+        if(queueSizeHistoryCapacity == 0) {
+            return;
+        }
+
+        if(!queueSizeHistory.isEmpty()) {
+            final double lastTime = queueSizeHistory.peekLast().getTime();
+            if(time <= lastTime || time - lastTime < queueSamplingInterval) {
+                return;
+            }
+        }
+
+        if(queueSizeHistory.size() == queueSizeHistoryCapacity) {
+            queueSizeHistory.removeFirst();
+        }
+
+        queueSizeHistory.addLast(new QueueSizeSample(time, futureQueueSize, deferredQueueSize));
+    }
+
+    void recordRunStart() {
+        runStartNanos = System.nanoTime();
+    }
+
+    void recordRunFinish() {
+        if(runStartNanos >= 0) {
+            runWallTimeNanos = System.nanoTime() - runStartNanos;
+        }
+    }
+
+    /**
+     * Gets a read-only map where each key is an event {@link CloudSimTags tag}
+     * and each value is a histogram of the wall-clock time entities spent processing events with such a tag.
+     * The map is ordered by tag.
+     * @return
+     */
+    public synchronized Map<Integer, LatencyHistogram> getTagHistograms() {
+        return Collections.unmodifiableMap(tagHistograms);
+    }
+
+    /**
+     * Gets a read-only map where each key is an entity
+     * and each value is a histogram of the wall-clock time such an entity spent processing events.
+     * @return
+     */
+    public synchronized Map<SimEntity, LatencyHistogram> getEntityHistograms() {
+        return Collections.unmodifiableMap(entityHistograms);
+    }
+
+    /**
+     * Gets the number of processed events having a given tag.
+     * @param tag the {@link CloudSimTags tag} of the events to count
+     * @return
+     */
+    public synchronized long getEventsCount(final int tag) {
+        final LatencyHistogram histogram = tagHistograms.get(tag);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    /**
+     * Gets the number of events processed by a given entity.
+     * @param entity the entity to count the processed events
+     * @return
+     */
+    public synchronized long getEventsCount(final SimEntity entity) {
+        final LatencyHistogram histogram = entityHistograms.get(entity);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    /**
+     * Gets a histogram of the wall-clock time spent each time
+     * the clock tick listeners were notified.
+     * @return
+     */
+    public LatencyHistogram getClockTickListenersHistogram() {
+        return clockTickListenersHistogram;
+    }
+
+    /**
+     * Gets a histogram of the wall-clock time spent each time
+     * the event processing listeners were notified.
+     * @return
+     */
+    public LatencyHistogram getEventProcessingListenersHistogram() {
+        return eventProcessingListenersHistogram;
+    }
+
+    /**
+     * Gets a read-only list with the latest samples of the event queues size along the simulation time,
+     * ordered by time. At most {@link #getQueueSizeHistoryCapacity()} samples are kept.
+     * @return a copy of the samples collected so far
+     * @see #setQueueSamplingInterval(double)
+     */
+    public List<QueueSizeSample> getQueueSizeHistory() {
+        return Collections.unmodifiableList(new ArrayList<>(queueSizeHistory));
+    }
+
+    /**
+     * Gets the maximum number of {@link #getQueueSizeHistory() queue size samples} kept.
+     * When it's reached, the oldest sample is discarded for each new one,
+     * so that the history uses bounded memory whatever the simulation length.
+     * @return
+     */
+    public int getQueueSizeHistoryCapacity() {
+        return queueSizeHistoryCapacity;
+    }
+
+    /**
+     * Sets the maximum number of {@link #getQueueSizeHistory() queue size samples} kept.
+     * If there are more samples than the new capacity, the oldest ones are discarded.
+     * @param queueSizeHistoryCapacity the capacity to set or zero to disable the queue size history
+     *                                 (the {@link #getMaxFutureQueueSize() maximum queue sizes} are still recorded)
+     * @return
+     */
+    public SimulationProfiler setQueueSizeHistoryCapacity(final int queueSizeHistoryCapacity) {
+        if(queueSizeHistoryCapacity < 0) {
+            throw new IllegalArgumentException("Queue size history capacity cannot be negative.");
+        }
+
+        this.queueSizeHistoryCapacity = queueSizeHistoryCapacity;
+        while(queueSizeHistory.size() > queueSizeHistoryCapacity) {
+            queueSizeHistory.removeFirst();
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the minimum simulation time interval between two {@link #getQueueSizeHistory() queue size samples}.
+     * If zero, a sample is collected every time the simulation clock advances.
+     * @return
+     */
+    public double getQueueSamplingInterval() {
+        return queueSamplingInterval;
+    }
+
+    /**
+     * Sets the minimum simulation time interval between two {@link #getQueueSizeHistory() queue size samples}.
+     * Greater values make the history, which is {@link #getQueueSizeHistoryCapacity() bounded},
+     * cover a longer simulation time.
+     * @param queueSamplingInterval the interval to set (in seconds) or zero to collect
+     *                              a sample every time the simulation clock advances
+     * @return
+     */
+    public SimulationProfiler setQueueSamplingInterval(final double queueSamplingInterval) {
+        if(queueSamplingInterval < 0) {
+            throw new IllegalArgumentException("Queue sampling interval cannot be negative.");
+        }
+
+        this.queueSamplingInterval = queueSamplingInterval;
+        return this;
+    }
+
+    public int getMaxFutureQueueSize() {
+        return maxFutureQueueSize;
+    }
+
+    public int getMaxDeferredQueueSize() {
+        return maxDeferredQueueSize;
+    }
+
+    /**
+     * Gets the wall-clock time (in nanoseconds) the last simulation run took,
+     * or 0 if the simulation didn't finish yet.
+     * @return
+     */
+    public long getRunWallTimeNanos() {
+        return runWallTimeNanos;
+    }
+
+    /**
+     * Clears all collected statistics.
+     */
+    public synchronized void reset() {
+        tagHistograms.clear();
+        entityHistograms.clear();
+        clockTickListenersHistogram.clear();
+        eventProcessingListenersHistogram.clear();
+        queueSizeHistory.clear();
+        maxFutureQueueSize = 0;
+        maxDeferredQueueSize = 0;
+        runStartNanos = -1;
+        runWallTimeNanos = 0;
+    }
+
+    /**
+     * Gets a report of the collected statistics, where entities are sorted
+     * by the total time spent processing events.
+     * @return
+     */
+    @Override
+    public synchronized String toString() {
+        final String nl = System.lineSeparator();
+        final StringBuilder sb = new StringBuilder("Simulation profile");
+        sb.append(String.format(" (wall time: %.3f s)%n", runWallTimeNanos / 1e9));
+
+        sb.append("  Events per tag:").append(nl);
+        final Map<Integer, String> tagNames = getTagNames();
+        for (final Map.Entry<Integer, LatencyHistogram> entry : tagHistograms.entrySet()) {
+            final String name = tagNames.getOrDefault(entry.getKey(), String.valueOf(entry.getKey()));
+            sb.append(String.format("    %-40s %s%n", name, entry.getValue()));
+        }
+
+        sb.append("  Events per entity:").append(nl);
+        final List<Map.Entry<SimEntity, LatencyHistogram>> entities = new ArrayList<>(entityHistograms.entrySet());
+        entities.sort(Comparator.comparingLong((Map.Entry<SimEntity, LatencyHistogram> entry) -> entry.getValue().getTotalNanos()).reversed());
+        for (final Map.Entry<SimEntity, LatencyHistogram> entry : entities) {
+            sb.append(String.format("    %-40s %s%n", entry.getKey().getName(), entry.getValue()));
+        }
+
+        sb.append(String.format("  Clock tick listeners:       %s%n", clockTickListenersHistogram));
+        sb.append(String.format("  Event processing listeners: %s%n", eventProcessingListenersHistogram));
+        sb.append(String.format(
+            "  Max future queue size: %d Max deferred queue size: %d Queue size samples: %d%n",
+            maxFutureQueueSize, maxDeferredQueueSize, queueSizeHistory.size()));
+        return sb.toString();
+    }
+
+    /**
+     * Gets a map where each key is the value of a {@link CloudSimTags} constant and each value is its name.
+     * @return
+     */
+    private static Map<Integer, String> getTagNames() {
+        final Map<Integer, String> names = new HashMap<>();
+        for (final Field field : CloudSimTags.class.getFields()) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && field.getType() == int.class) {
+                try {
+                    names.putIfAbsent(field.getInt(null), field.getName());
+                } catch (IllegalAccessException e) {
+                    //public fields are always accessible
+                }
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * A sample of the size of the simulation event queues at a given time.
+     */
+    public static final class QueueSizeSample implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final double time;
+        private final int futureQueueSize;
+        private final int deferredQueueSize;
+
+        private QueueSizeSample(final double time, final int futureQueueSize, final int deferredQueueSize) {
+            this.time = time;
+            this.futureQueueSize = futureQueueSize;
+            this.deferredQueueSize = deferredQueueSize;
+        }
+
+        /**
+         * Gets the simulation time the sample was collected.
+         * @return
+         */
+        public double getTime() {
+            return time;
+        }
+
+        public int getFutureQueueSize() {
+            return futureQueueSize;
+        }
+
+        public int getDeferredQueueSize() {
+            return deferredQueueSize;
+        }
+    }
+}
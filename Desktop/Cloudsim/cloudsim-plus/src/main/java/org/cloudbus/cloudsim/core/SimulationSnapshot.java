@@ -0,0 +1,315 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigration;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.datacenters.DatacenterPowerSupply;
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.network.topologies.NetworkTopology;
+import org.cloudbus.cloudsim.power.models.PowerModel;
+import org.cloudbus.cloudsim.provisioners.PeProvisioner;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.Processor;
+import org.cloudbus.cloudsim.resources.Resource;
+import org.cloudbus.cloudsim.resources.ResourceManageable;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.cloudlet.network.CloudletTaskScheduler;
+import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.vms.UtilizationHistory;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.autoscaling.HorizontalVmScaling;
+import org.cloudsimplus.autoscaling.VerticalVmScaling;
+import org.cloudsimplus.autoscaling.VmScaling;
+import org.cloudsimplus.autoscaling.resources.ResourceScaling;
+import org.cloudsimplus.faultinjection.VmCloner;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.Heuristic;
+import org.cloudsimplus.heuristics.HeuristicSolution;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.slametrics.SlaMetric;
+import org.cloudsimplus.vmtemplates.AwsEc2Template;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads a {@link CloudSim} simulation, together with all objects reachable from it
+ * (entities, future and deferred events, hosts, VMs, Cloudlets, utilization models,
+ * random number generators, etc.), as a GZIP-compressed Java serialization stream.
+ *
+ * <p>Null Objects (such as {@link Vm#NULL} and {@link SimEntity#NULL}) are compared by identity
+ * along the framework. This way, they are not serialized,
+ * but written as references that are resolved back to the same constants when the simulation is read.</p>
+ *
+ * <p>Since the simulation objects reference each other, a hash-based collection
+ * may be read before the objects it contains are completely read.
+ * As the {@code hashCode()} of such objects usually depends on their attributes
+ * (such as the entity id and its simulation), hash-based collections are written as plain arrays
+ * and just filled after the entire simulation is read.</p>
+ *
+ * <p>Static attributes are not reachable from the simulation.
+ * The state the application keeps in static fields is just written if it's
+ * {@link CloudSim#addSnapshotState(SnapshotState) registered}.
+ * The captured values of the registered {@link SnapshotState}s are written right after the simulation,
+ * in the same stream, and restored after the hash-based collections are filled.</p>
+ *
+ * @see CloudSim#snapshot(OutputStream)
+ * @see CloudSim#restore(InputStream)
+ */
+final class SimulationSnapshot {
+    /**
+     * Shared constants that have to keep their identity after a snapshot is restored.
+     * New constants must be added at the end, to keep existing snapshots readable.
+     */
+    private static final List<Object> CONSTANTS = Arrays.asList(
+        Simulation.NULL, Simulation.ANY_EVT, SimEntity.NULL, SimEvent.NULL, AbstractMachine.NULL,
+        Datacenter.NULL, DatacenterBroker.NULL, DatacenterCharacteristics.NULL, DatacenterPowerSupply.NULL,
+        Host.NULL, Vm.NULL, Cloudlet.NULL, CloudletExecution.NULL, UtilizationHistory.NULL,
+        VmAllocationPolicy.NULL, VmAllocationPolicyMigration.NULL, VmSelectionPolicy.NULL,
+        VmScheduler.NULL, CloudletScheduler.NULL, CloudletTaskScheduler.NULL,
+        Resource.NULL, ResourceManageable.NULL, Pe.NULL, Processor.NULL,
+        ResourceProvisioner.NULL, PeProvisioner.NULL, UtilizationModel.NULL, PowerModel.NULL,
+        NetworkTopology.NULL, Switch.NULL, ContinuousDistribution.NULL, EventListener.NULL,
+        VmScaling.NULL, HorizontalVmScaling.NULL, VerticalVmScaling.NULL, ResourceScaling.NULL, VmCloner.NULL,
+        Heuristic.NULL, HeuristicSolution.NULL, CloudletToVmMappingHeuristic.NULL,
+        SlaMetric.NULL, AwsEc2Template.NULL, SimulationProfiler.NULL
+    );
+
+    private static final Map<Object, Integer> CONSTANTS_INDEX = new IdentityHashMap<>();
+
+    static {
+        for (int i = 0; i < CONSTANTS.size(); i++) {
+            CONSTANTS_INDEX.putIfAbsent(CONSTANTS.get(i), i);
+        }
+    }
+
+    /**
+     * A class to prevent the instantiation of this utility class.
+     */
+    private SimulationSnapshot(){/**/}
+
+    /**
+     * Writes a simulation to a stream.
+     * @param simulation the simulation to write
+     * @param out the stream to write to, which is not closed
+     * @throws IOException when the stream cannot be written or some object in the simulation
+     *         is not {@link Serializable} (such as a lambda expression whose target type isn't Serializable)
+     */
+    static void write(final CloudSim simulation, final OutputStream out) throws IOException {
+        final GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out));
+        try (ObjectOutputStream objectOut = new SnapshotOutputStream(new BufferedOutputStream(gzip))) {
+            objectOut.writeObject(simulation);
+            for (final SnapshotState<?> state : simulation.getSnapshotStates()) {
+                objectOut.writeObject(state.capture());
+            }
+        }
+    }
+
+    /**
+     * Reads a simulation from a stream.
+     * @param in the stream to read from, which is not closed
+     * @return the read simulation
+     * @throws IOException when the stream cannot be read or doesn't contain a simulation
+     */
+    static CloudSim read(final InputStream in) throws IOException {
+        final GZIPInputStream gzip = new GZIPInputStream(new NonClosingInputStream(in));
+        try (SnapshotInputStream objectIn = new SnapshotInputStream(new BufferedInputStream(gzip))) {
+            final CloudSim simulation = (CloudSim) objectIn.readObject();
+            final List<Object> capturedStates = new ArrayList<>();
+            for (int i = 0; i < simulation.getSnapshotStates().size(); i++) {
+                capturedStates.add(objectIn.readObject());
+            }
+
+            objectIn.fillHashCollections();
+            for (int i = 0; i < capturedStates.size(); i++) {
+                restoreState(simulation.getSnapshotStates().get(i), capturedStates.get(i));
+            }
+
+            return simulation;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidObjectException("The stream doesn't contain a valid simulation snapshot: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> void restoreState(final SnapshotState<T> state, final Object capturedState) {
+        state.restore((T) capturedState);
+    }
+
+    /**
+     * A reference to one of the {@link #CONSTANTS}, written in place of the constant itself.
+     */
+    private static final class ConstantRef implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int index;
+
+        private ConstantRef(final int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * The contents of a hash-based collection, written in place of the collection itself.
+     * For maps, keys and values are interleaved in the {@link #elements} array.
+     */
+    private static final class HashCollectionRef implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Class<?> type;
+        private final Object[] elements;
+
+        private HashCollectionRef(final Class<?> type, final Object[] elements) {
+            this.type = type;
+            this.elements = elements;
+        }
+
+        private static boolean isHashCollection(final Object obj) {
+            final Class<?> type = obj.getClass();
+            return type == HashMap.class || type == LinkedHashMap.class ||
+                   type == HashSet.class || type == LinkedHashSet.class;
+        }
+
+        private static HashCollectionRef of(final Object obj) {
+            if (obj instanceof Map) {
+                final Map<?, ?> map = (Map<?, ?>) obj;
+                final Object[] elements = new Object[map.size() * 2];
+                int i = 0;
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    elements[i++] = entry.getKey();
+                    elements[i++] = entry.getValue();
+                }
+
+                return new HashCollectionRef(obj.getClass(), elements);
+            }
+
+            return new HashCollectionRef(obj.getClass(), ((Collection<?>) obj).toArray());
+        }
+
+        private Object newCollection() throws InvalidObjectException {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new InvalidObjectException("Cannot create a " + type.getName());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fill(final Object collection) {
+            if (collection instanceof Map) {
+                final Map<Object, Object> map = (Map<Object, Object>) collection;
+                for (int i = 0; i < elements.length; i += 2) {
+                    map.put(elements[i], elements[i + 1]);
+                }
+
+                return;
+            }
+
+            ((Collection<Object>) collection).addAll(Arrays.asList(elements));
+        }
+    }
+
+    private static final class SnapshotOutputStream extends ObjectOutputStream {
+        private SnapshotOutputStream(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            final Integer index = CONSTANTS_INDEX.get(obj);
+            if (index != null) {
+                return new ConstantRef(index);
+            }
+
+            return HashCollectionRef.isHashCollection(obj) ? HashCollectionRef.of(obj) : obj;
+        }
+    }
+
+    private static final class SnapshotInputStream extends ObjectInputStream {
+        /**
+         * Empty hash-based collections created while reading the simulation,
+         * mapped to their contents that have to be added after the simulation is completely read.
+         */
+        private final Map<Object, HashCollectionRef> pendingCollections = new IdentityHashMap<>();
+
+        /**
+         * The {@link #pendingCollections} in the order they were read,
+         * so that inner collections are filled before the outer ones.
+         */
+        private final List<Object> pendingOrder = new ArrayList<>();
+
+        private SnapshotInputStream(final InputStream in) throws IOException {
+            super(in);
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) throws IOException {
+            if (obj instanceof ConstantRef) {
+                return CONSTANTS.get(((ConstantRef) obj).index);
+            }
+
+            if (obj instanceof HashCollectionRef) {
+                final HashCollectionRef ref = (HashCollectionRef) obj;
+                final Object collection = ref.newCollection();
+                pendingCollections.put(collection, ref);
+                pendingOrder.add(collection);
+                return collection;
+            }
+
+            return obj;
+        }
+
+        private void fillHashCollections() {
+            for (final Object collection : pendingOrder) {
+                pendingCollections.get(collection).fill(collection);
+            }
+
+            pendingCollections.clear();
+            pendingOrder.clear();
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static final class NonClosingInputStream extends FilterInputStream {
+        private NonClosingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {/**/}
+    }
+}
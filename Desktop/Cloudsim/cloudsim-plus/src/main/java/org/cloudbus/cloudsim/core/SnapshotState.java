@@ -0,0 +1,56 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+
+/**
+ * Application state that isn't reachable from a {@link CloudSim} instance
+ * (such as state kept in static fields), but has to be included in the
+ * {@link CloudSim#snapshot(OutputStream) snapshots} of a simulation.
+ * It is {@link CloudSim#addSnapshotState(SnapshotState) registered} into the simulation,
+ * and thus written along with it.
+ *
+ * <p>The captured state is written in the same stream as the simulation.
+ * This way, simulation objects it references (such as Hosts and VMs) are
+ * restored as the very same instances used by the restored simulation.</p>
+ *
+ * @param <T> the type of the captured state
+ * @see #ofStaticFields(Class[])
+ */
+public interface SnapshotState<T extends Serializable> extends Serializable {
+    /**
+     * Gets the current application state to be written into a snapshot.
+     * @return the current state
+     */
+    T capture();
+
+    /**
+     * Brings back an application state read from a snapshot.
+     * It's called by {@link CloudSim#restore(InputStream)} after the entire simulation is read,
+     * in the order the states were registered.
+     *
+     * @param state the state that was {@link #capture() captured} when the snapshot was taken
+     */
+    void restore(T state);
+
+    /**
+     * Creates a {@link SnapshotState} that captures the non-final static fields of the given classes,
+     * which must hold {@link Serializable} values.
+     * Restoring it sets such fields back to the captured values.
+     *
+     * @param classes the classes whose static fields have to be included in snapshots
+     * @return the new SnapshotState
+     */
+    static SnapshotState<HashMap<String, Object>> ofStaticFields(final Class<?>... classes) {
+        return new StaticFieldsSnapshotState(classes);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SnapshotState} keeping the non-final static fields of some classes.
+ * Values are captured into a map where each key is the name of the class, followed by the field name.
+ *
+ * @see SnapshotState#ofStaticFields(Class[])
+ */
+final class StaticFieldsSnapshotState implements SnapshotState<HashMap<String, Object>> {
+    private final Class<?>[] classes;
+
+    StaticFieldsSnapshotState(final Class<?>... classes) {
+        this.classes = requireNonNull(classes).clone();
+    }
+
+    @Override
+    public HashMap<String, Object> capture() {
+        final HashMap<String, Object> state = new HashMap<>();
+        try {
+            for (final Field field : staticFields()) {
+                state.put(key(field), field.get(null));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return state;
+    }
+
+    @Override
+    public void restore(final HashMap<String, Object> state) {
+        try {
+            for (final Field field : staticFields()) {
+                final String key = key(field);
+                if (state.containsKey(key)) {
+                    field.set(null, state.get(key));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Field> staticFields() {
+        final List<Field> fields = new ArrayList<>();
+        for (final Class<?> klass : classes) {
+            for (final Field field : klass.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    private static String key(final Field field) {
+        return field.getDeclaringClass().getName() + '.' + field.getName();
+    }
+}
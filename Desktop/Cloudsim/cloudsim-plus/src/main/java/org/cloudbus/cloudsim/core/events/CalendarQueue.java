@@ -0,0 +1,619 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} implemented as a calendar queue,
+ * which provides amortized O(1) insertion and removal of events.
+ *
+ * <p>Events are spread into an array of buckets, as the days of a calendar.
+ * Each bucket covers a time interval of a given {@link #getBucketWidth() width}.
+ * An event at time t is stored into the bucket {@code floor(t/width) mod buckets},
+ * which is kept sorted by {@link SimEvent#getTime() time} and {@link SimEvent#getSerial() serial}.
+ * Events with the same time and serial are kept in the order they were added,
+ * the same way the {@link FutureQueue} does.
+ * When the number of events grows or shrinks too much,
+ * the number of buckets and their width are recomputed from the
+ * time separation between the next events, keeping the number
+ * of events per bucket nearly constant.</p>
+ *
+ * <p>Operations that require traversing all the events in order,
+ * such as {@link #iterator()} and {@link #stream()},
+ * take O(n log n) since they have to merge the buckets.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1145/63039.63045">R. Brown. Calendar queues: a fast O(1) priority queue implementation
+ *      for the simulation event set problem. Communications of the ACM, 1988.</a>
+ */
+public class CalendarQueue implements FutureEventQueue, Serializable {
+    /**
+     * Orders events by time and serial.
+     * Since the sorting methods used are stable, events with the same time and serial
+     * keep the order they were added.
+     */
+    private static final Comparator<SimEvent> EVENT_ORDER =
+        Comparator.comparingDouble(SimEvent::getTime).thenComparingLong(SimEvent::getSerial);
+
+    /**
+     * The minimum number of buckets, which must be a power of 2.
+     */
+    private static final int MIN_BUCKETS = 16;
+
+    /**
+     * The approximate number of separations between consecutive events
+     * sampled to compute the {@link #getBucketWidth() bucket width}.
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 64;
+
+    /**
+     * The default width of each bucket (in seconds), used until there are
+     * enough events to estimate a better one.
+     */
+    public static final double DEF_BUCKET_WIDTH = 1.0;
+
+    private Bucket[] buckets;
+
+    /**
+     * A bit mask used to compute the index of a bucket from a time slot.
+     * Since the number of buckets is a power of 2, {@code slot & mask} is equal to
+     * {@code slot mod buckets.length}.
+     */
+    private int mask;
+
+    /** @see #getBucketWidth() */
+    private double bucketWidth;
+
+    /**
+     * The time slot (time / bucket width) where the search for the next event starts.
+     * There is no event in the queue belonging to a previous slot.
+     */
+    private long currentSlot;
+
+    /**
+     * The index of the bucket containing the first event in the queue,
+     * or -1 if it has to be searched again.
+     */
+    private int firstBucket;
+
+    private int size;
+
+    /** @see #getSerial() */
+    private long serial;
+
+    /** @see #getMaxEventsNumber() */
+    private long maxEventsNumber;
+
+    /**
+     * Creates a calendar queue using the {@link #DEF_BUCKET_WIDTH default bucket width}.
+     */
+    public CalendarQueue() {
+        this(DEF_BUCKET_WIDTH);
+    }
+
+    /**
+     * Creates a calendar queue defining the initial width of each bucket.
+     * The width is automatically adjusted when the queue is resized.
+     *
+     * @param bucketWidth the initial time interval (in seconds) covered by each bucket
+     */
+    public CalendarQueue(final double bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("The bucket width must be greater than 0, but is: " + bucketWidth);
+        }
+
+        this.bucketWidth = bucketWidth;
+        createBuckets(MIN_BUCKETS);
+        this.firstBucket = -1;
+    }
+
+    private void createBuckets(final int count) {
+        this.buckets = new Bucket[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new Bucket();
+        }
+
+        this.mask = count - 1;
+    }
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        insert(newEvent);
+        maxEventsNumber = Math.max(maxEventsNumber, size);
+    }
+
+    @Override
+    public void addEventFirst(final SimEvent newEvent) {
+        newEvent.setSerial(0);
+        insert(newEvent);
+    }
+
+    private void insert(final SimEvent evt) {
+        final long slot = slotOf(evt.getTime());
+        final int index = bucketIndex(slot);
+        buckets[index].add(evt);
+        size++;
+
+        if (slot < currentSlot) {
+            currentSlot = slot;
+        }
+
+        if (firstBucket > -1 && isBefore(evt, buckets[firstBucket].first())) {
+            firstBucket = index;
+        }
+
+        if (size > 2 * buckets.length) {
+            resize(2 * buckets.length);
+        }
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return buckets[findFirstBucket()].first();
+    }
+
+    /**
+     * Finds the bucket containing the first event in the queue.
+     * It checks the buckets from the {@link #currentSlot} on, looking for an event
+     * belonging to the slot being checked. If a whole turn in the calendar
+     * doesn't find such an event (the next event is far in the future),
+     * the first event of all buckets is directly searched.
+     *
+     * @return the index of the bucket containing the first event
+     */
+    private int findFirstBucket() {
+        if (firstBucket > -1) {
+            return firstBucket;
+        }
+
+        long slot = currentSlot;
+        for (int i = 0; i < buckets.length; i++, slot++) {
+            final Bucket bucket = buckets[bucketIndex(slot)];
+            if (!bucket.isEmpty() && slotOf(bucket.first().getTime()) == slot) {
+                return setFirstBucket(slot);
+            }
+        }
+
+        SimEvent first = null;
+        for (final Bucket bucket : buckets) {
+            if (!bucket.isEmpty() && (first == null || isBefore(bucket.first(), first))) {
+                first = bucket.first();
+            }
+        }
+
+        return setFirstBucket(slotOf(first.getTime()));
+    }
+
+    private int setFirstBucket(final long slot) {
+        currentSlot = slot;
+        firstBucket = bucketIndex(slot);
+        return firstBucket;
+    }
+
+    @Override
+    public List<SimEvent> pollEventsAt(final double time) {
+        if (size == 0) {
+            return new ArrayList<>(0);
+        }
+
+        /*Since all events with the same time belong to the same slot,
+        * they are all at the head of the bucket containing the first event.*/
+        final List<SimEvent> events = buckets[findFirstBucket()].pollAt(time);
+        if (!events.isEmpty()) {
+            afterRemoval(events.size());
+        }
+
+        return events;
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        if (size == 0 || event == null) {
+            return false;
+        }
+
+        final int index = bucketIndex(slotOf(event.getTime()));
+        if (!buckets[index].remove(event)) {
+            return false;
+        }
+
+        afterRemoval(1);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        int removed = 0;
+        for (final Bucket bucket : buckets) {
+            removed += bucket.removeIf(predicate);
+        }
+
+        if (removed == 0) {
+            return false;
+        }
+
+        afterRemoval(removed);
+        return true;
+    }
+
+    private void afterRemoval(final int removed) {
+        size -= removed;
+        firstBucket = -1;
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Changes the number of buckets, computing a new bucket width
+     * based on the separation between the next events in the queue.
+     * Then all events are redistributed into the new buckets.
+     *
+     * @param bucketsCount the new number of buckets (a power of 2)
+     */
+    private void resize(final int bucketsCount) {
+        final SimEvent[] events = toSortedArray();
+        bucketWidth = computeBucketWidth(events);
+        createBuckets(bucketsCount);
+
+        //Since events are sorted, they can be just appended to the end of the buckets
+        for (final SimEvent evt : events) {
+            buckets[bucketIndex(slotOf(evt.getTime()))].append(evt);
+        }
+
+        if (events.length == 0) {
+            firstBucket = -1;
+            return;
+        }
+
+        setFirstBucket(slotOf(events[0].getTime()));
+    }
+
+    /**
+     * Computes the width of buckets as three times the average
+     * separation between events, sampled along the whole queue.
+     * Events happening at the same time are included in the average,
+     * so that a large number of simultaneous events leads to narrower buckets
+     * and each bucket tends to store events with a single time.
+     * Separations much larger than the average are discarded so that
+     * sporadic far future events don't make the buckets too wide.
+     *
+     * @param sortedEvents the events in the queue, sorted by time
+     * @return the new bucket width or the current one
+     *         if all sampled events happen at the same time
+     */
+    private double computeBucketWidth(final SimEvent[] sortedEvents) {
+        final double average = averageSeparation(sortedEvents, Double.MAX_VALUE);
+        if (average <= 0) {
+            return bucketWidth;
+        }
+
+        final double averageWithoutOutliers = averageSeparation(sortedEvents, 2 * average);
+        return 3 * (averageWithoutOutliers > 0 ? averageWithoutOutliers : average);
+    }
+
+    private double averageSeparation(final SimEvent[] sortedEvents, final double maxSeparation) {
+        final int stride = Math.max(1, (sortedEvents.length - 1) / WIDTH_SAMPLE_SIZE);
+        double sum = 0;
+        int count = 0;
+        for (int i = 1; i < sortedEvents.length; i += stride) {
+            final double separation = sortedEvents[i].getTime() - sortedEvents[i - 1].getTime();
+            if (separation <= maxSeparation) {
+                sum += separation;
+                count++;
+            }
+        }
+
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Gets all the events in the queue, sorted by time and serial.
+     * @return a new array with the events
+     */
+    private SimEvent[] toSortedArray() {
+        final SimEvent[] events = new SimEvent[size];
+        int i = 0;
+        for (final Bucket bucket : buckets) {
+            i = bucket.copyTo(events, i);
+        }
+
+        Arrays.sort(events, EVENT_ORDER);
+        return events;
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        final Iterator<SimEvent> it = Arrays.asList(toSortedArray()).iterator();
+        return new Iterator<SimEvent>() {
+            private SimEvent last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public SimEvent next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+
+                CalendarQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(toSortedArray());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        createBuckets(MIN_BUCKETS);
+        size = 0;
+        currentSlot = 0;
+        firstBucket = -1;
+    }
+
+    @Override
+    public long getSerial() {
+        return serial;
+    }
+
+    @Override
+    public long getMaxEventsNumber() {
+        return maxEventsNumber;
+    }
+
+    /**
+     * Gets the time interval (in seconds) covered by each bucket.
+     * @return
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets the current number of buckets.
+     * @return
+     */
+    public int getBucketsNumber() {
+        return buckets.length;
+    }
+
+    private long slotOf(final double time) {
+        return (long) (time / bucketWidth);
+    }
+
+    private int bucketIndex(final long slot) {
+        return (int) (slot & mask);
+    }
+
+    /**
+     * Checks if an event must be processed before another one,
+     * according to their time and serial.
+     */
+    private static boolean isBefore(final SimEvent evt1, final SimEvent evt2) {
+        return evt1.getTime() < evt2.getTime() ||
+               (evt1.getTime() == evt2.getTime() && evt1.getSerial() < evt2.getSerial());
+    }
+
+    /**
+     * A bucket of the calendar, storing events sorted by time and serial
+     * into an array that works as a double-ended queue.
+     * Since events are usually added in time order and removed from the head,
+     * both operations usually take O(1).
+     */
+    private static final class Bucket implements Serializable {
+        private static final int DEF_CAPACITY = 4;
+
+        private SimEvent[] items = new SimEvent[DEF_CAPACITY];
+
+        /** Index of the first event. */
+        private int head;
+
+        /** Index after the last event. */
+        private int tail;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        SimEvent first() {
+            return items[head];
+        }
+
+        /**
+         * Adds an event after all events happening before it or at the same time and serial.
+         * @param evt the event to add
+         */
+        void add(final SimEvent evt) {
+            if (isEmpty() || !isBefore(evt, items[tail - 1])) {
+                append(evt);
+                return;
+            }
+
+            ensureCapacity();
+            final int pos = upperBound(evt);
+            System.arraycopy(items, pos, items, pos + 1, tail - pos);
+            items[pos] = evt;
+            tail++;
+        }
+
+        /**
+         * Adds an event to the end of the bucket, assuming it's not before the last one.
+         * @param evt the event to add
+         */
+        void append(final SimEvent evt) {
+            ensureCapacity();
+            items[tail++] = evt;
+        }
+
+        /**
+         * Gets the position of the first event that must be processed after a given one.
+         */
+        private int upperBound(final SimEvent evt) {
+            int low = head;
+            int high = tail;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (isBefore(evt, items[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Gets the position of the first event that isn't before a given one.
+         */
+        private int lowerBound(final SimEvent evt) {
+            int low = head;
+            int high = tail;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (isBefore(items[mid], evt)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Ensures there is room to add an event at the tail,
+         * moving events to the beginning of the array or growing it.
+         */
+        private void ensureCapacity() {
+            if (tail < items.length) {
+                return;
+            }
+
+            final int count = tail - head;
+            if (head > 0 && count < items.length / 2) {
+                System.arraycopy(items, head, items, 0, count);
+                Arrays.fill(items, count, tail, null);
+            } else {
+                items = Arrays.copyOfRange(items, head, head + items.length * 2);
+            }
+
+            head = 0;
+            tail = count;
+        }
+
+        /**
+         * Removes all events at the head of the bucket happening at a given time.
+         * @param time the time of the events to remove
+         * @return the list of removed events
+         */
+        List<SimEvent> pollAt(final double time) {
+            final List<SimEvent> events = new ArrayList<>();
+            while (!isEmpty() && items[head].getTime() == time) {
+                events.add(items[head]);
+                items[head++] = null;
+            }
+
+            if (head == tail) {
+                head = tail = 0;
+            }
+
+            return events;
+        }
+
+        boolean remove(final SimEvent evt) {
+            for (int i = lowerBound(evt); i < tail && !isBefore(evt, items[i]); i++) {
+                if (items[i] == evt) {
+                    removeAt(i);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void removeAt(final int index) {
+            if (index == head) {
+                items[head++] = null;
+            } else {
+                System.arraycopy(items, index + 1, items, index, tail - index - 1);
+                items[--tail] = null;
+            }
+
+            if (head == tail) {
+                head = tail = 0;
+            }
+        }
+
+        int removeIf(final Predicate<SimEvent> predicate) {
+            int newTail = head;
+            for (int i = head; i < tail; i++) {
+                if (!predicate.test(items[i])) {
+                    items[newTail++] = items[i];
+                }
+            }
+
+            final int removed = tail - newTail;
+            Arrays.fill(items, newTail, tail, null);
+            tail = newTail;
+            if (head == tail) {
+                head = tail = 0;
+            }
+
+            return removed;
+        }
+
+        int copyTo(final SimEvent[] dest, final int destPos) {
+            final int count = tail - head;
+            System.arraycopy(items, head, dest, destPos, count);
+            return destPos + count;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -23,18 +24,18 @@ import java.util.Objects;
  * @see CloudSim
  * @see SimEntity
  */
-public final class CloudSimEvent implements SimEvent {
+public final class CloudSimEvent implements SimEvent, Serializable {
     /**
      * @see #getSimulation()
      */
     private Simulation simulation;
 
-    private final Type type;
+    private Type type;
 
     /**
      * The actual simulation time that this event was scheduled to (at which it should occur).
      */
-    private final double time;
+    private double time;
 
     /**
      * Time that the event was removed from the queue to start service.
@@ -51,15 +52,21 @@ public final class CloudSimEvent implements SimEvent {
      */
     private SimEntity dest;
 
-    private final int tag;
+    private int tag;
 
-    private final Object data;
+    private Object data;
 
     /**
      * @see #getSerial()
      */
     private long serial = -1;
 
+    /**
+     * Indicates if the event was created by an {@link EventPool}
+     * and can be returned to it after being processed.
+     */
+    private boolean pooled;
+
     /**
      * Creates a {@link Type#SEND} CloudSimEvent.
      * @param delay how many seconds after the current simulation time the event should be scheduled
@@ -159,6 +166,20 @@ public final class CloudSimEvent implements SimEvent {
         final Type type, final double delay,
         final SimEntity src, final SimEntity dest,
         final int tag, final Object data)
+    {
+        init(type, delay, src, dest, tag, data);
+    }
+
+    /**
+     * Sets all the attributes of the event,
+     * enabling an existing event to be reused by an {@link EventPool}.
+     *
+     * @see #CloudSimEvent(Type, double, SimEntity, SimEntity, int, Object)
+     */
+    CloudSimEvent init(
+        final Type type, final double delay,
+        final SimEntity src, final SimEntity dest,
+        final int tag, final Object data)
     {
         if (delay < 0) {
             throw new IllegalArgumentException("Delay can't be negative.");
@@ -171,6 +192,27 @@ public final class CloudSimEvent implements SimEvent {
         this.time = simulation.clock() + delay;
         this.tag = tag;
         this.data = data;
+        this.serial = -1;
+        this.endWaitingTime = 0;
+        return this;
+    }
+
+    /**
+     * Clears the references kept by the event when it is returned to an {@link EventPool},
+     * so that they can be garbage collected.
+     */
+    void clear() {
+        this.data = null;
+        this.src = SimEntity.NULL;
+        this.dest = SimEntity.NULL;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(final boolean pooled) {
+        this.pooled = pooled;
     }
 
     @Override
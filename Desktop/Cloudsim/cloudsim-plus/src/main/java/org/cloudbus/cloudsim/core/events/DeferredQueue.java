@@ -1,5 +1,8 @@
 package org.cloudbus.cloudsim.core.events;
 
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -12,25 +15,33 @@ import java.util.stream.Stream;
  * because the {@link LinkedList} provides constant O(1) complexity
  * to add elements to the end.
  *
+ * <p>Events are indexed by their {@link SimEvent#getDestination() destination entity},
+ * so that an entity looking for its own events
+ * (by means of {@link #findFirst(SimEntity, Predicate)} or {@link #removeFirst(SimEntity, Predicate)})
+ * just visits the events sent to it, instead of the events of all entities.
+ * The events of each destination are kept in the same temporal (FIFO) order
+ * they would have in a single queue.
+ * The number of events of each {@link SimEvent#getTag() tag} is also tracked for every destination,
+ * enabling a search using a {@link PredicateType} to return immediately
+ * when there is no event with the requested tag.</p>
+ *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.4.2
  */
-public class DeferredQueue implements EventQueue {
+public class DeferredQueue implements EventQueue, Serializable {
     /**
-     * Despite the events are sorted by time and there are
-     * sorted collections such as {@link java.util.SortedSet},
-     * since the time of a new event is usually higher than the previous
-     * one, in such a case, the {@link LinkedList#add(Object)} provides
-     * better performance, which is O(1).
+     * A map where each key is a destination entity and each value
+     * is the queue of events sent to such an entity.
      */
-    private final List<SimEvent> list = new LinkedList<>();
+    private final Map<SimEntity, DestinationQueue> destinations = new HashMap<>();
 
     /**
      * The max time that an added event is scheduled.
      */
     private double maxTime = -1;
 
+    private int size;
     private int addedToTail;
     private int addedToMiddle;
     private int maxSize;
@@ -45,52 +56,87 @@ public class DeferredQueue implements EventQueue {
         // The event has to be inserted as the last of all events
         // with the same event_time(). Yes, this matters.
         final double eventTime = newEvent.getTime();
-        maxSize = Math.max(maxSize, list.size());
+        maxSize = Math.max(maxSize, size);
+        final DestinationQueue queue = destinations.computeIfAbsent(newEvent.getDestination(), dest -> new DestinationQueue());
+        size++;
         if (eventTime >= maxTime) {
-            list.add(newEvent);
+            queue.addLast(newEvent);
             maxTime = eventTime;
             addedToTail++;
             return;
         }
 
-        /*
-         * Adds an event in some position from the tail of the list.
-         * If the event time is smaller than the maxTime, traverses the list
-         * to find the place to insert the event.
-         * It uses a reverse iterator because usually in such cases,
-         * the time of the new event is close to the last events.
-         * Starting from the tail of the list will ensure the lowest number
-         * of iterations of the best cases.
-         * */
-        final ListIterator<SimEvent> reverseIterator = list.listIterator(list.size() - 1);
-        while (reverseIterator.hasPrevious()) {
-            if (reverseIterator.previous().getTime() <= eventTime) {
-                reverseIterator.next();
-                reverseIterator.add(newEvent);
-                addedToMiddle++;
-                return;
-            }
-        }
-
-        list.add(newEvent);
+        queue.addInOrder(newEvent);
+        addedToMiddle++;
     }
 
     /**
-     * Returns an iterator to the events in the queue.
+     * Returns an iterator to the events in the queue, ordered by time.
+     * Since events are indexed by destination entity,
+     * this requires merging the events of all destinations.
      *
      * @return the iterator
      */
     public Iterator<SimEvent> iterator() {
-        return list.iterator();
+        final Iterator<SimEvent> it = sortedEvents().iterator();
+        return new Iterator<SimEvent>() {
+            private SimEvent last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public SimEvent next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+
+                DeferredQueue.this.remove(last);
+                last = null;
+            }
+        };
     }
 
     /**
-     * Returns a stream to the elements into the queue.
+     * Returns a stream to the elements into the queue, ordered by time.
+     * Since events are indexed by destination entity,
+     * this requires merging the events of all destinations.
      *
      * @return the stream
+     * @see #stream(SimEntity)
      */
     public Stream<SimEvent> stream() {
-        return list.stream();
+        return sortedEvents().stream();
+    }
+
+    /**
+     * Returns a stream to the events sent to a given entity.
+     *
+     * @param dest the destination entity of the events
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(final SimEntity dest) {
+        final DestinationQueue queue = destinations.get(dest);
+        return queue == null ? Stream.empty() : queue.events.stream();
+    }
+
+    /**
+     * Gets all events from all destinations, ordered by time.
+     * @return a new list with the events
+     */
+    private List<SimEvent> sortedEvents() {
+        final List<SimEvent> events = new ArrayList<>(size);
+        destinations.values().forEach(queue -> events.addAll(queue.events));
+        events.sort(Comparator.comparingDouble(SimEvent::getTime));
+        return events;
     }
 
     /**
@@ -99,12 +145,69 @@ public class DeferredQueue implements EventQueue {
      * @return the number of events in the queue.
      */
     public int size() {
-        return list.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
+    }
+
+    /**
+     * Checks if there is any event sent to a given entity.
+     * @param dest the destination entity of the events
+     * @return true if there is some event to the entity, false otherwise
+     */
+    public boolean hasEvents(final SimEntity dest) {
+        final DestinationQueue queue = destinations.get(dest);
+        return queue != null && !queue.events.isEmpty();
+    }
+
+    /**
+     * Gets the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity of the event
+     * @param predicate the event selection predicate
+     * @return the first matching event or {@link SimEvent#NULL} if none is found
+     */
+    public SimEvent findFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final DestinationQueue queue = destinations.get(dest);
+        if (queue == null || !queue.mayContain(predicate)) {
+            return SimEvent.NULL;
+        }
+
+        for (final SimEvent evt : queue.events) {
+            if (predicate.test(evt)) {
+                return evt;
+            }
+        }
+
+        return SimEvent.NULL;
+    }
+
+    /**
+     * Removes the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity of the event
+     * @param predicate the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if none is found
+     */
+    public SimEvent removeFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final DestinationQueue queue = destinations.get(dest);
+        if (queue == null || !queue.mayContain(predicate)) {
+            return SimEvent.NULL;
+        }
+
+        for (final Iterator<SimEvent> it = queue.events.iterator(); it.hasNext(); ) {
+            final SimEvent evt = it.next();
+            if (predicate.test(evt)) {
+                it.remove();
+                afterRemoval(queue, evt);
+                return evt;
+            }
+        }
+
+        return SimEvent.NULL;
     }
 
     /**
@@ -114,7 +217,29 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean remove(final SimEvent event) {
-        return list.remove(event);
+        final DestinationQueue queue = destinations.get(event.getDestination());
+        if (queue == null) {
+            return false;
+        }
+
+        for (final Iterator<SimEvent> it = queue.events.iterator(); it.hasNext(); ) {
+            final SimEvent evt = it.next();
+            if (evt == event) {
+                it.remove();
+                afterRemoval(queue, evt);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void afterRemoval(final DestinationQueue queue, final SimEvent removed) {
+        size--;
+        queue.decrementTag(removed.getTag());
+        if (queue.events.isEmpty()) {
+            destinations.remove(removed.getDestination());
+        }
     }
 
     /**
@@ -124,27 +249,59 @@ public class DeferredQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean removeAll(final Collection<SimEvent> events) {
-        return list.removeAll(events);
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
     }
 
     public boolean removeIf(final Predicate<SimEvent> predicate) {
-        return list.removeIf(predicate);
+        boolean removed = false;
+        for (final Iterator<DestinationQueue> queueIt = destinations.values().iterator(); queueIt.hasNext(); ) {
+            final DestinationQueue queue = queueIt.next();
+            for (final Iterator<SimEvent> it = queue.events.iterator(); it.hasNext(); ) {
+                final SimEvent evt = it.next();
+                if (predicate.test(evt)) {
+                    it.remove();
+                    size--;
+                    queue.decrementTag(evt.getTag());
+                    removed = true;
+                }
+            }
+
+            if (queue.events.isEmpty()) {
+                queueIt.remove();
+            }
+        }
+
+        return removed;
     }
 
     /**
      * Clears the queue.
      */
     public void clear() {
-        list.clear();
+        destinations.clear();
+        size = 0;
     }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-        if (list.isEmpty()) {
+        if (size == 0) {
             throw new NoSuchElementException("The Deferred Queue is empty.");
         }
 
-        return list.get(0);
+        SimEvent first = null;
+        for (final DestinationQueue queue : destinations.values()) {
+            final SimEvent evt = queue.events.getFirst();
+            if (first == null || evt.getTime() < first.getTime()) {
+                first = evt;
+            }
+        }
+
+        return first;
     }
 
     /**
@@ -172,4 +329,72 @@ public class DeferredQueue implements EventQueue {
     public int getMaxSize() {
         return maxSize;
     }
+
+    /**
+     * The events sent to a specific destination entity,
+     * ordered by time, and the number of such events for each tag.
+     */
+    private static final class DestinationQueue implements Serializable {
+        /**
+         * Despite the events are sorted by time and there are
+         * sorted collections such as {@link java.util.SortedSet},
+         * since the time of a new event is usually higher than the previous
+         * one, in such a case, the {@link LinkedList#add(Object)} provides
+         * better performance, which is O(1).
+         */
+        private final LinkedList<SimEvent> events = new LinkedList<>();
+
+        /**
+         * A map where each key is an event tag and each value
+         * is the number of events with such a tag.
+         */
+        private final Map<Integer, Integer> tagsCount = new HashMap<>();
+
+        void addLast(final SimEvent evt) {
+            events.addLast(evt);
+            tagsCount.merge(evt.getTag(), 1, Integer::sum);
+        }
+
+        /**
+         * Adds an event after all events happening before it or at the same time.
+         * It uses a reverse iterator because usually in such cases,
+         * the time of the new event is close to the last events.
+         * Starting from the tail of the list will ensure the lowest number
+         * of iterations of the best cases.
+         */
+        void addInOrder(final SimEvent evt) {
+            tagsCount.merge(evt.getTag(), 1, Integer::sum);
+            final ListIterator<SimEvent> reverseIterator = events.listIterator(events.size());
+            while (reverseIterator.hasPrevious()) {
+                if (reverseIterator.previous().getTime() <= evt.getTime()) {
+                    reverseIterator.next();
+                    reverseIterator.add(evt);
+                    return;
+                }
+            }
+
+            events.addFirst(evt);
+        }
+
+        void decrementTag(final int tag) {
+            tagsCount.computeIfPresent(tag, (key, count) -> count == 1 ? null : count - 1);
+        }
+
+        /**
+         * Checks if there may be some event matching a given predicate.
+         * If the predicate is a {@link PredicateType}, checks if there is any event with its tag.
+         * Subclasses of {@link PredicateType} are not considered, since they may
+         * redefine the selection criteria.
+         *
+         * @param predicate the event selection predicate
+         * @return false if it is sure there is no matching event, true otherwise
+         */
+        boolean mayContain(final Predicate<SimEvent> predicate) {
+            if (predicate.getClass() == PredicateType.class) {
+                return tagsCount.containsKey(((PredicateType) predicate).getTag());
+            }
+
+            return true;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of {@link CloudSimEvent}s, used by the simulation to create the events
+ * sent between entities. When {@link #isEnabled() enabled}, events already processed
+ * are returned to the pool and reused to create new events,
+ * avoiding the allocation of millions of short-lived objects in large simulations.
+ *
+ * <p>The pool is disabled by default, in which case a new event is always created.
+ * Since a reused event has all its attributes changed,
+ * <b>when the pool is enabled, entities and listeners must not keep references
+ * to received events after processing them</b>.
+ * Events created directly by calling a {@link CloudSimEvent} constructor
+ * are never reused, thus they can be safely kept, for instance, to be cancelled later.</p>
+ *
+ * <p>The pool keeps counters of created and reused events,
+ * enabling to check the number of allocations saved.</p>
+ */
+public final class EventPool implements Serializable {
+    /**
+     * The default maximum number of idle events kept into the pool.
+     */
+    public static final int DEF_MAX_SIZE = 10_000;
+
+    private final Deque<CloudSimEvent> idleEvents;
+    private final int maxSize;
+    private boolean enabled;
+
+    /** @see #getCreatedEvents() */
+    private long createdEvents;
+
+    /** @see #getReusedEvents() */
+    private long reusedEvents;
+
+    /**
+     * Creates a disabled event pool that keeps up to {@link #DEF_MAX_SIZE} idle events.
+     */
+    public EventPool() {
+        this(DEF_MAX_SIZE);
+    }
+
+    /**
+     * Creates a disabled event pool.
+     * @param maxSize the maximum number of idle events kept into the pool
+     */
+    public EventPool(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size of the pool cannot be negative.");
+        }
+
+        this.maxSize = maxSize;
+        this.idleEvents = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets an event from the pool, or creates a new one if the pool is disabled or empty.
+     *
+     * @param type the internal type of the event
+     * @param delay how many seconds after the current simulation time the event should be scheduled
+     * @param src the source entity which is sending the message
+     * @param dest the destination entity which has to receive the message
+     * @param tag the tag that identifies the type of the message
+     * @param data the data attached to the message, that depends on the message tag
+     * @return the event
+     * @see CloudSimEvent#CloudSimEvent(SimEvent.Type, double, SimEntity, SimEntity, int, Object)
+     */
+    public SimEvent acquire(
+        final SimEvent.Type type, final double delay,
+        final SimEntity src, final SimEntity dest,
+        final int tag, final Object data)
+    {
+        final CloudSimEvent evt = idleEvents.pollLast();
+        if (evt == null) {
+            createdEvents++;
+            final CloudSimEvent newEvent = new CloudSimEvent(type, delay, src, dest, tag, data);
+            newEvent.setPooled(enabled);
+            return newEvent;
+        }
+
+        reusedEvents++;
+        evt.setPooled(true);
+        return evt.init(type, delay, src, dest, tag, data);
+    }
+
+    /**
+     * Returns an already processed event to the pool, so that it can be reused.
+     * Events not created by an enabled pool are ignored.
+     *
+     * @param evt the event to return to the pool
+     */
+    public void release(final SimEvent evt) {
+        if (!enabled || !(evt instanceof CloudSimEvent)) {
+            return;
+        }
+
+        final CloudSimEvent event = (CloudSimEvent) evt;
+        if (!event.isPooled() || idleEvents.size() >= maxSize) {
+            return;
+        }
+
+        //Avoids the event to be added again into the pool while it's idle
+        event.setPooled(false);
+        event.clear();
+        idleEvents.addLast(event);
+    }
+
+    /**
+     * Checks if the pool is enabled, meaning processed events are reused.
+     * @return
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the pool.
+     * Disabling the pool discards the idle events.
+     *
+     * @param enabled true to enable the pool, false to disable it
+     * @return
+     */
+    public EventPool setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            idleEvents.clear();
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the number of events allocated by the pool, either because it was disabled or empty.
+     * @return
+     */
+    public long getCreatedEvents() {
+        return createdEvents;
+    }
+
+    /**
+     * Gets the number of times an idle event was reused instead of allocating a new one.
+     * @return
+     */
+    public long getReusedEvents() {
+        return reusedEvents;
+    }
+
+    /**
+     * Gets the number of idle events currently in the pool.
+     * @return
+     */
+    public int size() {
+        return idleEvents.size();
+    }
+}
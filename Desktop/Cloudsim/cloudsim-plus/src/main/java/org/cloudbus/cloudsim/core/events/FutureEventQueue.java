@@ -0,0 +1,93 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An interface to be implemented by queues that store the events
+ * a {@link CloudSim} simulation will process in the future.
+ * It allows the simulation engine to be configured
+ * with different data structures for such a queue.
+ *
+ * <p>Implementations must keep events ordered by their {@link SimEvent#getTime() time}
+ * and then by their {@link SimEvent#getSerial() serial}.
+ * Events having the same time and serial must be kept in the order they were added.
+ * Since {@link #addEventFirst(SimEvent)} sets the event serial to 0,
+ * such an event is placed ahead of all other events happening at the same time.</p>
+ *
+ * @see FutureQueue
+ * @see CalendarQueue
+ * @see CloudSim#CloudSim(FutureEventQueue)
+ */
+public interface FutureEventQueue extends EventQueue {
+    /**
+     * Adds a new event to the head of the queue,
+     * giving it priority over other events happening at the same time.
+     *
+     * @param newEvent The event to be put in the queue.
+     */
+    void addEventFirst(SimEvent newEvent);
+
+    /**
+     * Removes and returns all the events happening at a given time
+     * that are at the head of the queue.
+     * Since events are processed in time order, this is usually called with
+     * the time of the {@link #first() first event}, in order to get all events
+     * the simulation has to process at the current time.
+     * It must only touch the events being removed,
+     * not the entire queue.
+     *
+     * @param time the time of the events to remove
+     * @return the list of removed events, in the order they have to be processed;
+     *         or an empty list if the first event doesn't happen at the given time
+     */
+    List<SimEvent> pollEventsAt(double time);
+
+    /**
+     * Removes the event from the queue.
+     *
+     * @param event the event
+     * @return true, if successful
+     */
+    boolean remove(SimEvent event);
+
+    /**
+     * Removes all the events from the queue.
+     *
+     * @param events the events
+     * @return true, if successful
+     */
+    boolean removeAll(Collection<SimEvent> events);
+
+    /**
+     * Removes all the events that match a given predicate.
+     *
+     * @param predicate the predicate to select the events to remove
+     * @return true if some event was removed, false otherwise
+     */
+    boolean removeIf(Predicate<SimEvent> predicate);
+
+    /**
+     * Clears the queue.
+     */
+    void clear();
+
+    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
+    long getSerial();
+
+    /**
+     * Maximum number of events that have ever existed at the same time
+     * inside the queue.
+     */
+    long getMaxEventsNumber();
+}
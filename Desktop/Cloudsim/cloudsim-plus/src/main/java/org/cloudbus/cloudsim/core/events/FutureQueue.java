@@ -8,28 +8,34 @@
 
 package org.cloudbus.cloudsim.core.events;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
- * An {@link EventQueue} that stores future simulation events.
+ * A {@link FutureEventQueue} that stores future simulation events.
  * It uses a {@link TreeSet} in order ensure the events
  * are stored ordered. Using a {@link java.util.LinkedList}
  * as defined by {@link DeferredQueue} to improve performance
  * doesn't work for this queue.
  *
+ * <p>This is the default future queue used by the simulation engine.
+ * Each insertion and removal costs O(log n).
+ * Check {@link CalendarQueue} for an alternative with
+ * amortized O(1) insertion and removal.</p>
+ *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  * @see java.util.TreeSet
  * @since CloudSim Toolkit 1.0
  */
-public class FutureQueue implements EventQueue {
+public class FutureQueue implements FutureEventQueue, Serializable {
 
     /**
      * The sorted set of events.
      */
-    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
+    private final NavigableSet<SimEvent> sortedSet = new TreeSet<>();
 
     /** @see #getSerial() */
     private long serial;
@@ -44,11 +50,7 @@ public class FutureQueue implements EventQueue {
         maxEventsNumber = Math.max(maxEventsNumber, sortedSet.size());
     }
 
-    /**
-     * Adds a new event to the head of the queue.
-     *
-     * @param newEvent The event to be put in the queue.
-     */
+    @Override
     public void addEventFirst(final SimEvent newEvent) {
         newEvent.setSerial(0);
         sortedSet.add(newEvent);
@@ -74,26 +76,46 @@ public class FutureQueue implements EventQueue {
         return sortedSet.isEmpty();
     }
 
-    /**
-     * Removes the event from the queue.
-     *
-     * @param event the event
-     * @return true, if successful
-     */
+    @Override
+    public List<SimEvent> pollEventsAt(final double time) {
+        final List<SimEvent> events = new ArrayList<>();
+        while (!sortedSet.isEmpty() && sortedSet.first().getTime() == time) {
+            events.add(sortedSet.pollFirst());
+        }
+
+        return events;
+    }
+
+    @Override
     public boolean remove(final SimEvent event) {
-        return sortedSet.remove(event);
+        if (sortedSet.remove(event)) {
+            return true;
+        }
+
+        /*The TreeSet may not find an event that has the same time and serial of other ones
+        * (such as events added by addEventFirst), since SimEvent.compareTo
+        * doesn't return 0 for distinct events. Such events are searched by identity.*/
+        for (final Iterator<SimEvent> it = sortedSet.iterator(); it.hasNext(); ) {
+            final SimEvent evt = it.next();
+            if (evt.getTime() > event.getTime()) {
+                return false;
+            }
+
+            if (evt == event) {
+                it.remove();
+                return true;
+            }
+        }
+
+        return false;
     }
 
-    /**
-     * Removes all the events from the queue.
-     *
-     * @param events the events
-     * @return true, if successful
-     */
+    @Override
     public boolean removeAll(final Collection<SimEvent> events) {
         return sortedSet.removeAll(events);
     }
 
+    @Override
     public boolean removeIf(final Predicate<SimEvent> predicate){
         return sortedSet.removeIf(predicate);
     }
@@ -103,22 +125,17 @@ public class FutureQueue implements EventQueue {
         return sortedSet.first();
     }
 
-    /**
-     * Clears the queue.
-     */
+    @Override
     public void clear() {
         sortedSet.clear();
     }
 
-    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
+    @Override
     public long getSerial() {
         return serial;
     }
 
-    /**
-     * Maximum number of events that have ever existed at the same time
-     * inside the queue.
-     */
+    @Override
     public long getMaxEventsNumber() {
         return maxEventsNumber;
     }
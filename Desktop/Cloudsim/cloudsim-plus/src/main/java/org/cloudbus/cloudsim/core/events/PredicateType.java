@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.core.events;
 
+import java.io.Serializable;
 import java.util.function.Predicate;
 
 /**
@@ -17,7 +18,7 @@ import java.util.function.Predicate;
  * @see Predicate
  * @since CloudSim Toolkit 1.0
  */
-public class PredicateType implements Predicate<SimEvent> {
+public class PredicateType implements Predicate<SimEvent>, Serializable {
 
     private final int tag;
 
@@ -30,6 +31,14 @@ public class PredicateType implements Predicate<SimEvent> {
         this.tag = tag;
     }
 
+    /**
+     * Gets the {@link SimEvent#getTag() tag} of the events this predicate selects.
+     * @return
+     */
+    public int getTag() {
+        return tag;
+    }
+
     /**
      * Matches any event that has one of the specified {@link #tag}.
      *
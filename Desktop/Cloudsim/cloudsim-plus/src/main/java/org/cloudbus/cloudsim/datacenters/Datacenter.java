@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * An interface to be implemented by each class that provides Datacenter
@@ -51,6 +52,14 @@ public interface Datacenter extends SimEntity, PowerAware, TimeZoned {
      */
     double DEF_BW_PERCENT_FOR_MIGRATION = 0.5;
 
+    /**
+     * The default minimum number of Hosts a Datacenter must have
+     * to update the processing of its Hosts in parallel.
+     * Parallel updates are disabled by default.
+     * @see #setHostCountForParallelUpdate(int)
+     */
+    int DEF_HOST_COUNT_FOR_PARALLEL_UPDATE = Integer.MAX_VALUE;
+
     /**
      * Sends an event to request the migration of a {@link Vm} to a given target {@link Host}.
      * If you want VM migrations to be performed automatically,
@@ -62,6 +71,35 @@ public interface Datacenter extends SimEntity, PowerAware, TimeZoned {
      */
     void requestVmMigration(Vm sourceVm, Host targetHost);
 
+    /**
+     * Requests the migration of a set of {@link Vm}s to given target {@link Host}s at once.
+     * The entire plan is validated before any migration is started:
+     * VMs already placed into their target Host, VMs already migrating and
+     * VMs that cannot be migrated to their target Host are not migrated,
+     * but just reported in the returned result.
+     * Migrations expected to finish at the same time are finished by a single event.
+     *
+     * <p>Only migrations between Hosts of this Datacenter are supported:
+     * a target Host that belongs to another Datacenter (or to no Datacenter) is rejected,
+     * unlike {@link #requestVmMigration(Vm, Host)}, which doesn't check the Datacenter of the target Host.</p>
+     *
+     * @param plan a map where each key is a VM to be migrated and each value is the target Host to migrate it to
+     *             (migrations are started in the iteration order of the map)
+     * @return the result of the plan, which indicates what happened to each VM
+     * @see #requestVmMigration(Vm, Host)
+     */
+    MigrationPlanResult applyMigrationPlan(Map<Vm, Host> plan);
+
+    /**
+     * Requests the processing of a Host to be updated again by the Datacenter,
+     * after the Datacenter stopped updating it because the Host was idle.
+     * It's called by the Host itself when its state changes (for instance, when a VM is placed into it).
+     *
+     * @param host the Host to be processed
+     * @see Host#isProcessingUpdateNeeded()
+     */
+    void requestHostProcessing(Host host);
+
     /**
      * Gets an <b>unmodifiable</b> host list.
      *
@@ -173,6 +211,46 @@ public interface Datacenter extends SimEntity, PowerAware, TimeZoned {
      */
     Datacenter setSchedulingInterval(double schedulingInterval);
 
+    /**
+     * Checks if the processing of Hosts is updated in parallel,
+     * which happens when the number of Hosts is at least
+     * the {@link #getHostCountForParallelUpdate() minimum number to enable it}.
+     * Hosts are always updated sequentially while the Datacenter is
+     * {@link org.cloudbus.cloudsim.core.Simulation#isProcessingConcurrently() processed concurrently}
+     * with other entities, since the worker threads updating them wouldn't see
+     * the clock and send events in the same context as the Datacenter.
+     * @return true if Hosts are updated in parallel, false otherwise
+     */
+    default boolean isParallelHostUpdateEnabled(){
+        return getHostList().size() >= getHostCountForParallelUpdate() && !getSimulation().isProcessingConcurrently();
+    }
+
+    /**
+     * Gets the minimum number of Hosts the Datacenter must have
+     * to update their processing in parallel.
+     * @return
+     * @see #setHostCountForParallelUpdate(int)
+     */
+    int getHostCountForParallelUpdate();
+
+    /**
+     * Sets the minimum number of Hosts the Datacenter must have
+     * to update their processing in parallel, using the common fork-join pool.
+     *
+     * <p>Each Host is updated by a single thread, but different Hosts are updated concurrently.
+     * Actions that change state shared among Hosts (such as returning finished Cloudlets to brokers,
+     * requesting the destruction of idle VMs and notifying listeners)
+     * are deferred and run afterwards, Host by Host, in the order of the {@link #getHostList() Host list}.
+     * This way, the results are the same as a sequential update.
+     * However, {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModel}s
+     * shared by Cloudlets running in different Hosts must be thread-safe.</p>
+     *
+     * @param hostCountForParallelUpdate the minimum number of Hosts to enable parallel updates
+     *                                   ({@link #DEF_HOST_COUNT_FOR_PARALLEL_UPDATE} disables it)
+     * @return
+     */
+    Datacenter setHostCountForParallelUpdate(int hostCountForParallelUpdate);
+
     /**
      * Gets the Datacenter characteristics.
      *
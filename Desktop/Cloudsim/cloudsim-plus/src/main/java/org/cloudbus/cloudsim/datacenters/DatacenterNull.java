@@ -11,6 +11,7 @@ import org.cloudsimplus.listeners.HostEventInfo;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A class that implements the Null Object Design Pattern for
@@ -30,6 +31,8 @@ final class DatacenterNull implements Datacenter, SimEntityNullBase {
         return VmAllocationPolicy.NULL;
     }
     @Override public void requestVmMigration(Vm sourceVm, Host targetHost) {/**/}
+    @Override public MigrationPlanResult applyMigrationPlan(Map<Vm, Host> plan) { return MigrationPlanResult.EMPTY; }
+    @Override public void requestHostProcessing(Host host) {/**/}
     @Override public Host getHost(final int index) { return Host.NULL; }
     @Override public long getActiveHostsNumber() { return 0; }
     @Override public long size() { return 0; }
@@ -39,6 +42,9 @@ final class DatacenterNull implements Datacenter, SimEntityNullBase {
     @Override public Datacenter addHost(Host host) { return this; }
     @Override public double getSchedulingInterval() { return 0; }
     @Override public Datacenter setSchedulingInterval(double schedulingInterval) { return this; }
+    @Override public boolean isParallelHostUpdateEnabled() { return false; }
+    @Override public int getHostCountForParallelUpdate() { return 0; }
+    @Override public Datacenter setHostCountForParallelUpdate(int hostCountForParallelUpdate) { return this; }
     @Override public DatacenterCharacteristics getCharacteristics() { return DatacenterCharacteristics.NULL; }
     @Override public DatacenterStorage getDatacenterStorage() { return STORAGE; }
     @Override public void setDatacenterStorage(DatacenterStorage datacenterStorage) {/**/}
@@ -3,13 +3,15 @@ package org.cloudbus.cloudsim.datacenters;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.power.models.PowerAware;
 
+import java.io.Serializable;
+
 /**
  * Computes current amount of power being consumed by the {@link Host}s of a {@link Datacenter}.
  *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.2.0
  */
-public class DatacenterPowerSupply implements PowerAware {
+public class DatacenterPowerSupply implements PowerAware, Serializable {
     public static final DatacenterPowerSupply NULL = new DatacenterPowerSupply(Datacenter.NULL){
         @Override protected double computePowerUtilizationForTimeSpan(double lastDatacenterProcessTime) { return -1; }
         @Override public double getPower() { return -1; }
@@ -9,9 +9,11 @@ package org.cloudbus.cloudsim.datacenters;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigration;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
@@ -33,7 +35,7 @@ import hierarchicalarchitecture.localcontrollerdaas.LocalControllerDaas;
 import hierarchicalarchitecture.localcontrollerwebapp.LocalControllerWA;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -71,6 +73,41 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     private List<? extends Host> hostList;
 
+    /**
+     * An index of the {@link #hostList} by Host id.
+     * @see #getHostById(long)
+     */
+    private final Map<Long, Host> hostsById = new HashMap<>();
+
+    /**
+     * The position of each Host inside the {@link #hostList}.
+     * @see #requestHostProcessing(Host)
+     */
+    private final Map<Host, Integer> hostIndexes = new IdentityHashMap<>();
+
+    /**
+     * The positions inside the {@link #hostList} of idle Hosts,
+     * whose processing is not updated until they {@link #requestHostProcessing(Host) request it}.
+     * @see Host#isProcessingUpdateNeeded()
+     */
+    private final BitSet idleHosts = new BitSet();
+
+    /**
+     * An index of the VMs created into Hosts of this Datacenter,
+     * where each key is a broker and each value maps the id of each VM from such a broker to the VM
+     * (VMs from different brokers may have the same id).
+     * @see #getVmById(DatacenterBroker, long)
+     */
+    private final Map<DatacenterBroker, Map<Long, Vm>> vmsByBroker = new HashMap<>();
+
+    /**
+     * The VMs whose migration was started by this Datacenter and is not finished yet.
+     * Hosts don't flag such VMs as {@link Vm#isInMigration() in migration}
+     * until the migration is finished, so they are tracked here.
+     * @see #applyMigrationPlan(Map)
+     */
+    private final Set<Vm> vmsMigrating = new HashSet<>();
+
     /** @see #getCharacteristics() */
     private final DatacenterCharacteristics characteristics;
 
@@ -84,6 +121,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     /** @see #getSchedulingInterval() */
     private double schedulingInterval;
 
+    /** @see #getHostCountForParallelUpdate() */
+    private int hostCountForParallelUpdate = DEF_HOST_COUNT_FOR_PARALLEL_UPDATE;
+
     /** @see #getDatacenterStorage() */
 	private DatacenterStorage datacenterStorage;
 
@@ -211,6 +251,31 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         }
 
         Simulation.setIdForEntitiesWithoutOne(this.hostList);
+        hostIndexes.clear();
+        idleHosts.clear();
+        indexHosts();
+    }
+
+    /**
+     * Indexes the Hosts of this Datacenter by their ids.
+     * If multiple Hosts have the same id, the first one in the {@link #hostList} is indexed.
+     * The {@link #idleHosts} are kept, unless some already indexed Host
+     * changed its position inside the {@link #hostList}.
+     */
+    private void indexHosts() {
+        boolean positionsChanged = false;
+        hostsById.clear();
+        for (int i = 0; i < hostList.size(); i++) {
+            final Host host = hostList.get(i);
+            hostsById.putIfAbsent(host.getId(), host);
+            final Integer previous = hostIndexes.put(host, i);
+            positionsChanged |= previous != null && previous != i;
+        }
+
+        if (positionsChanged || hostIndexes.size() > hostList.size()) {
+            hostIndexes.keySet().retainAll(new HashSet<>(hostList));
+            idleHosts.clear();
+        }
     }
 
     @Override
@@ -574,6 +639,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final boolean hostAllocatedForVm = vmAllocationPolicy.allocateHostForVm(vm);
         if (hostAllocatedForVm) {
             vm.updateProcessing(vm.getHost().getVmScheduler().getAllocatedMips(vm));
+            indexVm(vm);
         }
 
         /* Acknowledges that the request was received by the Datacenter,
@@ -595,6 +661,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     protected void processVmDestroy(final SimEvent evt, final boolean ack) {
         final Vm vm = (Vm) evt.getData();
         vmAllocationPolicy.deallocateHostForVm(vm);
+        removeVmFromIndex(vm);
 
         if (ack) {
             sendNow(vm.getBroker(), CloudSimTags.VM_DESTROY_ACK, vm);
@@ -624,30 +691,70 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     }
 
     /**
-     * Finishes the process of migrating a VM.
+     * Finishes the process of migrating one or more VMs.
      *
-     * @param evt information about the event just happened
+     * @param evt information about the event just happened,
+     *            whose data is either a single {@code Map.Entry<Vm, Host>} or a List of them,
+     *            for migrations that are finished at the same time
      * @param ack indicates if the event's sender expects to receive an
      * acknowledge message when the event finishes to be processed
+     * @see #applyMigrationPlan(Map)
      */
     protected void finishVmMigration(final SimEvent evt, final boolean ack) {
-        if (!(evt.getData() instanceof Map.Entry<?, ?>)) {
-            throw new ClassCastException("The data object must be Map.Entry<Vm, Host>");
+        final List<Map.Entry<Vm, Host>> migrations = getMigrations(evt);
+
+        //Updates processing of all Hosts to get the latest state for all Hosts before migrating VMs
+        updateHostsProcessing();
+
+        final boolean[] migrated = new boolean[migrations.size()];
+        for (int i = 0; i < migrated.length; i++) {
+            final Map.Entry<Vm, Host> entry = migrations.get(i);
+            migrated[i] = finishVmMigration(evt, entry.getKey(), entry.getValue(), ack);
+        }
+
+        final SimEvent event = getSimulation().findFirstDeferred(this, new PredicateType(CloudSimTags.VM_MIGRATE));
+        if (event == null || event.getTime() > clock()) {
+            //Updates processing of all Hosts again to get the latest state for all Hosts after the VMs migrations
+            updateHostsProcessing();
         }
 
-        final Map.Entry<Vm, Host> entry = (Map.Entry<Vm, Host>) evt.getData();
+        for (int i = 0; i < migrated.length; i++) {
+            final Map.Entry<Vm, Host> entry = migrations.get(i);
+            if (migrated[i])
+                LOGGER.info("{}: Migration of {} to {} is completed", getSimulation().clockStr(), entry.getKey(), entry.getValue());
+            else LOGGER.error("{}: {}: Allocation of {} to the destination Host failed!", getSimulation().clockStr(), this, entry.getKey());
+        }
+    }
 
-        final Vm vm = entry.getKey();
-        final Host targetHost = entry.getValue();
+    @SuppressWarnings("unchecked")
+    private List<Map.Entry<Vm, Host>> getMigrations(final SimEvent evt) {
+        if (evt.getData() instanceof Map.Entry<?, ?>) {
+            return Collections.singletonList((Map.Entry<Vm, Host>) evt.getData());
+        }
 
-        //Updates processing of all Hosts to get the latest state for all Hosts before migrating VMs
-        updateHostsProcessing();
+        if (evt.getData() instanceof List<?>) {
+            return (List<Map.Entry<Vm, Host>>) evt.getData();
+        }
+
+        throw new ClassCastException("The data object must be Map.Entry<Vm, Host> or a List of them");
+    }
 
+    /**
+     * Moves a migrating VM from its source Host to the target one.
+     *
+     * @param evt the event that finished the migration
+     * @param vm the VM being migrated
+     * @param targetHost the Host the VM is migrating to
+     * @param ack indicates if the event's sender expects to receive an acknowledge message
+     * @return true if the VM was allocated to the target Host, false otherwise
+     */
+    private boolean finishVmMigration(final SimEvent evt, final Vm vm, final Host targetHost, final boolean ack) {
         //De-allocates the VM on the source Host (where it is migrating out)
         vmAllocationPolicy.deallocateHostForVm(vm);
 
         targetHost.removeMigratingInVm(vm);
-        
+        vmsMigrating.remove(vm);
+
         final boolean migrated = vmAllocationPolicy.allocateHostForVm(vm, targetHost);
         if(migrated) {
         	int count=0;
@@ -661,22 +768,17 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         	}
             /*When the VM is destroyed from the source host, it's removed from the vmExecList.
             After migration, we need to add it again.*/
-            vm.getBroker().getVmExecList().add(vm);
+            DeferredActions.run(() -> vm.getBroker().getVmExecList().add(vm));
+            indexVm(vm);
 
             if (ack) {
                 sendNow(evt.getSource(), CloudSimTags.VM_CREATE_ACK, vm);
             }
+        } else {
+            removeVmFromIndex(vm);
         }
 
-        final SimEvent event = getSimulation().findFirstDeferred(this, new PredicateType(CloudSimTags.VM_MIGRATE));
-        if (event == null || event.getTime() > clock()) {
-            //Updates processing of all Hosts again to get the latest state for all Hosts after the VMs migrations
-            updateHostsProcessing();
-        }
-
-        if (migrated)
-            LOGGER.info("{}: Migration of {} to {} is completed", getSimulation().clockStr(), vm, targetHost);
-        else LOGGER.error("{}: {}: Allocation of {} to the destination Host failed!", getSimulation().clockStr(), this, vm);
+        return migrated;
     }
 
     /**
@@ -725,21 +827,72 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         sendNow(cloudlet.getBroker(), CloudSimTags.CLOUDLET_SUBMIT_ACK, cloudlet);
     }
 
+    /**
+     * Updates the processing of the non-idle Hosts, one after another.
+     * @return the minimum delay returned by the updated Hosts
+     * @see #updateHostsProcessing()
+     */
+    private double updateHostsProcessingSequentially() {
+        double nextSimulationDelay = Double.MAX_VALUE;
+        final List<Host> hosts = getHostList();
+        for (int i = idleHosts.nextClearBit(0); i < hosts.size(); i = idleHosts.nextClearBit(i + 1)) {
+            final Host host = hosts.get(i);
+            final double delay = host.updateProcessing(clock());
+            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
+            if (!host.isProcessingUpdateNeeded()) {
+                idleHosts.set(i);
+            }
+        }
+
+        return nextSimulationDelay;
+    }
+
+    /**
+     * Updates the processing of the non-idle Hosts in parallel.
+     * The actions each Host {@link DeferredActions defers} are just run after all Hosts are updated,
+     * following the order of the Host list, so that events are sent in the same order
+     * as in a {@link #updateHostsProcessingSequentially() sequential update}.
+     *
+     * @return the minimum delay returned by the updated Hosts
+     * @see #setHostCountForParallelUpdate(int)
+     */
+    private double updateHostsProcessingInParallel() {
+        final List<Host> hosts = getHostList();
+        final double time = clock();
+        final int[] indexes = IntStream.range(0, hosts.size()).filter(i -> !idleHosts.get(i)).toArray();
+        final double[] delays = new double[indexes.length];
+        final List<List<Runnable>> deferredActions = new ArrayList<>(Collections.nCopies(indexes.length, null));
+        IntStream.range(0, indexes.length).parallel().forEach(k ->
+            deferredActions.set(k, DeferredActions.collect(() -> delays[k] = hosts.get(indexes[k]).updateProcessing(time))));
+
+        double nextSimulationDelay = Double.MAX_VALUE;
+        for (int k = 0; k < indexes.length; k++) {
+            deferredActions.get(k).forEach(Runnable::run);
+            nextSimulationDelay = Math.min(delays[k], nextSimulationDelay);
+            if (!hosts.get(indexes[k]).isProcessingUpdateNeeded()) {
+                idleHosts.set(indexes[k]);
+            }
+        }
+
+        return nextSimulationDelay;
+    }
+
     /**
      * Updates the processing of all Hosts, meaning
      * it makes the processing of VMs running inside such hosts to be updated.
      * Finally, the processing of Cloudlets running inside such VMs is updated too.
      *
+     * <p>Idle Hosts are skipped until they {@link #requestHostProcessing(Host) request} to be processed again,
+     * since updating them doesn't change their state.
+     * The power consumed by such Hosts is still computed by the {@link DatacenterPowerSupply},
+     * from their CPU utilization that remains zero.</p>
+     *
      * @return the predicted completion time of the earliest finishing cloudlet
      * (which is a relative delay from the current simulation time),
      * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
      */
     private double updateHostsProcessing() {
-        double nextSimulationDelay = Double.MAX_VALUE;
-        for (final Host host : getHostList()) {
-            final double delay = host.updateProcessing(clock());
-            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
-        }
+        double nextSimulationDelay = isParallelHostUpdateEnabled() ? updateHostsProcessingInParallel() : updateHostsProcessingSequentially();
 
         // Guarantees a minimal interval before scheduling the event
         final double minTimeBetweenEvents = getSimulation().getMinTimeBetweenEvents()+0.01;
@@ -812,45 +965,87 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         if((currentTime > 1) && (currentTime != previousTime)&&(nextSchedulinginterval == currentTime)){
         	nextSchedulinginterval = currentTime + 300;
         	previousTime = currentTime;
-        	Dynamic_mapDAAS = new HashMap<Long, Long>();
-        	Dynamic_mapDAAS = LocalControllerDaas.bestDynamicVmServerMap;
-        	if(Dynamic_mapDAAS != null) {
-        		final List<Host> Hostlist_DAAS = LocalControllerDaas.hostListDaas;
-        		final List<Vm> Vmlist_DAAS = LocalControllerDaas.vmListDaas;
-        		Collections.sort(Vmlist_DAAS);
-			
-        		for(final Map.Entry<Long, Long> entryDaas : Dynamic_mapDAAS.entrySet()){
-        			vm = null;
-        			Here:
-        			for (Vm vm1 : Vmlist_DAAS) {
-        				if(vm1.getId() == entryDaas.getKey().intValue()) {
-        					vm = vm1;
-        				break Here;
-        				}
-        			}
-        			if(vm != null) {
-    					if(vm.isCreated()) { 
-    						Host host = Hostlist_DAAS.get(entryDaas.getValue().intValue());
-    						requestVmMigration(vm, host);	
-        			}
-        		}
-        	}
+        	/*The controllers' maps and lists are shared by all Datacenters,
+        	  so they are just read after Datacenters processed in parallel finish.*/
+        	DeferredActions.run(this::requestControllerVmMigrations);
         }
-        	Dynamic_mapWA = new HashMap<Long, Long>();
-        	Dynamic_mapWA = LocalControllerWA.bestDynamicVmServerMap;
-        	if(Dynamic_mapWA != null) {
-        		final List<Host> Hostlist_WA = LocalControllerWA.hostListWebApplication;
-				final List<Vm> Vmlist_WA = LocalControllerWA.vmListWebApplication;
-				
-				for(final Map.Entry<Long, Long> entryDaas : Dynamic_mapWA.entrySet()){
-					List<Vm> VMlist = Vmlist_WA.stream().filter(VM -> VM.getId() == entryDaas.getKey().intValue()).collect(Collectors.toList());
-					Host host = Hostlist_WA.get(entryDaas.getValue().intValue());
-					requestVmMigration(VMlist.get(0), host);	
-				}		
-        	}
+    }
+
+    /**
+     * Requests the migration of VMs according to the last placement maps built by the controllers.
+     * @throws IllegalStateException if there are placement maps and the Datacenter is
+     *                               {@link Simulation#isProcessingConcurrently() processed concurrently}
+     *                               inside a {@link org.cloudbus.cloudsim.core.LogicalProcess},
+     *                               since the maps are shared by all Datacenters
+     */
+    private void requestControllerVmMigrations() {
+        Dynamic_mapDAAS = LocalControllerDaas.bestDynamicVmServerMap;
+        Dynamic_mapWA = LocalControllerWA.bestDynamicVmServerMap;
+        if((Dynamic_mapDAAS != null || Dynamic_mapWA != null) && getSimulation().isProcessingConcurrently()) {
+            throw new IllegalStateException(
+                getName() + ": the placement maps of the controllers are shared by all Datacenters and cannot be applied " +
+                "while Datacenters are processed by logical processes in parallel. Disable the parallel execution.");
+        }
+
+        if(Dynamic_mapDAAS != null) {
+            final List<Host> Hostlist_DAAS = LocalControllerDaas.hostListDaas;
+            final List<Vm> Vmlist_DAAS = LocalControllerDaas.vmListDaas;
+            /*The list is shared with the controllers, which build the next placement from its current order.
+              The VMs to migrate are found in the VM index, so the order doesn't matter here.*/
+            Collections.sort(Vmlist_DAAS);
+            requestVmMigrations(Dynamic_mapDAAS, Hostlist_DAAS, Vmlist_DAAS);
+        }
+
+        if(Dynamic_mapWA != null) {
+            final List<Host> Hostlist_WA = LocalControllerWA.hostListWebApplication;
+            final List<Vm> Vmlist_WA = LocalControllerWA.vmListWebApplication;
+            requestVmMigrations(Dynamic_mapWA, Hostlist_WA, Vmlist_WA);
         }
     }
-    
+
+    /**
+     * Applies a placement map computed by a controller as a single
+     * {@link #applyMigrationPlan(Map) migration plan}.
+     * VMs are found in the {@link #getVmById(DatacenterBroker, long) VM index},
+     * so that applying the map takes linear time.
+     *
+     * <p>Since the index only contains VMs created into Hosts of this Datacenter,
+     * each Datacenter just migrates its own VMs. In scenarios with multiple Datacenters
+     * sharing the same controllers (such as the ones built by {@code CreateDatacenterDC1},
+     * {@code CreateDatacenterDC2} and {@code CreateDatacenterDC3}), entries of the map for VMs placed into
+     * other Datacenters are ignored here and applied by the Datacenter holding such VMs.</p>
+     *
+     * @param placementMap a map where each key is the id of a VM and each value is the index
+     *                     of the target Host inside the controller's Host list
+     * @param hostList the list of Hosts managed by the controller
+     * @param vmList the list of VMs managed by the controller
+     *               (just VMs from the brokers of such VMs are migrated)
+     */
+    private void requestVmMigrations(final Map<Long, Long> placementMap, final List<Host> hostList, final List<Vm> vmList) {
+        final Set<DatacenterBroker> brokers = new LinkedHashSet<>();
+        vmList.forEach(vm -> brokers.add(vm.getBroker()));
+        final Map<Vm, Host> plan = new LinkedHashMap<>();
+        for (final Map.Entry<Long, Long> entry : placementMap.entrySet()) {
+            final Vm vm = findVm(brokers, entry.getKey());
+            if (vm != Vm.NULL) {
+                plan.put(vm, hostList.get(entry.getValue().intValue()));
+            }
+        }
+
+        applyMigrationPlan(plan);
+    }
+
+    private Vm findVm(final Set<DatacenterBroker> brokers, final long id) {
+        for (final DatacenterBroker broker : brokers) {
+            final Vm vm = getVmById(broker, id);
+            if (vm != Vm.NULL) {
+                return vm;
+            }
+        }
+
+        return Vm.NULL;
+    }
+
     public Map<Vm, Double> VmWithPercentViolation = new HashMap<Vm,Double>();
     public Map<Vm, Double> VmWithPercentViolationWA = new HashMap<Vm,Double>();
     private void VmMigrationVioSLA(Vm vm){
@@ -918,32 +1113,123 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final String currentTime = getSimulation().clockStr();
         final Host sourceHost = sourceVm.getHost();
 //System.out.println("Datacenter simple@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@");
-      
+
         if((sourceHost.getId() != targetHost.getId()) && (sourceVm.isCreated()) &&(!sourceVm.isInMigration())) {
         	final double delay = timeToMigrateVm(sourceVm, targetHost);
-        	final String msg1 =
-        			sourceHost == Host.NULL ?
-        					String.format("%s to %s", sourceVm, targetHost) :
-        						String.format("%s from %s to %s", sourceVm, sourceHost, targetHost);
-
-        					final String msg2 = String.format(
-        							"It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
-        							delay, getBandwidthPercentForMigration()*100);
-        					LOGGER.info("{}: {}: Migration of {} is started. {}", currentTime, getName(), msg1, msg2);
-
-        					VmMigrationVioSLA(sourceVm);
-        					
-        					if(targetHost.addMigratingInVm(sourceVm)) {
-        						sourceHost.addVmMigratingOut(sourceVm);
-        						send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
-        					}
-        					if(targetHost.getDescription() == "Hosts from Desktop as a Service") {
-        						totalnoofMigrationsDaaS += 1;
-        					}else {
-        						totalnoofMigrationsWA += 1;
-        					}
+        	LOGGER.info("{}: {}: Migration of {} is started. {}", currentTime, getName(), migrationMsg(sourceVm, targetHost), migrationDelayMsg(delay));
+
+        	if(targetHost.addMigratingInVm(sourceVm)) {
+        		accountVmMigration(sourceVm, targetHost);
+        		sourceHost.addVmMigratingOut(sourceVm);
+        		vmsMigrating.add(sourceVm);
+        		send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
+        	}
+        }
+    }
+
+    @Override
+    public void requestHostProcessing(final Host host) {
+        final Integer index = hostIndexes.get(host);
+        if (index != null) {
+            idleHosts.clear(index);
+        }
+    }
+
+    @Override
+    public MigrationPlanResult applyMigrationPlan(final Map<Vm, Host> plan) {
+        requireNonNull(plan);
+        final MigrationPlanResult result = new MigrationPlanResult();
+
+        /*Migrations grouped by their expected duration, which are all finished by the same event.
+          A LinkedHashMap keeps the events in the order the first migration of each group was requested.*/
+        final Map<Double, List<Map.Entry<Vm, Host>>> migrationsByDelay = new LinkedHashMap<>();
+        for (final Map.Entry<Vm, Host> entry : plan.entrySet()) {
+            final Vm vm = entry.getKey();
+            final Host targetHost = entry.getValue();
+            if (vm == null || vm == Vm.NULL || targetHost == null || targetHost == Host.NULL || targetHost.getDatacenter() != this) {
+                result.addRejected(vm, targetHost);
+            } else if (vm.getHost().getId() == targetHost.getId()) {
+                result.addAlreadyPlaced(vm, targetHost);
+            } else if (!vm.isCreated()) {
+                result.addRejected(vm, targetHost);
+            } else if (vm.isInMigration() || vmsMigrating.contains(vm)) {
+                result.addAlreadyMigrating(vm, targetHost);
+            } else if (startVmMigration(vm, targetHost, migrationsByDelay)) {
+                result.addStarted(vm, targetHost);
+            } else {
+                result.addRejected(vm, targetHost);
+            }
+        }
+
+        for (final Map.Entry<Double, List<Map.Entry<Vm, Host>>> group : migrationsByDelay.entrySet()) {
+            final List<Map.Entry<Vm, Host>> migrations = group.getValue();
+            send(this, group.getKey(), CloudSimTags.VM_MIGRATE, migrations.size() == 1 ? migrations.get(0) : migrations);
+        }
+
+        result.setEvents(migrationsByDelay.size());
+        if (result.size() > 0) {
+            LOGGER.info("{}: {}: {}", getSimulation().clockStr(), getName(), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reserves the resources for a VM into the target Host and adds the migration to the group of migrations
+     * with the same expected duration.
+     *
+     * @param vm the VM to migrate
+     * @param targetHost the Host to migrate the VM to
+     * @param migrationsByDelay the migrations started so far, grouped by their expected duration
+     * @return true if the migration was started, false if the target Host cannot receive the VM
+     */
+    private boolean startVmMigration(final Vm vm, final Host targetHost, final Map<Double, List<Map.Entry<Vm, Host>>> migrationsByDelay) {
+        final Host sourceHost = vm.getHost();
+        final double delay = timeToMigrateVm(vm, targetHost);
+        LOGGER.debug(
+            "{}: {}: Migration of {} is requested. {}",
+            getSimulation().clockStr(), getName(), migrationMsg(vm, targetHost), migrationDelayMsg(delay));
+
+        if (!targetHost.addMigratingInVm(vm)) {
+            return false;
+        }
+
+        accountVmMigration(vm, targetHost);
+        sourceHost.addVmMigratingOut(vm);
+        vmsMigrating.add(vm);
+        migrationsByDelay.computeIfAbsent(delay, key -> new ArrayList<>()).add(new TreeMap.SimpleEntry<>(vm, targetHost));
+        return true;
+    }
+
+    private String migrationMsg(final Vm vm, final Host targetHost) {
+        final Host sourceHost = vm.getHost();
+        return sourceHost == Host.NULL ?
+                    String.format("%s to %s", vm, targetHost) :
+                    String.format("%s from %s to %s", vm, sourceHost, targetHost);
+    }
+
+    private String migrationDelayMsg(final double delay) {
+        return String.format(
+            "It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
+            delay, getBandwidthPercentForMigration()*100);
+    }
+
+    /**
+     * Accounts a started VM migration into the SLA violations and the number of migrations.
+     * It must only be called after the target Host has accepted the VM,
+     * so that rejected migrations are not counted.
+     * @param vm the VM to migrate
+     * @param targetHost the Host to migrate the VM to
+     */
+    private void accountVmMigration(final Vm vm, final Host targetHost) {
+        VmMigrationVioSLA(vm);
+        if(targetHost.getDescription() == "Hosts from Desktop as a Service") {
+        	totalnoofMigrationsDaaS += 1;
+        }else {
+        	totalnoofMigrationsWA += 1;
         }
     }
+
     public double totalnoofMigrationsWA;
     public double totalnoofMigrationsDaaS;
     
@@ -1049,9 +1335,28 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return schedulingInterval;
     }
 
+    @Override
+    public int getHostCountForParallelUpdate() {
+        return hostCountForParallelUpdate;
+    }
+
+    @Override
+    public Datacenter setHostCountForParallelUpdate(final int hostCountForParallelUpdate) {
+        if (hostCountForParallelUpdate <= 0) {
+            throw new IllegalArgumentException("The minimum number of Hosts for parallel updates must be greater than zero.");
+        }
+
+        this.hostCountForParallelUpdate = hostCountForParallelUpdate;
+        return this;
+    }
+
     @Override
     public final Datacenter setSchedulingInterval(final double schedulingInterval) {
         this.schedulingInterval = Math.max(schedulingInterval, 0);
+        if(getSimulation().getCloudInfoService() != null) {
+            getSimulation().getCloudInfoService().invalidateMinSchedulingInterval();
+        }
+
         return this;
     }
 
@@ -1087,7 +1392,54 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     @Override
     public Host getHostById(final long id) {
-        return hostList.stream().filter(host -> host.getId()==id).findFirst().map(host -> (Host)host).orElse(Host.NULL);
+        final Host host = hostsById.get(id);
+        if (host != null && host.getId() == id) {
+            return host;
+        }
+
+        /*The index is just rebuilt when it's detected as stale: the size of the list given to the Datacenter
+          has changed (Hosts were added or removed straight from it) or the indexed Host had its id changed.
+          Otherwise, there is no such a Host and misses don't have to traverse the list.*/
+        if (host != null || hostIndexes.size() != hostList.size()) {
+            indexHosts();
+            return hostsById.getOrDefault(id, Host.NULL);
+        }
+
+        return Host.NULL;
+    }
+
+    /**
+     * Gets a VM created into some Host of this Datacenter, from its broker and id.
+     *
+     * @param broker the broker that owns the VM
+     * @param id the id of the VM
+     * @return the VM or {@link Vm#NULL} if no such a VM is created into this Datacenter
+     */
+    public Vm getVmById(final DatacenterBroker broker, final long id) {
+        final Map<Long, Vm> vms = vmsByBroker.get(broker);
+        final Vm vm = vms == null ? null : vms.get(id);
+        if (vm == null) {
+            return Vm.NULL;
+        }
+
+        //The VM may have been destroyed straight from its Host
+        if (vm.isCreated() && vm.getHost().getDatacenter() == this) {
+            return vm;
+        }
+
+        vms.remove(id);
+        return Vm.NULL;
+    }
+
+    private void indexVm(final Vm vm) {
+        vmsByBroker.computeIfAbsent(vm.getBroker(), broker -> new HashMap<>()).put(vm.getId(), vm);
+    }
+
+    private void removeVmFromIndex(final Vm vm) {
+        final Map<Long, Vm> vms = vmsByBroker.get(vm.getBroker());
+        if (vms != null && vms.get(vm.getId()) == vm) {
+            vms.remove(vm.getId());
+        }
     }
 
     @Override
@@ -1109,6 +1461,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         host.setDatacenter(this);
         ((List<T>)hostList).add(host);
+        hostsById.putIfAbsent(host.getId(), host);
+        hostIndexes.put(host, hostList.size() - 1);
 
         //Sets the Datacenter again so that the new Host is registered internally on the VmAllocationPolicy
         vmAllocationPolicy.setDatacenter(this);
@@ -1122,6 +1476,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Override
     public <T extends Host> Datacenter removeHost(final T host) {
         hostList.remove(host);
+        hostIndexes.clear();
+        idleHosts.clear();
+        indexHosts();
         return this;
     }
 
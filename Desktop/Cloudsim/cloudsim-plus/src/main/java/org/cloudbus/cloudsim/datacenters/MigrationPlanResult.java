@@ -0,0 +1,121 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of applying a migration plan to a {@link Datacenter},
+ * which classifies each VM in the plan according to what happened to it.
+ * All maps keep the order of the VMs in the plan.
+ *
+ * @see Datacenter#applyMigrationPlan(Map)
+ */
+public final class MigrationPlanResult {
+    /**
+     * A result for an empty plan.
+     */
+    public static final MigrationPlanResult EMPTY = new MigrationPlanResult();
+
+    private final Map<Vm, Host> started;
+    private final Map<Vm, Host> alreadyPlaced;
+    private final Map<Vm, Host> alreadyMigrating;
+    private final Map<Vm, Host> rejected;
+    private int events;
+
+    MigrationPlanResult() {
+        this.started = new LinkedHashMap<>();
+        this.alreadyPlaced = new LinkedHashMap<>();
+        this.alreadyMigrating = new LinkedHashMap<>();
+        this.rejected = new LinkedHashMap<>();
+    }
+
+    void addStarted(final Vm vm, final Host targetHost) {
+        started.put(vm, targetHost);
+    }
+
+    void addAlreadyPlaced(final Vm vm, final Host targetHost) {
+        alreadyPlaced.put(vm, targetHost);
+    }
+
+    void addAlreadyMigrating(final Vm vm, final Host targetHost) {
+        alreadyMigrating.put(vm, targetHost);
+    }
+
+    void addRejected(final Vm vm, final Host targetHost) {
+        rejected.put(vm, targetHost);
+    }
+
+    void setEvents(final int events) {
+        this.events = events;
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of the VMs whose migration was started, to their target Hosts.
+     * @return
+     */
+    public Map<Vm, Host> getStarted() {
+        return Collections.unmodifiableMap(started);
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of the VMs that were already placed into their target Hosts,
+     * so that no migration was needed.
+     * @return
+     */
+    public Map<Vm, Host> getAlreadyPlaced() {
+        return Collections.unmodifiableMap(alreadyPlaced);
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of the VMs that were ignored because they were already migrating.
+     * @return
+     */
+    public Map<Vm, Host> getAlreadyMigrating() {
+        return Collections.unmodifiableMap(alreadyMigrating);
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of the VMs that could not be migrated,
+     * because they are not running in the Datacenter,
+     * or the target Host doesn't belong to it or doesn't have enough resources for the VM.
+     * @return
+     */
+    public Map<Vm, Host> getRejected() {
+        return Collections.unmodifiableMap(rejected);
+    }
+
+    /**
+     * Gets the number of events sent to finish the started migrations.
+     * Migrations expected to finish at the same time share a single event.
+     * @return
+     */
+    public int getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the total number of VMs in the plan.
+     * @return
+     */
+    public int size() {
+        return started.size() + alreadyPlaced.size() + alreadyMigrating.size() + rejected.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Migration plan with %d VMs: %d started in %d events, %d already placed, %d already migrating, %d rejected",
+            size(), started.size(), events, alreadyPlaced.size(), alreadyMigrating.size(), rejected.size());
+    }
+}
@@ -100,4 +100,15 @@ public class NetworkDatacenter extends DatacenterSimple {
     public List<Switch> getSwitchMap() {
         return Collections.unmodifiableList(switchMap);
     }
+
+    /**
+     * {@inheritDoc}
+     * Network Hosts are always updated sequentially,
+     * since they send packets to each other while their processing is updated.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isParallelHostUpdateEnabled() {
+        return false;
+    }
 }
@@ -25,6 +25,7 @@ package org.cloudbus.cloudsim.distributions;
 
 import org.apache.commons.math3.util.CombinatoricsUtils;
 
+import java.io.Serializable;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -40,7 +41,7 @@ import java.util.stream.IntStream;
  * @see <a href="https://en.wikipedia.org/wiki/Poisson_distribution">Poisson Distribution</a>
  * @since CloudSim Plus 1.2.0
  */
-public class PoissonDistr implements ContinuousDistribution {
+public class PoissonDistr implements ContinuousDistribution, Serializable {
     /**
      * A Uniform Pseudo-Random Number Generator used internally.
      */
@@ -10,6 +10,8 @@ package org.cloudbus.cloudsim.distributions;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 
+import java.io.Serializable;
+
 /**
  * A Pseudo-Random Number Generator following the
  * <a href="http://en.wikipedia.org/wiki/Zipf's_law">Zipf</a> distribution.
@@ -18,7 +20,7 @@ import org.apache.commons.math3.random.RandomGenerator;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public class ZipfDistr implements ContinuousDistribution {
+public class ZipfDistr implements ContinuousDistribution, Serializable {
     private final long seed;
     private final RandomGenerator rng;
 
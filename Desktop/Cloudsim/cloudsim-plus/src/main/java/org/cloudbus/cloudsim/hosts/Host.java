@@ -18,6 +18,7 @@ import org.cloudbus.cloudsim.resources.Pe.Status;
 import org.cloudbus.cloudsim.resources.Ram;
 import org.cloudbus.cloudsim.resources.ResourceManageable;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmUtilizationHistory;
 import org.cloudsimplus.listeners.EventListener;
@@ -548,6 +549,45 @@ public interface Host extends Machine, Comparable<Host> {
      */
     long getRamUtilization();
 
+    /**
+     * Gets the total memory (in Megabytes) currently used by Cloudlets running inside the VMs of this Host,
+     * which is the sum of the RAM allocated from each VM to its Cloudlets.
+     *
+     * @return
+     * @see #getRamUtilization()
+     */
+    long getVmsRamUtilization();
+
+    /**
+     * Gets the total bw (in Megabits/s) currently used by Cloudlets running inside the VMs of this Host,
+     * which is the sum of the bw allocated from each VM to its Cloudlets.
+     *
+     * @return
+     * @see #getBwUtilization()
+     */
+    long getVmsBwUtilization();
+
+    /**
+     * Notifies the Host that the resource utilization of its VMs may have changed
+     * (for instance, because a VM was processed or a Cloudlet started or stopped running inside it).
+     * This way, utilization totals cached by the Host are computed again the next time they are requested.
+     *
+     * @see #getCpuMipsUtilization()
+     * @see #getVmsRamUtilization()
+     */
+    void invalidateUtilization();
+
+    /**
+     * Checks if the {@link #updateProcessing(double) processing of this Host} has to be updated.
+     * That isn't the case when the Host has no VMs and updating its processing
+     * would not change its state, so that the Datacenter may skip the Host.
+     * A skipped Host {@link Datacenter#requestHostProcessing(Host) notifies its Datacenter}
+     * when its processing has to be updated again (for instance, when a VM is placed into it).
+     *
+     * @return true if the processing of the Host has to be updated, false if the Host is idle
+     */
+    boolean isProcessingUpdateNeeded();
+
     /**
      * <p>Gets a map containing the host CPU utilization percentage history (between [0 and 1]),
      * based on its VM utilization history.
@@ -609,6 +649,28 @@ public interface Host extends Machine, Comparable<Host> {
      */
     SortedMap<Double, Double> getUtilizationHistorySum();
 
+    /**
+     * Gets the values of the {@link #getUtilizationHistorySum() host CPU utilization percentage history}
+     * as an array ordered by time, avoiding the creation of a map.
+     *
+     * @return a new array with the total Host's CPU utilization for each time data was collected
+     * @see #getUtilizationHistorySum()
+     * @see #getUtilizationHistorySumValues(int)
+     */
+    double[] getUtilizationHistorySumValues();
+
+    /**
+     * Gets the latest values of the {@link #getUtilizationHistorySum() host CPU utilization percentage history}
+     * as an array ordered by time, avoiding copying the entire history when just the latest values are needed.
+     *
+     * @param lastN the maximum number of values to get
+     * @return a new array with the total Host's CPU utilization for the last {@code lastN} times data was collected
+     *         (or for all of them, if data was collected fewer times)
+     * @throws IllegalArgumentException when lastN is negative
+     * @see #getUtilizationHistorySumValues()
+     */
+    double[] getUtilizationHistorySumValues(int lastN);
+
     /**
      * Gets the {@link PowerModel} used by the host
      * to define how it consumes power.
@@ -657,6 +719,17 @@ public interface Host extends Machine, Comparable<Host> {
      */
     List<HostStateHistoryEntry> getStateHistory();
 
+    /**
+     * Gets the store where the {@link #getStateHistory() Host state history} is kept,
+     * which enables limiting the number of entries stored,
+     * to reduce memory usage in long simulations.
+     *
+     * @return the state history store
+     * @see StateHistory#setMaxEntries(int)
+     * @see StateHistory#setSamplingInterval(double)
+     */
+    StateHistory<HostStateHistoryEntry> getStateHistoryStore();
+
     /**
      * Gets the List of VMs that have finished executing.
      * @return
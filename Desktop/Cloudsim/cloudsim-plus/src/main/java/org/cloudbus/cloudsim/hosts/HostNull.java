@@ -8,6 +8,7 @@ import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.resources.Resource;
 import org.cloudbus.cloudsim.resources.ResourceManageable;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
@@ -148,8 +149,14 @@ final class HostNull implements Host {
     @Override public double getCpuMipsUtilization() { return 0.0; }
     @Override public long getBwUtilization() { return 0; }
     @Override public long getRamUtilization() { return 0; }
+    @Override public long getVmsRamUtilization() { return 0; }
+    @Override public long getVmsBwUtilization() { return 0; }
+    @Override public void invalidateUtilization() {/**/}
+    @Override public boolean isProcessingUpdateNeeded() { return false; }
     @Override public SortedMap<Double, DoubleSummaryStatistics> getUtilizationHistory() { return Collections.emptySortedMap(); }
     @Override public SortedMap<Double, Double> getUtilizationHistorySum() { return Collections.emptySortedMap(); }
+    @Override public double[] getUtilizationHistorySumValues() { return new double[0]; }
+    @Override public double[] getUtilizationHistorySumValues(int lastN) { return new double[0]; }
     @Override public PowerModel getPowerModel() { return PowerModel.NULL; }
     @Override public Host setPowerModel(PowerModel powerModel) { return this; }
     @Override public double getPreviousUtilizationOfCpu() { return 0; }
@@ -157,6 +164,7 @@ final class HostNull implements Host {
     @Override public void disableStateHistory() {/**/}
     @Override public boolean isStateHistoryEnabled() { return false; }
     @Override public List<HostStateHistoryEntry> getStateHistory() { return Collections.emptyList(); }
+    @Override public StateHistory<HostStateHistoryEntry> getStateHistoryStore() { return new StateHistory<>(HostStateHistoryEntry::new); }
     @Override public List<Vm> getFinishedVms() { return Collections.emptyList(); }
     @Override public List<Vm> getMigratableVms() { return Collections.emptyList(); }
     @Override public double getTotalUpTime() { return 0; }
@@ -8,6 +8,7 @@ package org.cloudbus.cloudsim.hosts;
 
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.core.ChangeableId;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterPowerSupply;
@@ -18,23 +19,18 @@ import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
 import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudbus.cloudsim.util.TimeUtil;
-import org.cloudbus.cloudsim.vms.UtilizationHistory;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmGroup;
-import org.cloudbus.cloudsim.vms.VmStateHistoryEntry;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
 
+import java.io.Serializable;
 import java.util.*;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import static java.util.Map.Entry;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.*;
 
@@ -50,13 +46,13 @@ import static java.util.stream.Collectors.*;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public class HostSimple implements Host {
+public class HostSimple implements Host, Serializable {
     private static long defaultRamCapacity = (long)Conversion.gigaToMega(10);
     private static long defaultBwCapacity = 1000;
     private static long defaultStorageCapacity = (long)Conversion.gigaToMega(500);
 
     /** @see #getStateHistory() */
-    private final List<HostStateHistoryEntry> stateHistory;
+    private final StateHistory<HostStateHistoryEntry> stateHistory;
 
     /**@see #getPowerModel() */
     private PowerModel powerModel;
@@ -127,11 +123,42 @@ public class HostSimple implements Host {
     private List<ResourceProvisioner> provisioners;
     private final List<Vm> vmCreatedList;
 
+    /** @see #getUtilizationHistory() */
+    private final HostUtilizationHistory utilizationHistory;
+
     /**
      * The previous amount of MIPS used.
      */
     private double previousUtilizationMips;
 
+    /**
+     * A counter incremented every time the VMs of this Host or their resource utilization may have changed.
+     * @see #invalidateUtilization()
+     */
+    private long utilizationVersion;
+
+    /**
+     * The {@link #utilizationVersion} when the utilization totals below were computed,
+     * or -1 if they weren't computed yet.
+     */
+    private long totalsVersion = -1;
+
+    /**
+     * The simulation time when the utilization totals below were computed.
+     * Since the CPU utilization of VMs depends on the time,
+     * the totals are just valid at that time.
+     */
+    private double totalsTime;
+
+    /** @see #getCpuMipsUtilization() */
+    private double cpuMipsUtilization;
+
+    /** @see #getVmsRamUtilization() */
+    private long vmsRamUtilization;
+
+    /** @see #getVmsBwUtilization() */
+    private long vmsBwUtilization;
+
     /** @see #getFreePesNumber() */
     private int freePesNumber;
 
@@ -267,11 +294,12 @@ public class HostSimple implements Host {
         this.onUpdateProcessingListeners = new HashSet<>();
         this.resources = new ArrayList<>();
         this.vmCreatedList = new ArrayList<>();
+        this.utilizationHistory = new HostUtilizationHistory(this);
         this.provisioners = new ArrayList<>();
         this.vmsMigratingIn = new HashSet<>();
         this.vmsMigratingOut = new HashSet<>();
         this.powerModel = PowerModel.NULL;
-        this.stateHistory = new LinkedList<>();
+        this.stateHistory = new StateHistory<>(HostStateHistoryEntry::new);
     }
 
     /**
@@ -366,8 +394,30 @@ public class HostSimple implements Host {
         return nextSimulationDelay;
     }
 
+    @Override
+    public boolean isProcessingUpdateNeeded() {
+        return !vmList.isEmpty() || previousUtilizationMips != 0 || stateHistoryEnabled ||
+               !onUpdateProcessingListeners.isEmpty() || (active && idleShutdownDeadline >= 0);
+    }
+
+    /**
+     * Notifies the Datacenter that the processing of this Host has to be updated again,
+     * in case it was skipped because the Host was idle.
+     * @see #isProcessingUpdateNeeded()
+     */
+    protected void requestProcessing() {
+        if (datacenter != null) {
+            DeferredActions.run(() -> datacenter.requestHostProcessing(this));
+        }
+    }
+
     private void notifyOnUpdateProcessingListeners(final double nextSimulationTime) {
-        onUpdateProcessingListeners.forEach(l -> l.update(HostUpdatesVmsProcessingEventInfo.of(l,this, nextSimulationTime)));
+        if (onUpdateProcessingListeners.isEmpty()) {
+            return;
+        }
+
+        DeferredActions.run(() ->
+            onUpdateProcessingListeners.forEach(l -> l.update(HostUpdatesVmsProcessingEventInfo.of(l,this, nextSimulationTime))));
     }
 
     @Override
@@ -401,6 +451,8 @@ public class HostSimple implements Host {
             return false;
         }
 
+        invalidateUtilization();
+        requestProcessing();
         return vmList.add(vm);
     }
 
@@ -449,6 +501,8 @@ public class HostSimple implements Host {
         for (final Vm vm : getVmsMigratingIn()) {
             if (!vmList.contains(vm)) {
                 vmList.add(vm);
+                invalidateUtilization();
+                requestProcessing();
             }
 
             allocateResourcesForVm(vm);
@@ -501,6 +555,7 @@ public class HostSimple implements Host {
         }
 
         this.active = activate;
+        requestProcessing();
         return this;
     }
 
@@ -544,7 +599,8 @@ public class HostSimple implements Host {
     private void destroyVmInternal(final Vm vm) {
         deallocateResourcesOfVm(requireNonNull(vm));
         vmList.remove(vm);
-        vm.getBroker().getVmExecList().remove(vm);
+        invalidateUtilization();
+        DeferredActions.run(() -> vm.getBroker().getVmExecList().remove(vm));
     }
 
     /**
@@ -569,6 +625,7 @@ public class HostSimple implements Host {
         }
 
         vmList.clear();
+        invalidateUtilization();
     }
 
     /**
@@ -751,6 +808,7 @@ public class HostSimple implements Host {
     @Override
     public Host setIdleShutdownDeadline(final double deadline) {
         this.idleShutdownDeadline = deadline;
+        requestProcessing();
         return this;
     }
 
@@ -793,10 +851,13 @@ public class HostSimple implements Host {
 
     protected void addVmToList(final Vm vm){
         vmList.add(requireNonNull(vm));
+        invalidateUtilization();
+        requestProcessing();
     }
 
     protected void addVmToCreatedList(final Vm vm){
         vmCreatedList.add(requireNonNull(vm));
+        utilizationHistory.addVm(vm);
     }
 
     @Override
@@ -876,6 +937,7 @@ public class HostSimple implements Host {
     public void removeMigratingInVm(final Vm vm) {
         vmsMigratingIn.remove(vm);
         vmList.remove(vm);
+        invalidateUtilization();
         vm.setInMigration(false);
     }
 
@@ -925,6 +987,7 @@ public class HostSimple implements Host {
         }
 
         this.onUpdateProcessingListeners.add(requireNonNull(listener));
+        requestProcessing();
         return this;
     }
 
@@ -1051,7 +1114,51 @@ public class HostSimple implements Host {
 
     @Override
     public double getCpuMipsUtilization() {
-        return vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+        updateUtilizationTotals();
+        return cpuMipsUtilization;
+    }
+
+    @Override
+    public long getVmsRamUtilization() {
+        updateUtilizationTotals();
+        return vmsRamUtilization;
+    }
+
+    @Override
+    public long getVmsBwUtilization() {
+        updateUtilizationTotals();
+        return vmsBwUtilization;
+    }
+
+    @Override
+    public void invalidateUtilization() {
+        utilizationVersion++;
+    }
+
+    /**
+     * Computes the utilization totals of the VMs again,
+     * just if the VMs or their utilization may have changed since the last time they were computed.
+     * This way, getting such totals many times for the same simulation time (such as
+     * when all Hosts are classified at each clock tick) just iterates the VMs once.
+     */
+    private void updateUtilizationTotals() {
+        final double time = simulation.clock();
+        if (totalsVersion == utilizationVersion && totalsTime == time) {
+            return;
+        }
+
+        cpuMipsUtilization = vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+        long ram = 0;
+        long bw = 0;
+        for (final Vm vm : vmList) {
+            ram += vm.getRam().getAllocatedResource();
+            bw += vm.getBw().getAllocatedResource();
+        }
+
+        vmsRamUtilization = ram;
+        vmsBwUtilization = bw;
+        totalsVersion = utilizationVersion;
+        totalsTime = time;
     }
 
     @Override
@@ -1080,95 +1187,32 @@ public class HostSimple implements Host {
         return bwProvisioner.getTotalAllocatedResource();
     }
 
+    /**
+     * {@inheritDoc}
+     * The history is aggregated incrementally from the VMs' utilization history
+     * and the returned map is a read-only view backed by it.
+     * @return {@inheritDoc}
+     */
     @Override
     public SortedMap<Double, DoubleSummaryStatistics> getUtilizationHistory() {
-        //Gets a Stream containing the utilization entries for every Vm inside the Host
-    	
-    //----------------> vmCreatedList contains duplicate Vm's. (i.e same vm appears multiple times) as the vm gets migrated and again comes back 
-//    	to its previous Host. Hence it gets created again. Because of this same vm's utilization gets counted multiple times ( n times it gets created).
-        final Stream<Entry<Double, Double>> utilizationEntriesStream = this.vmCreatedList
-            .stream().distinct()
-            .map(Vm::getUtilizationHistory)
-            .map(this::remapUtilizationHistory)
-            .flatMap(vmUtilization -> vmUtilization.entrySet().stream());
-
-        //Groups the CPU utilization entries by the time the values were collected
-        SortedMap<Double, DoubleSummaryStatistics> utilizationDummys=utilizationEntriesStream
-                    .collect(
-                        groupingBy(Entry::getKey, TreeMap::new,
-                        		summarizingDouble(Entry::getValue))
-                    );
-        for (Map.Entry<Double, DoubleSummaryStatistics> entry : utilizationDummys.entrySet()) {
-        	final double utilizationPercent = entry.getValue().getSum();
-        	if(utilizationPercent > 1.2) {// this is to check if utilization of a host exceeds the max
-        		System.out.println("Value is greater then 1"+ utilizationPercent);	
-        	}
-        	
-        }
-        return utilizationDummys;
+        /* vmCreatedList contains duplicate VMs when they migrate and come back to the Host,
+         * but the utilizationHistory counts each VM just once. */
+        return utilizationHistory.getStatistics();
     }
 
     @Override
     public SortedMap<Double, Double> getUtilizationHistorySum() {
-        /*Remaps the value of an entry inside the Utilization History map.*/
-        final Function<Entry<Double, DoubleSummaryStatistics>, Double> valueMapper = entry -> entry.getValue().getSum();
-
-        return getUtilizationHistory()
-                    .entrySet()
-                    .stream()
-                    .collect(toMap(Entry::getKey, valueMapper, this::mergeFunction, TreeMap::new));
+        return utilizationHistory.getSums();
     }
 
-    /**
-     * Remaps the entire Vm's {@link UtilizationHistory} by updating the CPU utilization value in each entry
-     * to correspond to the relative percentage of the Host CPU capacity that Vm is using.
-     * This is required since the {@link UtilizationHistory} contains the VM's CPU utilization
-     * relative to the VM's capacity.
-     *
-     * @param utilizationHistory the VM {@link UtilizationHistory} with the history entries
-     * @return
-     */
-    private SortedMap<Double, Double> remapUtilizationHistory(final UtilizationHistory utilizationHistory) {
-        return utilizationHistory
-                    .getHistory()
-                    .entrySet()
-                    .stream()
-                    .collect(
-                        toMap(Entry::getKey, vmUtilizationMapper(utilizationHistory), this::mergeFunction, TreeMap::new)
-                    );
-    }
-
-    /**
-     * A merge {@link BinaryOperator} used to resolve conflicts when remapping the values of the utilization history map
-     * using the {@link Collectors#toMap(Function, Function, BinaryOperator, Supplier)}.
-     *
-     * If there are two values for the same key, the last value is used.
-     * However, since we are just remapping an existing map, there won't be such a situation.
-     *
-     * @param usage1 the 1st CPU utilization value found for a key
-     * @param usage2 the 2dn CPU utilization value found for the same key
-     * @return the higher value between the given two ones
-     *
-     * @see #getUtilizationHistorySum()
-     * @see #remapUtilizationHistory(UtilizationHistory)
-     */
-    private double mergeFunction(final double usage1, final double usage2) {
-        return Math.max(usage1, usage2);
+    @Override
+    public double[] getUtilizationHistorySumValues() {
+        return utilizationHistory.getSumValues();
     }
 
-    /**
-     * Receives a Vm {@link UtilizationHistory} and returns a {@link Function} that
-     * requires a map entry from the history (representing a VM's CPU utilization for a given time),
-     * and returns the percentage of the Host CPU capacity that such a Vm is using at that time.
-     * This way, the value that represents how much of the VM's CPU is being used
-     * will be converted to how much that VM is using from the Host's CPU.
-     *
-     * @param utilizationHistory the VM {@link UtilizationHistory} with the history entries
-     * @return
-     */
-    private Function<Entry<Double, Double>, Double> vmUtilizationMapper(final UtilizationHistory utilizationHistory) {
-        //The entry key is the time and the value is the percentage of the VM CPU that is being used
-        return entry ->  getExpectedRelativeCpuUtilization(utilizationHistory.getVm(), entry.getValue());
+    @Override
+    public double[] getUtilizationHistorySumValues(final int lastN) {
+        return utilizationHistory.getSumValues(lastN);
     }
 
     @Override
@@ -1196,6 +1240,7 @@ public class HostSimple implements Host {
     @Override
     public void enableStateHistory() {
         this.stateHistoryEnabled = true;
+        requestProcessing();
     }
 
     @Override
@@ -1248,10 +1293,9 @@ public class HostSimple implements Host {
                 getSimulation().clockStr(), this, notAllocatedMipsByPe, vm.getNumberOfPes(), vm, reason);
         }
 
-        final VmStateHistoryEntry entry = new VmStateHistoryEntry(
-                                                currentTime, totalAllocatedMips, totalRequestedMips,
-                                                vm.isInMigration() && !getVmsMigratingIn().contains(vm));
-        vm.addStateHistoryEntry(entry);
+        vm.addStateHistoryEntry(
+            currentTime, totalAllocatedMips, totalRequestedMips,
+            vm.isInMigration() && !getVmsMigratingIn().contains(vm));
 
         if (vm.isInMigration()) {
             LOGGER.info("{}: {}: {} is migrating out ", getSimulation().clockStr(), this, vm);
@@ -1291,16 +1335,7 @@ public class HostSimple implements Host {
         final double requestedMips,
         final boolean isActive)
     {
-        final HostStateHistoryEntry newState = new HostStateHistoryEntry(time, allocatedMips, requestedMips, isActive);
-        if (!stateHistory.isEmpty()) {
-            final HostStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.getTime() == time) {
-                stateHistory.set(stateHistory.size() - 1, newState);
-                return;
-            }
-        }
-
-        stateHistory.add(newState);
+        stateHistory.add(time, allocatedMips, requestedMips, isActive);
     }
 
     @Override
@@ -1308,6 +1343,11 @@ public class HostSimple implements Host {
         return Collections.unmodifiableList(stateHistory);
     }
 
+    @Override
+    public StateHistory<HostStateHistoryEntry> getStateHistoryStore() {
+        return stateHistory;
+    }
+
     @Override
     public List<Vm> getMigratableVms() {
         return vmList.stream()
@@ -0,0 +1,551 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.hosts;
+
+import org.cloudbus.cloudsim.vms.UtilizationHistory;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the CPU utilization history of a {@link Host},
+ * aggregated from the {@link UtilizationHistory} of every VM created into it.
+ * For each time, it stores the statistics and the sum of the CPU utilization of such VMs,
+ * relative to the Host CPU capacity, where times and sums are kept in primitive arrays.
+ *
+ * <p>The history is updated incrementally: only the entries collected by each VM
+ * after the last update are merged.
+ * Since the last entry of a VM is replaced when another value is collected at the same time,
+ * it is kept apart and just merged when a newer entry is collected.
+ * The entries are just copied again from the first position that changed since the last read,
+ * and the maps returned are read-only views over the arrays, searched by binary search.</p>
+ *
+ * @see Host#getUtilizationHistory()
+ * @see Host#getUtilizationHistorySum()
+ */
+final class HostUtilizationHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HostUtilizationHistory.class.getSimpleName());
+
+    private final Host host;
+
+    /**
+     * The VMs whose utilization is aggregated, in the order they were created into the Host.
+     */
+    private final List<VmCursor> vmCursors;
+    private final Set<Vm> vms;
+
+    /**
+     * The entries that won't change anymore.
+     * Since the statistics aren't serializable, such entries are
+     * merged again from the VMs' utilization history after deserialization.
+     */
+    private transient Columns merged;
+
+    /**
+     * A number that changes every time the history changes,
+     * used to know when cached values have to be computed again.
+     */
+    private long version;
+
+    /** The {@link #merged} entries plus the last entry of each VM. */
+    private transient Columns columns;
+    private transient long columnsVersion;
+
+    /**
+     * The first position of the {@link #columns} where the last entry of some VM was added,
+     * from which the entries have to be copied again from the {@link #merged} ones.
+     */
+    private transient int lastEntriesFrom;
+
+    /**
+     * The first position of the {@link #columns} that may have changed
+     * since the statistics were last read.
+     * @see #getStatistics()
+     */
+    private transient int uncheckedFrom;
+    private transient long statisticsVersion;
+
+    /** @see #getStatistics() */
+    private transient SortedMap<Double, DoubleSummaryStatistics> statistics;
+
+    /** @see #getSums() */
+    private transient SortedMap<Double, Double> sums;
+
+    HostUtilizationHistory(final Host host) {
+        this.host = host;
+        this.vmCursors = new ArrayList<>();
+        this.vms = new HashSet<>();
+        this.merged = new Columns();
+    }
+
+    /**
+     * Adds a VM whose utilization history has to be aggregated.
+     * VMs already added are ignored (for instance, when they migrate back to the Host).
+     * @param vm the VM created into the Host
+     */
+    void addVm(final Vm vm) {
+        if (vms.add(vm)) {
+            vmCursors.add(new VmCursor(vm));
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        merged = new Columns();
+        for (final VmCursor cursor : vmCursors) {
+            cursor.reset();
+        }
+
+        version++;
+    }
+
+    /**
+     * Gets a <b>read-only</b> map where each key is a time and each value is
+     * the statistics of the VMs' CPU utilization at that time.
+     * The map is a view backed by the history, so it reflects later changes.
+     * The statistics are shared with the history, so they must not be changed.
+     * @return
+     * @see Host#getUtilizationHistory()
+     */
+    SortedMap<Double, DoubleSummaryStatistics> getStatistics() {
+        final Columns current = getColumns();
+        if (statisticsVersion != version) {
+            for (int i = Math.min(uncheckedFrom, current.size); i < current.size; i++) {
+                // this is to check if utilization of a host exceeds the max
+                if (current.sums[i] > 1.2) {
+                    LOGGER.warn("CPU utilization of {} at time {} is greater than 1: {}", host, current.times[i], current.sums[i]);
+                }
+            }
+
+            uncheckedFrom = Integer.MAX_VALUE;
+            statisticsVersion = version;
+        }
+
+        if (statistics == null) {
+            statistics = new ColumnsView<>((columns, index) -> columns.statistics[index]);
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Gets a <b>read-only</b> map where each key is a time and each value is
+     * the sum of the VMs' CPU utilization at that time.
+     * The map is a view backed by the history, so it reflects later changes.
+     * @return
+     * @see Host#getUtilizationHistorySum()
+     */
+    SortedMap<Double, Double> getSums() {
+        if (sums == null) {
+            sums = new ColumnsView<>((columns, index) -> columns.sums[index]);
+        }
+
+        return sums;
+    }
+
+    /**
+     * Gets the sum of the VMs' CPU utilization for each time, ordered by time.
+     * @return a new array with the values
+     * @see Host#getUtilizationHistorySumValues()
+     */
+    double[] getSumValues() {
+        final Columns current = getColumns();
+        return Arrays.copyOf(current.sums, current.size);
+    }
+
+    /**
+     * Gets the sum of the VMs' CPU utilization for the latest times, ordered by time.
+     * @param lastN the maximum number of values to get
+     * @return a new array with the last {@code lastN} values (or all of them, if there are fewer values)
+     * @see Host#getUtilizationHistorySumValues(int)
+     */
+    double[] getSumValues(final int lastN) {
+        if (lastN < 0) {
+            throw new IllegalArgumentException("The number of values cannot be negative.");
+        }
+
+        final Columns current = getColumns();
+        return Arrays.copyOfRange(current.sums, current.size - Math.min(lastN, current.size), current.size);
+    }
+
+    /**
+     * Merges the entries collected by the VMs since the last update,
+     * then gets all the entries, including the last one of each VM.
+     * @return
+     */
+    private Columns getColumns() {
+        for (final VmCursor cursor : vmCursors) {
+            cursor.update();
+        }
+
+        if (columns == null || columnsVersion != version) {
+            if (columns == null) {
+                columns = new Columns();
+                lastEntriesFrom = 0;
+            }
+
+            /*Positions before the first merged entry that changed and before the last entries of the VMs
+              are equal in both columns, so just the next ones are copied again.*/
+            final int from = Math.min(Math.min(merged.changedFrom, lastEntriesFrom), merged.size);
+            columns.copyFrom(merged, from, vmCursors.size());
+            merged.changedFrom = Integer.MAX_VALUE;
+            columns.changedFrom = Integer.MAX_VALUE;
+            for (final VmCursor cursor : vmCursors) {
+                if (cursor.hasLastEntry) {
+                    columns.add(cursor.lastTime, cursor.lastUtilization);
+                }
+            }
+
+            lastEntriesFrom = columns.changedFrom;
+            uncheckedFrom = Math.min(uncheckedFrom, Math.min(from, lastEntriesFrom));
+            columnsVersion = version;
+        }
+
+        return columns;
+    }
+
+    /**
+     * Gets a value from a given position of the {@link Columns}.
+     * @param <V> the type of the value
+     */
+    private interface ColumnValue<V> {
+        V get(Columns columns, int index);
+    }
+
+    /**
+     * A read-only {@link SortedMap} backed by the {@link #getColumns() columns} of the history,
+     * whose keys are the times and whose values are read from the columns at the same position.
+     * Keys are found by binary search, so that the map doesn't have to be built for every change.
+     * Views are serialized as a copy of their current entries.
+     *
+     * @param <V> the type of the values
+     */
+    private final class ColumnsView<V> extends AbstractMap<Double, V> implements SortedMap<Double, V>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ColumnValue<V> value;
+
+        /** The lowest key in the view (inclusive) or null if there is no lower bound. */
+        private final Double fromKey;
+
+        /** The highest key in the view (exclusive) or null if there is no upper bound. */
+        private final Double toKey;
+
+        private ColumnsView(final ColumnValue<V> value) {
+            this(value, null, null);
+        }
+
+        private ColumnsView(final ColumnValue<V> value, final Double fromKey, final Double toKey) {
+            this.value = value;
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        private int lowIndex(final Columns current) {
+            return fromKey == null ? 0 : insertionIndex(current, fromKey);
+        }
+
+        private int highIndex(final Columns current) {
+            return toKey == null ? current.size : Math.max(insertionIndex(current, toKey), lowIndex(current));
+        }
+
+        /**
+         * Gets the position of the first entry whose time is equal or greater than a given one.
+         */
+        private int insertionIndex(final Columns current, final double time) {
+            final int index = Arrays.binarySearch(current.times, 0, current.size, time);
+            return index >= 0 ? index : -(index + 1);
+        }
+
+        @Override
+        public int size() {
+            final Columns current = getColumns();
+            return highIndex(current) - lowIndex(current);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (!(key instanceof Double)) {
+                return null;
+            }
+
+            final Columns current = getColumns();
+            final int index = Arrays.binarySearch(current.times, 0, current.size, (Double) key);
+            return index >= lowIndex(current) && index < highIndex(current) ? value.get(current, index) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<Double, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Double, V>>() {
+                @Override
+                public Iterator<Map.Entry<Double, V>> iterator() {
+                    final Columns current = getColumns();
+                    final int high = highIndex(current);
+                    return new Iterator<Map.Entry<Double, V>>() {
+                        private int index = lowIndex(current);
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < high;
+                        }
+
+                        @Override
+                        public Map.Entry<Double, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            final Map.Entry<Double, V> entry =
+                                new SimpleImmutableEntry<>(current.times[index], value.get(current, index));
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ColumnsView.this.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super Double> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Double, V> subMap(final Double fromKey, final Double toKey) {
+            return new ColumnsView<>(value, max(this.fromKey, requireNonNull(fromKey)), min(this.toKey, requireNonNull(toKey)));
+        }
+
+        @Override
+        public SortedMap<Double, V> headMap(final Double toKey) {
+            return new ColumnsView<>(value, fromKey, min(this.toKey, requireNonNull(toKey)));
+        }
+
+        @Override
+        public SortedMap<Double, V> tailMap(final Double fromKey) {
+            return new ColumnsView<>(value, max(this.fromKey, requireNonNull(fromKey)), toKey);
+        }
+
+        private Double min(final Double bound, final Double key) {
+            return bound == null || key < bound ? key : bound;
+        }
+
+        private Double max(final Double bound, final Double key) {
+            return bound == null || key > bound ? key : bound;
+        }
+
+        @Override
+        public Double firstKey() {
+            final Columns current = getColumns();
+            final int low = lowIndex(current);
+            if (low >= highIndex(current)) {
+                throw new NoSuchElementException();
+            }
+
+            return current.times[low];
+        }
+
+        @Override
+        public Double lastKey() {
+            final Columns current = getColumns();
+            final int high = highIndex(current);
+            if (high <= lowIndex(current)) {
+                throw new NoSuchElementException();
+            }
+
+            return current.times[high - 1];
+        }
+
+        private Object writeReplace() {
+            return Collections.unmodifiableSortedMap(new TreeMap<>(this));
+        }
+    }
+
+    /**
+     * Keeps track of the entries from a VM's utilization history already read.
+     */
+    private final class VmCursor implements UtilizationHistory.EntryConsumer, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Vm vm;
+
+        /**
+         * The time of the latest entry already {@link #merged}.
+         */
+        private double mergedTime;
+
+        /**
+         * Indicates if the VM has an entry not merged yet,
+         * which is its last one and may still be replaced.
+         */
+        private boolean hasLastEntry;
+        private double lastTime;
+
+        /**
+         * The CPU utilization of the last VM entry, relative to the Host CPU capacity.
+         */
+        private double lastUtilization;
+
+        private VmCursor(final Vm vm) {
+            this.vm = vm;
+            reset();
+        }
+
+        /**
+         * Makes all entries from the VM to be read again.
+         */
+        private void reset() {
+            mergedTime = Double.NEGATIVE_INFINITY;
+            hasLastEntry = false;
+        }
+
+        private void update() {
+            vm.getUtilizationHistory().forEachEntryAfter(mergedTime, this);
+        }
+
+        @Override
+        public void accept(final double time, final double utilizationPercent) {
+            final double utilization = host.getExpectedRelativeCpuUtilization(vm, utilizationPercent);
+            if (hasLastEntry && lastTime == time) {
+                if (lastUtilization != utilization) {
+                    lastUtilization = utilization;
+                    version++;
+                }
+
+                return;
+            }
+
+            if (hasLastEntry) {
+                merged.add(lastTime, lastUtilization);
+                mergedTime = lastTime;
+            }
+
+            hasLastEntry = true;
+            lastTime = time;
+            lastUtilization = utilization;
+            version++;
+        }
+    }
+
+    /**
+     * Entries of the history, ordered by time and stored in parallel arrays.
+     */
+    private static final class Columns {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private double[] times = new double[0];
+        private double[] sums = new double[0];
+
+        /**
+         * The statistics for each time, which are replaced instead of changed,
+         * so that they can be shared with the copies of this object.
+         */
+        private DoubleSummaryStatistics[] statistics = new DoubleSummaryStatistics[0];
+        private int size;
+
+        /**
+         * The first position changed since this attribute was last reset
+         * (or {@link Integer#MAX_VALUE} if no position was changed).
+         */
+        private int changedFrom = Integer.MAX_VALUE;
+
+        /**
+         * Adds a VM CPU utilization to the entry for a given time,
+         * creating such an entry if it doesn't exist.
+         * @param time the time the utilization was collected
+         * @param utilization the VM CPU utilization, relative to the Host CPU capacity
+         */
+        private void add(final double time, final double utilization) {
+            final int index = size > 0 && times[size - 1] < time ? -(size + 1) : Arrays.binarySearch(times, 0, size, time);
+            final DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+            if (index >= 0) {
+                stats.combine(statistics[index]);
+                stats.accept(utilization);
+                statistics[index] = stats;
+                sums[index] = stats.getSum();
+                changedFrom = Math.min(changedFrom, index);
+                return;
+            }
+
+            final int insertion = -(index + 1);
+            changedFrom = Math.min(changedFrom, insertion);
+            if (size == times.length) {
+                resize(Math.max(size * 2, INITIAL_CAPACITY));
+            }
+
+            final int moved = size - insertion;
+            if (moved > 0) {
+                System.arraycopy(times, insertion, times, insertion + 1, moved);
+                System.arraycopy(sums, insertion, sums, insertion + 1, moved);
+                System.arraycopy(statistics, insertion, statistics, insertion + 1, moved);
+            }
+
+            stats.accept(utilization);
+            times[insertion] = time;
+            sums[insertion] = utilization;
+            statistics[insertion] = stats;
+            size++;
+        }
+
+        private void resize(final int capacity) {
+            times = Arrays.copyOf(times, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            statistics = Arrays.copyOf(statistics, capacity);
+        }
+
+        /**
+         * Makes this object have the same entries of another one,
+         * copying just the entries from a given position on.
+         * @param source the object to copy the entries from
+         * @param from the first position that may be different in both objects
+         * @param extraCapacity the number of entries expected to be added after the copy
+         */
+        private void copyFrom(final Columns source, final int from, final int extraCapacity) {
+            if (times.length < source.size + extraCapacity) {
+                resize(Math.max(times.length * 2, source.size + extraCapacity));
+            }
+
+            final int length = source.size - from;
+            System.arraycopy(source.times, from, times, from, length);
+            System.arraycopy(source.sums, from, sums, from, length);
+            System.arraycopy(source.statistics, from, statistics, from, length);
+            size = source.size;
+        }
+    }
+}
@@ -96,6 +96,11 @@ public class NetworkHost extends HostSimple {
         return  timeOfNextFinishingCloudlet;
     }
 
+    @Override
+    public boolean isProcessingUpdateNeeded() {
+        return super.isProcessingUpdateNeeded() || !hostPktsReceived.isEmpty();
+    }
+
     /**
      * Receives packets and forwards them to targeting VMs and respective Cloudlets.
      */
@@ -252,6 +257,7 @@ public class NetworkHost extends HostSimple {
      */
     public void addReceivedNetworkPacket(final HostPacket hostPacket){
         hostPktsReceived.add(hostPacket);
+        requestProcessing();
     }
 
     /**
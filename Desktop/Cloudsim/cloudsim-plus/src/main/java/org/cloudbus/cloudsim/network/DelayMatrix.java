@@ -11,6 +11,8 @@ package org.cloudbus.cloudsim.network;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 
+import java.io.Serializable;
+
 /**
  * This class represents a delay matrix between every pair or nodes
  * inside a network topology, storing every distance between connected nodes.
@@ -18,7 +20,7 @@ import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
  * @author Thomas Hohnstein
  * @since CloudSim Toolkit 1.0
  */
-public class DelayMatrix {
+public class DelayMatrix implements Serializable {
 
 	/**
 	 * Matrix holding delay information between any two nodes.
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.network.topologies;
 
+import java.io.Serializable;
+
 /**
  * Represents a link (edge) of a network graph
  * where the network topology was defined
@@ -16,7 +18,7 @@ package org.cloudbus.cloudsim.network.topologies;
  * @author Thomas Hohnstein
  * @since CloudSim Toolkit 1.0
  */
-public class TopologicalLink {
+public class TopologicalLink implements Serializable {
 
     /**
      * The BRITE id of the source node of the link.
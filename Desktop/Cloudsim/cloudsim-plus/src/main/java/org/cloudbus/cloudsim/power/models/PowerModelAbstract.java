@@ -2,6 +2,7 @@ package org.cloudbus.cloudsim.power.models;
 
 import org.cloudbus.cloudsim.hosts.Host;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -10,7 +11,7 @@ import java.util.Objects;
  * @author raysaoliveira
  * @since CloudSim Plus 1.2.0
  */
-public abstract class PowerModelAbstract implements PowerModel {
+public abstract class PowerModelAbstract implements PowerModel, Serializable {
     private Host host;
 
     @Override
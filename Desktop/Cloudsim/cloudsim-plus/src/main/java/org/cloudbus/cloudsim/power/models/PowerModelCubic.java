@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
 /**
  * Implements a power model where the power consumption is the cube of the resource usage.
  *
@@ -34,6 +37,6 @@ public class PowerModelCubic extends PowerModelSimple {
      * @param staticPowerPercent the static power usage percentage between 0 and 1.
      */
     public PowerModelCubic(final double maxPower, final double staticPowerPercent) {
-        super(maxPower, staticPowerPercent, utilizationPercent -> Math.pow(utilizationPercent, 3));
+        super(maxPower, staticPowerPercent, (UnaryOperator<Double> & Serializable) utilizationPercent -> Math.pow(utilizationPercent, 3));
     }
 }
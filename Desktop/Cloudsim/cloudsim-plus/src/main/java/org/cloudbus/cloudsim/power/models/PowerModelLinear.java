@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
 /**
  * A power model where the power consumption is linear to resource usage.
  *
@@ -35,6 +38,6 @@ public class PowerModelLinear  extends PowerModelSimple {
 	public PowerModelLinear(final double maxPower, final double staticPowerPercent) {
 	    /** Calls the super constructor passing a {@link #powerFunction}
          * that indicates the base power consumption is linear to CPU utilization.*/
-	    super(maxPower, staticPowerPercent, utilizationPercent -> utilizationPercent);
+	    super(maxPower, staticPowerPercent, (UnaryOperator<Double> & Serializable) utilizationPercent -> utilizationPercent);
 	}
 }
@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
 /**
  * Implements a power model where the power consumption is the square root of the resource usage.
  *
@@ -35,6 +38,6 @@ public class PowerModelSqrt extends PowerModelSimple {
      * @param staticPowerPercent the static power usage percentage between 0 and 1.
      */
     public PowerModelSqrt(final double maxPower, final double staticPowerPercent) {
-        super(maxPower, staticPowerPercent, Math::sqrt);
+        super(maxPower, staticPowerPercent, (UnaryOperator<Double> & Serializable) Math::sqrt);
     }
 }
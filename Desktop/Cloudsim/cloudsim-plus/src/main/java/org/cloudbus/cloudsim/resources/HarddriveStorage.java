@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.util.Conversion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +36,7 @@ import java.util.Objects;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public class HarddriveStorage implements FileStorage {
+public class HarddriveStorage implements FileStorage, Serializable {
     private static final double DEF_LATENCY_SECS = 0.00417;
     private static final double DEF_SEEK_TIME_SECS = 0.009;
     private static final int    DEF_MAX_TRANSFER_RATE_MBITS_SEC = 133*8;
@@ -23,13 +23,15 @@
  */
 package org.cloudbus.cloudsim.resources;
 
+import java.io.Serializable;
+
 /**
  * An abstract implementation of a {@link Resource}.
  *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 1.2.0
  */
-public abstract class ResourceAbstract implements Resource {
+public abstract class ResourceAbstract implements Resource, Serializable {
     /** @see #getCapacity() */
     protected long capacity;
 
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet.Status;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Bandwidth;
 import org.cloudbus.cloudsim.resources.Pe;
@@ -290,6 +291,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cle.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cle);
         addUsedPes(cle.getNumberOfPes());
+        vm.getHost().invalidateUtilization();
     }
 
     @Override
@@ -483,6 +485,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     {
         final Function<CloudletExecution, Cloudlet> removeCloudletAndUpdateStatus = cle -> {
             cloudletList.remove(cle);
+            vm.getHost().invalidateUtilization();
             cloudletStatusUpdaterConsumer.accept(cle);
             return cle.getCloudlet();
         };
@@ -508,7 +511,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         addCloudletsToFinishedList();
 
         setPreviousTime(currentTime);
-        vm.getSimulation().setLastCloudletProcessingUpdate(currentTime);
+        DeferredActions.run(() -> vm.getSimulation().setLastCloudletProcessingUpdate(currentTime));
 
         return nextSimulationDelay;
     }
@@ -720,6 +723,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected CloudletExecution removeCloudletFromExecList(final CloudletExecution cle) {
         removeUsedPes(cle.getNumberOfPes());
+        vm.getHost().invalidateUtilization();
         return cloudletExecList.remove(cle) ? cle : CloudletExecution.NULL;
     }
 
@@ -1078,5 +1082,6 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     public void clear() {
         this.cloudletWaitingList.clear();
         this.cloudletExecList.clear();
+        vm.getHost().invalidateUtilization();
     }
 }
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -26,7 +27,7 @@ import static java.util.stream.Collectors.toList;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmSchedulerAbstract implements VmScheduler {
+public abstract class VmSchedulerAbstract implements VmScheduler, Serializable {
     /**
      * The default percentage to define the CPU overhead of VM migration
      * if one is not explicitly set.
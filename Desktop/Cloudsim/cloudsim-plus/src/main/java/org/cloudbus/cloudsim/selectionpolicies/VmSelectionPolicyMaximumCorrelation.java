@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.UtilizationHistory;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,7 +36,7 @@ import static org.cloudbus.cloudsim.util.MathUtil.correlationCoefficients;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
-public class VmSelectionPolicyMaximumCorrelation implements VmSelectionPolicy {
+public class VmSelectionPolicyMaximumCorrelation implements VmSelectionPolicy, Serializable {
 
     /** @see #getFallbackPolicy() */
     private VmSelectionPolicy fallbackPolicy;
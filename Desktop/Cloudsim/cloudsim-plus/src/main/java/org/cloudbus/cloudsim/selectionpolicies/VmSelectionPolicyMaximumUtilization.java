@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.selectionpolicies;
 
+import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -10,7 +11,7 @@ import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigr
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-public class VmSelectionPolicyMaximumUtilization  implements VmSelectionPolicy {
+public class VmSelectionPolicyMaximumUtilization  implements VmSelectionPolicy, Serializable {
     @Override
     public Vm getVmToMigrate(final Host host) {
         final List<? extends Vm> migratableVms = host.getMigratableVms();
@@ -11,6 +11,7 @@ package org.cloudbus.cloudsim.selectionpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -29,7 +30,7 @@ import java.util.List;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
-public class VmSelectionPolicyMinimumMigrationTime implements VmSelectionPolicy {
+public class VmSelectionPolicyMinimumMigrationTime implements VmSelectionPolicy, Serializable {
 	@Override
 	public Vm getVmToMigrate(final Host host) {
 		final List<Vm> migratableVms = host.getMigratableVms();
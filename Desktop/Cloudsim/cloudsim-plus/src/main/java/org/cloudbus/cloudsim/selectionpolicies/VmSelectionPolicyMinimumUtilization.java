@@ -11,6 +11,7 @@ package org.cloudbus.cloudsim.selectionpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -33,7 +34,7 @@ import java.util.function.Predicate;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
-public class VmSelectionPolicyMinimumUtilization implements VmSelectionPolicy {
+public class VmSelectionPolicyMinimumUtilization implements VmSelectionPolicy, Serializable {
     @Override
     public Vm getVmToMigrate(final Host host) {
         final List<? extends Vm> migratableVms = host.getMigratableVms();
@@ -13,6 +13,7 @@ import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,7 +34,7 @@ import java.util.Objects;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
-public class VmSelectionPolicyRandomSelection implements VmSelectionPolicy {
+public class VmSelectionPolicyRandomSelection implements VmSelectionPolicy, Serializable {
     private final ContinuousDistribution rand;
 
     /**
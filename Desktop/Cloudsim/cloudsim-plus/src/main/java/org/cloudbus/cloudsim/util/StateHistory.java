@@ -0,0 +1,237 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Stores the state history of a Host or VM in a columnar way,
+ * keeping the time, allocated MIPS, requested MIPS and a boolean flag of each entry in primitive arrays,
+ * instead of creating an object for every entry.
+ * The arrays are split into chunks of {@link #CHUNK_SIZE} entries,
+ * so that growing the history doesn't require copying it entirely.
+ *
+ * <p>This class is a <b>read-only</b> list of entries, which are just created when accessed.
+ * To reduce memory usage in long simulations, the history can be
+ * {@link #setSamplingInterval(double) downsampled} and/or
+ * {@link #setMaxEntries(int) limited} to the latest entries.</p>
+ *
+ * @param <T> the type of the history entries
+ * @see org.cloudbus.cloudsim.hosts.Host#getStateHistory()
+ * @see org.cloudbus.cloudsim.vms.Vm#getStateHistory()
+ */
+public final class StateHistory<T> extends AbstractList<T> implements RandomAccess, Serializable {
+    /**
+     * The number of entries in each chunk.
+     * The arrays of the last chunk grow up to such a size, as entries are added.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNK_CAPACITY = 16;
+
+    /**
+     * Creates history entries from the values stored for them.
+     * @param <T> the type of the history entries
+     */
+    @FunctionalInterface
+    public interface EntryFactory<T> extends Serializable {
+        T create(double time, double allocatedMips, double requestedMips, boolean flag);
+    }
+
+    private final EntryFactory<T> factory;
+    private final List<Chunk> chunks;
+
+    /**
+     * The position of the first entry inside the first chunk.
+     * It's greater than zero when the oldest entries were discarded.
+     */
+    private int first;
+
+    /** @see #size() */
+    private int size;
+
+    /** @see #getMaxEntries() */
+    private int maxEntries;
+
+    /** @see #getSamplingInterval() */
+    private double samplingInterval;
+
+    /**
+     * Creates an empty state history.
+     * @param factory the function used to create the entries when they are accessed
+     */
+    public StateHistory(final EntryFactory<T> factory) {
+        this.factory = factory;
+        this.chunks = new ArrayList<>();
+        this.maxEntries = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Adds an entry to the history.
+     * If the last entry has the same time, it's replaced by the new one.
+     * If the new entry is within the {@link #getSamplingInterval() sampling interval} from the last one,
+     * it's discarded.
+     *
+     * @param time the time of the entry
+     * @param allocatedMips the allocated MIPS
+     * @param requestedMips the requested MIPS
+     * @param flag the boolean flag of the entry (such as if the Host is active or the VM is in migration)
+     */
+    public void add(final double time, final double allocatedMips, final double requestedMips, final boolean flag) {
+        if (size > 0) {
+            final int last = first + size - 1;
+            final double lastTime = chunk(last).times[offset(last)];
+            if (lastTime == time) {
+                set(last, time, allocatedMips, requestedMips, flag);
+                return;
+            }
+
+            if (time < lastTime + samplingInterval) {
+                return;
+            }
+        }
+
+        final int index = first + size;
+        if (offset(index) == 0 && index >> CHUNK_SHIFT == chunks.size()) {
+            chunks.add(new Chunk());
+        }
+
+        chunk(index).ensureCapacity(offset(index) + 1);
+        set(index, time, allocatedMips, requestedMips, flag);
+        size++;
+        discardOldestEntries();
+    }
+
+    private void set(final int index, final double time, final double allocatedMips, final double requestedMips, final boolean flag) {
+        final Chunk chunk = chunk(index);
+        final int offset = offset(index);
+        chunk.times[offset] = time;
+        chunk.allocatedMips[offset] = allocatedMips;
+        chunk.requestedMips[offset] = requestedMips;
+        chunk.flags[offset] = flag;
+    }
+
+    /**
+     * Discards the oldest entries that exceed the {@link #getMaxEntries() max number of entries},
+     * releasing the chunks that become empty.
+     */
+    private void discardOldestEntries() {
+        if (size <= maxEntries) {
+            return;
+        }
+
+        first += size - maxEntries;
+        size = maxEntries;
+        while (first >= CHUNK_SIZE) {
+            chunks.remove(0);
+            first -= CHUNK_SIZE;
+        }
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final Chunk chunk = chunk(first + index);
+        final int offset = offset(first + index);
+        return factory.create(chunk.times[offset], chunk.allocatedMips[offset], chunk.requestedMips[offset], chunk.flags[offset]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Chunk chunk(final int index) {
+        return chunks.get(index >> CHUNK_SHIFT);
+    }
+
+    private static int offset(final int index) {
+        return index & CHUNK_MASK;
+    }
+
+    /**
+     * Gets the maximum number of entries kept in the history.
+     * When such a number is reached, the oldest entries are discarded as new ones are added.
+     * @return the max number of entries ({@link Integer#MAX_VALUE} means the history is unbounded)
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of entries kept in the history.
+     * When such a number is reached, the oldest entries are discarded as new ones are added.
+     * @param maxEntries the max number of entries to set ({@link Integer#MAX_VALUE} makes the history unbounded)
+     * @return
+     */
+    public StateHistory<T> setMaxEntries(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The max number of state history entries must be greater than zero.");
+        }
+
+        this.maxEntries = maxEntries;
+        discardOldestEntries();
+        return this;
+    }
+
+    /**
+     * Gets the minimum time interval between two entries in the history (in seconds).
+     * Entries added before such an interval has passed since the last entry are discarded.
+     * @return the sampling interval (0 means every entry is kept)
+     */
+    public double getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * Sets the minimum time interval between two entries in the history (in seconds).
+     * Entries added before such an interval has passed since the last entry are discarded.
+     * @param samplingInterval the sampling interval to set (0 keeps every entry)
+     * @return
+     */
+    public StateHistory<T> setSamplingInterval(final double samplingInterval) {
+        if (samplingInterval < 0) {
+            throw new IllegalArgumentException("The state history sampling interval cannot be negative.");
+        }
+
+        this.samplingInterval = samplingInterval;
+        return this;
+    }
+
+    /**
+     * A chunk of up to {@link #CHUNK_SIZE} entries, stored in parallel arrays.
+     */
+    private static final class Chunk implements Serializable {
+        private double[] times = new double[INITIAL_CHUNK_CAPACITY];
+        private double[] allocatedMips = new double[INITIAL_CHUNK_CAPACITY];
+        private double[] requestedMips = new double[INITIAL_CHUNK_CAPACITY];
+        private boolean[] flags = new boolean[INITIAL_CHUNK_CAPACITY];
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= times.length) {
+                return;
+            }
+
+            final int newCapacity = Math.min(times.length * 2, CHUNK_SIZE);
+            times = Arrays.copyOf(times, newCapacity);
+            allocatedMips = Arrays.copyOf(allocatedMips, newCapacity);
+            requestedMips = Arrays.copyOf(requestedMips, newCapacity);
+            flags = Arrays.copyOf(flags, newCapacity);
+        }
+    }
+}
@@ -60,6 +60,16 @@ public interface UtilizationHistory {
      */
     SortedMap<Double, Double> getHistory();
 
+    /**
+     * Performs an action for each entry in the history collected after a given time,
+     * from the oldest to the newest entry.
+     * It enables reading just the latest entries, without building the {@link #getHistory() history map}.
+     *
+     * @param time the time to get the entries after (exclusive)
+     * @param consumer the action to perform for each entry
+     */
+    void forEachEntryAfter(double time, EntryConsumer consumer);
+
     /**
      * Computes the amount of power the VM is using, relative to the total Host's power consumption
      * (in watt-sec).
@@ -110,9 +120,25 @@ public interface UtilizationHistory {
 
     /**
      * Sets the maximum number of entries to store in the history.
+     * When such a number is reached, the oldest entries are discarded as new ones are added,
+     * so that the statistics are computed just for the latest entries.
      * @param maxHistoryEntries the value to set
      */
     void setMaxHistoryEntries(int maxHistoryEntries);
 
     Vm getVm();
+
+    /**
+     * An action to be performed for a utilization history entry.
+     * @see #forEachEntryAfter(double, EntryConsumer)
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        /**
+         * Performs the action for a history entry.
+         * @param time the time the utilization was collected
+         * @param utilizationPercent the CPU utilization percentage (between [0 and 1])
+         */
+        void accept(double time, double utilizationPercent);
+    }
 }
@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.datacenters.TimeZoned;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudsimplus.autoscaling.HorizontalVmScaling;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.listeners.EventListener;
@@ -78,6 +79,18 @@ public interface Vm extends AbstractMachine, UniquelyIdentifiable, Comparable<Vm
      */
     void addStateHistoryEntry(VmStateHistoryEntry entry);
 
+    /**
+     * Adds a VM state history entry, given the data about the state of the VM at given time.
+     *
+     * @param time the time
+     * @param allocatedMips the allocated mips
+     * @param requestedMips the requested mips
+     * @param inMigration if the VM is in migration
+     */
+    default void addStateHistoryEntry(double time, double allocatedMips, double requestedMips, boolean inMigration) {
+        addStateHistoryEntry(new VmStateHistoryEntry(time, allocatedMips, requestedMips, inMigration));
+    }
+
     /**
      * Gets the the Cloudlet scheduler the VM uses to schedule cloudlets
      * execution.
@@ -294,6 +307,17 @@ public interface Vm extends AbstractMachine, UniquelyIdentifiable, Comparable<Vm
      */
     List<VmStateHistoryEntry> getStateHistory();
 
+    /**
+     * Gets the store where the {@link #getStateHistory() VM state history} is kept,
+     * which enables limiting the number of entries stored,
+     * to reduce memory usage in long simulations.
+     *
+     * @return the state history store
+     * @see StateHistory#setMaxEntries(int)
+     * @see StateHistory#setSamplingInterval(double)
+     */
+    StateHistory<VmStateHistoryEntry> getStateHistoryStore();
+
     /**
      * Gets the CPU utilization percentage of all Cloudlets running on this
      * VM at the given time.
@@ -9,6 +9,7 @@ import org.cloudbus.cloudsim.resources.Processor;
 import org.cloudbus.cloudsim.resources.Resource;
 import org.cloudbus.cloudsim.resources.ResourceManageable;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudsimplus.autoscaling.HorizontalVmScaling;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.listeners.EventListener;
@@ -97,6 +98,9 @@ class VmNull implements Vm {
     @Override public List<VmStateHistoryEntry> getStateHistory() {
         return Collections.emptyList();
     }
+    @Override public StateHistory<VmStateHistoryEntry> getStateHistoryStore() {
+        return new StateHistory<>(VmStateHistoryEntry::new);
+    }
     @Override public double getHostCpuUtilization(double time) { return 0; }
     @Override public double getCpuPercentUtilization(double time) {
         return 0.0;
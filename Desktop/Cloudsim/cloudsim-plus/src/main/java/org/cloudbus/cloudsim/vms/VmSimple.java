@@ -11,11 +11,13 @@ import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.core.CustomerEntityAbstract;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.util.StateHistory;
 import org.cloudsimplus.autoscaling.HorizontalVmScaling;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.autoscaling.VmScaling;
@@ -52,7 +54,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
     private final UtilizationHistory utilizationHistory;
 
     /** @see #getStateHistory() */
-    private final List<VmStateHistoryEntry> stateHistory;
+    private final StateHistory<VmStateHistoryEntry> stateHistory;
 
     private HorizontalVmScaling horizontalScaling;
     private boolean failed;
@@ -225,7 +227,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
         setSubmissionDelay(0);
         setVmm("Xen");
-        stateHistory = new LinkedList<>();
+        stateHistory = new StateHistory<>(VmStateHistoryEntry::new);
 
         this.onHostAllocationListeners = new HashSet<>();
         this.onHostDeallocationListeners = new HashSet<>();
@@ -271,7 +273,10 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
             setLastBusyTime();
         }
         final double nextSimulationDelay = cloudletScheduler.updateProcessing(currentTime, mipsShare);
-        notifyOnUpdateProcessingListeners();
+        host.invalidateUtilization();
+        if (!onUpdateProcessingListeners.isEmpty()) {
+            DeferredActions.run(this::notifyOnUpdateProcessingListeners);
+        }
 
         /* If the current time is some value with the decimals greater than x.0
          * (such as 45.1) and the next event delay is any integer number such as 5,
@@ -284,7 +289,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
          */
         final double decimals = currentTime - (int) currentTime;
         utilizationHistory.addUtilizationHistory(currentTime);
-        getBroker().requestIdleVmDestruction(this);
+        DeferredActions.run(() -> getBroker().requestIdleVmDestruction(this));
         if (nextSimulationDelay == Double.MAX_VALUE) {
             return nextSimulationDelay;
         }
@@ -666,16 +671,19 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
         return Collections.unmodifiableList(stateHistory);
     }
 
+    @Override
+    public StateHistory<VmStateHistoryEntry> getStateHistoryStore() {
+        return stateHistory;
+    }
+
     @Override
     public void addStateHistoryEntry(final VmStateHistoryEntry entry) {
-        if (!stateHistory.isEmpty()) {
-            final VmStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.getTime() == entry.getTime()) {
-                stateHistory.set(stateHistory.size() - 1, entry);
-                return;
-            }
-        }
-        stateHistory.add(entry);
+        addStateHistoryEntry(entry.getTime(), entry.getAllocatedMips(), entry.getRequestedMips(), entry.isInMigration());
+    }
+
+    @Override
+    public void addStateHistoryEntry(final double time, final double allocatedMips, final double requestedMips, final boolean inMigration) {
+        stateHistory.add(time, allocatedMips, requestedMips, inMigration);
     }
 
     @Override
@@ -7,13 +7,15 @@
  */
 package org.cloudbus.cloudsim.vms;
 
+import java.io.Serializable;
+
 /**
  * Historic data about requests and allocation of MIPS for a given VM over the time.
  *
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.1.2
  */
-public class VmStateHistoryEntry {
+public class VmStateHistoryEntry implements Serializable {
 
     /**
      * The time.
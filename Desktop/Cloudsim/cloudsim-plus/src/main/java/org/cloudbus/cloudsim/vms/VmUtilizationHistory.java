@@ -2,10 +2,10 @@ package org.cloudbus.cloudsim.vms;
 
 import org.cloudbus.cloudsim.util.MathUtil;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.stream.Stream;
 
 /**
  * Stores resource utilization data for a specific {@link Vm}.
@@ -14,12 +14,61 @@ import java.util.stream.Stream;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 1.4
  */
-public class VmUtilizationHistory implements UtilizationHistory {
+public class VmUtilizationHistory implements UtilizationHistory, Serializable {
+    private static final int INITIAL_CAPACITY = 16;
+
     private boolean enabled;
     private int maxHistoryEntries;
 
+    /**
+     * The times of the history entries, stored as a ring buffer
+     * that grows up to the {@link #getMaxHistoryEntries() max number of entries}.
+     * @see #getHistory()
+     */
+    private double[] times;
+
+    /**
+     * The CPU utilization percentages of the history entries,
+     * stored in the same positions of the corresponding {@link #times}.
+     */
+    private double[] utilizations;
+
+    /**
+     * The position of the oldest entry inside the ring buffer.
+     */
+    private int head;
+
+    /**
+     * The number of entries in the history.
+     */
+    private int size;
+
+    /**
+     * The mean of the CPU utilization percentages in the history,
+     * incrementally updated as entries are added and removed.
+     */
+    private double mean;
+
+    /**
+     * The sum of the squared differences between the CPU utilization percentages and their {@link #mean},
+     * incrementally updated as entries are added and removed (according to the Welford's algorithm).
+     */
+    private double squaredDeviationsSum;
+
+    /**
+     * A number that changes every time the history changes,
+     * used to know when cached values have to be computed again.
+     */
+    private long version;
+
+    /** @see #getUtilizationMad() */
+    private double madPercent;
+    private long madVersion = -1;
+
     /** @see #getHistory() */
-    private final SortedMap<Double, Double> history;
+    private transient SortedMap<Double, Double> historyMap;
+    private transient long historyMapVersion = -1;
+
     private final Vm vm;
 
     /**
@@ -37,7 +86,8 @@ public class VmUtilizationHistory implements UtilizationHistory {
      *                in order to reduce memory usage
      */
     public VmUtilizationHistory(final Vm vm, final boolean enabled) {
-        this.history = new TreeMap<>();
+        this.times = new double[0];
+        this.utilizations = new double[0];
         this.vm = vm;
         this.enabled = enabled;
         this.setMaxHistoryEntries(Integer.MAX_VALUE);
@@ -52,58 +102,61 @@ public class VmUtilizationHistory implements UtilizationHistory {
         this(vm, true);
     }
 
+    /**
+     * {@inheritDoc}
+     * The value is cached until the history changes.
+     * @return {@inheritDoc}
+     */
     @Override
     public double getUtilizationMad() {
-        if (history.isEmpty()) {
+        if (size == 0) {
             return 0;
         }
 
-        final int maxEntries = getNumEntriesToComputeStats();
-        final double median = MathUtil.median(getHistory().values());
-        final double[] deviationSum = new double[maxEntries];
-        for (int i = 0; i < maxEntries; i++) {
-            deviationSum[i] = Math.abs(median - getHistory().get(i));
+        if (madVersion != version) {
+            madPercent = MathUtil.mad(getUtilizationArray());
+            madVersion = version;
         }
 
-        return MathUtil.median(deviationSum);
-    }
-
-    /**
-     * Gets the actual number of entries to be used to compute statistics.
-     * @return
-     */
-    private int getNumEntriesToComputeStats() {
-        return Math.min(getMaxHistoryEntries(), getHistory().size());
+        return madPercent * vm.getMips();
     }
 
     @Override
     public double getUtilizationMean() {
-        final int maxEntries = getNumEntriesToComputeStats();
-        final double usagePercentMean = getHistoryLimitedStream(maxEntries)
-            .mapToDouble(usagePercent -> usagePercent)
-            .average()
-            .orElse(0);
-
-        return usagePercentMean * vm.getMips();
-    }
-
-    private Stream<Double> getHistoryLimitedStream(final int maxEntries) {
-        return getHistory().values().stream().limit(maxEntries);
+        return mean * vm.getMips();
     }
 
     @Override
     public double getUtilizationVariance() {
-        if (history.isEmpty()) {
+        if (size == 0) {
             return 0;
         }
 
-        final double mean = getUtilizationMean();
-        final int maxEntries = getNumEntriesToComputeStats();
-        return getHistoryLimitedStream(maxEntries)
-            .mapToDouble(usagePercent -> usagePercent * vm.getMips())
-            .map(usageValue -> usageValue - mean)
-            .map(usageValue -> usageValue * usageValue)
-            .average().orElse(0);
+        final double mips = vm.getMips();
+        return Math.max(squaredDeviationsSum / size, 0) * mips * mips;
+    }
+
+    /**
+     * Gets the CPU utilization percentages in the history, from the oldest to the newest one.
+     * @return
+     */
+    private double[] getUtilizationArray() {
+        final double[] array = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = utilizations[position(i)];
+        }
+
+        return array;
+    }
+
+    /**
+     * Gets the position inside the ring buffer of the i-th oldest entry.
+     * @param i the index of the entry, where 0 is the oldest one
+     * @return
+     */
+    private int position(final int i) {
+        final int position = head + i;
+        return position < times.length ? position : position - times.length;
     }
 
     @Override
@@ -156,20 +209,119 @@ public class VmUtilizationHistory implements UtilizationHistory {
 
     /**
      * Adds a CPU utilization percentage history value.
+     * Since values are added as the simulation time advances,
+     * a value collected at the same time as the last one just replaces it.
      *
      * @param time the time this utilization was collected
      * @param utilizationPercent the CPU utilization percentage to add
      */
     private void addUtilizationHistoryValue(final double time, final double utilizationPercent) {
-        history.put(time, utilizationPercent);
-        if (getHistory().size() > maxHistoryEntries) {
-            history.remove(maxHistoryEntries);
+        version++;
+        if (size > 0 && times[position(size - 1)] == time) {
+            final int last = position(size - 1);
+            removeFromStatistics(utilizations[last]);
+            utilizations[last] = utilizationPercent;
+            addToStatistics(utilizationPercent);
+            return;
+        }
+
+        if (size == times.length) {
+            if (size < maxHistoryEntries) {
+                resize((int) Math.min(Math.max(size * 2L, INITIAL_CAPACITY), maxHistoryEntries));
+            } else {
+                removeOldestEntry();
+            }
+        }
+
+        final int position = position(size);
+        times[position] = time;
+        utilizations[position] = utilizationPercent;
+        size++;
+        addToStatistics(utilizationPercent);
+    }
+
+    private void removeOldestEntry() {
+        removeFromStatistics(utilizations[head]);
+        head = position(1);
+        size--;
+    }
+
+    /**
+     * Changes the capacity of the ring buffer, moving the oldest entry to its beginning.
+     * @param capacity the new capacity, which must not be smaller than the number of entries
+     */
+    private void resize(final int capacity) {
+        final double[] newTimes = new double[capacity];
+        final double[] newUtilizations = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimes[i] = times[position(i)];
+            newUtilizations[i] = utilizations[position(i)];
+        }
+
+        times = newTimes;
+        utilizations = newUtilizations;
+        head = 0;
+    }
+
+    private void addToStatistics(final double utilizationPercent) {
+        final double delta = utilizationPercent - mean;
+        mean += delta / size;
+        squaredDeviationsSum += delta * (utilizationPercent - mean);
+    }
+
+    /**
+     * Removes a CPU utilization percentage from the statistics.
+     * It must be called before the number of entries is updated.
+     * @param utilizationPercent the utilization percentage being removed
+     */
+    private void removeFromStatistics(final double utilizationPercent) {
+        if (size <= 1) {
+            mean = 0;
+            squaredDeviationsSum = 0;
+            return;
         }
+
+        final double delta = utilizationPercent - mean;
+        mean -= delta / (size - 1);
+        squaredDeviationsSum -= delta * (utilizationPercent - mean);
     }
 
+    /**
+     * {@inheritDoc}
+     * The map is built from the stored entries just when the history changes.
+     * @return {@inheritDoc}
+     */
     @Override
     public SortedMap<Double, Double> getHistory() {
-        return Collections.unmodifiableSortedMap(history);
+        if (historyMap == null || historyMapVersion != version) {
+            final SortedMap<Double, Double> map = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(times[position(i)], utilizations[position(i)]);
+            }
+
+            historyMap = Collections.unmodifiableSortedMap(map);
+            historyMapVersion = version;
+        }
+
+        return historyMap;
+    }
+
+    @Override
+    public void forEachEntryAfter(final double time, final EntryConsumer consumer) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (times[position(mid)] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < size; i++) {
+            consumer.accept(times[position(i)], utilizations[position(i)]);
+        }
     }
 
     @Override
@@ -191,10 +343,34 @@ public class VmUtilizationHistory implements UtilizationHistory {
     @Override
     public double getHostCpuUtilization(final double time){
         //VM CPU usage relative to the VM capacity.
-        final double vmCpuUtilizationPercent = history.get(time);
+        final int index = indexOf(time);
+        final double vmCpuUtilizationPercent = index < 0 ? 0 : utilizations[position(index)];
         return vm.getExpectedHostCpuUtilization(vmCpuUtilizationPercent);
     }
 
+    /**
+     * Gets the index of the entry collected at a given time.
+     * @param time the time to search an entry for
+     * @return the index of the entry (where 0 is the oldest one) or -1 if not found
+     */
+    private int indexOf(final double time) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final double midTime = times[position(mid)];
+            if (midTime < time) {
+                low = mid + 1;
+            } else if (midTime > time) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
     @Override
     public boolean isEnabled() {
         return enabled;
@@ -217,7 +393,21 @@ public class VmUtilizationHistory implements UtilizationHistory {
 
     @Override
     public void setMaxHistoryEntries(final int maxHistoryEntries) {
+        if (maxHistoryEntries <= 0) {
+            throw new IllegalArgumentException("The max number of history entries must be greater than zero.");
+        }
+
         this.maxHistoryEntries = maxHistoryEntries;
+        if (size > maxHistoryEntries) {
+            version++;
+            while (size > maxHistoryEntries) {
+                removeOldestEntry();
+            }
+        }
+
+        if (times.length > maxHistoryEntries) {
+            resize(maxHistoryEntries);
+        }
     }
 
     @Override
@@ -0,0 +1,104 @@
+package org.cloudsimplus.benchmarks;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.events.*;
+import org.cloudsimplus.util.Log;
+import ch.qos.logback.classic.Level;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Compares the performance of {@link FutureEventQueue} implementations
+ * using the classic <i>hold model</i>: the queue is filled with N events,
+ * then each operation removes the first event and adds a new one
+ * some time after it, keeping the queue size constant.
+ * That is how a simulation uses the future queue in steady state.
+ *
+ * <p>Two distributions are used for the time increment of new events:
+ * exponentially distributed increments (nearly distinct times)
+ * and increments that are multiples of a scheduling interval
+ * (many events at the same time, as periodic datacenter updates generate).</p>
+ *
+ * <p>The benchmark runs as a regular Java application and prints
+ * the average time (in nanoseconds) of each hold operation.</p>
+ */
+public final class FutureQueueBenchmark {
+    private static final int[] QUEUE_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+    private static final int OPERATIONS = 1_000_000;
+    private static final double SCHEDULING_INTERVAL = 10;
+    private static final long SEED = 1;
+
+    private final CloudSim simulation;
+    private final SimEntity entity;
+
+    private FutureQueueBenchmark() {
+        simulation = new CloudSim();
+        entity = simulation.getCloudInfoService();
+    }
+
+    public static void main(String[] args) {
+        Log.setLevel(Level.WARN);
+        new FutureQueueBenchmark().run();
+    }
+
+    private void run() {
+        System.out.printf("%-14s %-14s %10s %16s%n", "Distribution", "Queue", "Size", "ns/operation");
+        for (final int size : QUEUE_SIZES) {
+            runScenario("exponential", size, FutureQueue::new);
+            runScenario("exponential", size, CalendarQueue::new);
+            runScenario("interval", size, FutureQueue::new);
+            runScenario("interval", size, CalendarQueue::new);
+        }
+    }
+
+    private void runScenario(final String distribution, final int size, final Supplier<FutureEventQueue> queueFactory) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            hold(distribution, size, queueFactory.get());
+        }
+
+        double total = 0;
+        String queueName = "";
+        for (int i = 0; i < ROUNDS; i++) {
+            final FutureEventQueue queue = queueFactory.get();
+            queueName = queue.getClass().getSimpleName();
+            total += hold(distribution, size, queue);
+        }
+
+        System.out.printf("%-14s %-14s %10d %16.1f%n", distribution, queueName, size, total / ROUNDS);
+    }
+
+    /**
+     * Executes the hold model over a given queue.
+     * @return the average time (in nanoseconds) of each hold operation
+     */
+    private double hold(final String distribution, final int size, final FutureEventQueue queue) {
+        final Random random = new Random(SEED);
+        final DoubleSupplier increment = "exponential".equals(distribution) ?
+            () -> -Math.log(1 - random.nextDouble()) :
+            () -> SCHEDULING_INTERVAL * (1 + random.nextInt(5));
+
+        for (int i = 0; i < size; i++) {
+            queue.addEvent(newEvent(increment.getAsDouble()));
+        }
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final SimEvent first = queue.first();
+            queue.remove(first);
+            queue.addEvent(newEvent(first.getTime() + increment.getAsDouble()));
+        }
+
+        return (System.nanoTime() - start) / (double) OPERATIONS;
+    }
+
+    private SimEvent newEvent(final double time) {
+        //Since the simulation clock is 0, the delay is the absolute event time
+        return new CloudSimEvent(time, entity, CloudSimTags.DATACENTER_LIST_REQUEST);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides micro-benchmarks for performance-critical internal structures
+ * of the simulation engine. Each benchmark is a self-contained class
+ * with a {@code main} method that prints its results.
+ */
+package org.cloudsimplus.benchmarks;